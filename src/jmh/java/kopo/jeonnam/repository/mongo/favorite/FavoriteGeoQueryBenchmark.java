@@ -0,0 +1,135 @@
+package kopo.jeonnam.repository.mongo.favorite;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import kopo.jeonnam.config.FavoriteGeoMigration;
+import kopo.jeonnam.repository.entity.favorite.FavoriteEntity;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 찜 위치 조회 비교 - 기존 (userId, y, x) 범위 조회 vs $geoNear 반경 / 최근접 조회
+ * 실행 중인 MongoDB가 필요합니다. (-Dbench.mongo.uri, 기본 mongodb://localhost:27017 / jeonnam_bench DB)
+ * 첫 실행 때 favorite 컬렉션에 favoriteCount건(사용자 userCount명, 전남 일대 좌표)을 채우고,
+ * FavoriteGeoMigration으로 운영과 같은 인덱스를 만든 뒤 실제 FavoriteRepository로 조회합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FavoriteGeoQueryBenchmark {
+
+    // 전남 일대 경위도 범위
+    private static final double MIN_LNG = 125.9, MAX_LNG = 127.9;
+    private static final double MIN_LAT = 34.2, MAX_LAT = 35.5;
+    private static final double METERS_PER_DEGREE_LAT = 111_320.0;
+
+    @Param({"1000000"})
+    private int favoriteCount;
+
+    @Param({"1000"})
+    private int userCount;
+
+    @Param({"5000"})
+    private double radiusMeters;
+
+    @Param({"10"})
+    private int k;
+
+    private MongoClient client;
+    private FavoriteRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String uri = System.getProperty("bench.mongo.uri", "mongodb://localhost:27017");
+        client = MongoClients.create(uri);
+        MongoTemplate mongoTemplate = new MongoTemplate(client, "jeonnam_bench");
+
+        MongoCollection<Document> collection = mongoTemplate.getCollection(mongoTemplate.getCollectionName(FavoriteEntity.class));
+        if (collection.countDocuments() != favoriteCount) {
+            collection.drop();
+            seed(collection);
+        }
+        new FavoriteGeoMigration(mongoTemplate).run();
+
+        repository = new MongoRepositoryFactory(mongoTemplate).getRepository(FavoriteRepository.class,
+                RepositoryFragments.just(new FavoriteCustomRepositoryImpl(mongoTemplate)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+    }
+
+    // position은 비워 두고 FavoriteGeoMigration의 backfill로 채웁니다. (마이그레이션 경로도 함께 확인)
+    private void seed(MongoCollection<Document> collection) {
+        Random random = new Random(42);
+        List<Document> batch = new ArrayList<>(10_000);
+        for (int i = 0; i < favoriteCount; i++) {
+            batch.add(new Document("userId", "user" + (i % userCount) + "@bench.local")
+                    .append("type", i % 2 == 0 ? "media" : "place")
+                    .append("name", "장소" + i)
+                    .append("addr", "전라남도 어딘가 " + i)
+                    .append("x", MIN_LNG + random.nextDouble() * (MAX_LNG - MIN_LNG))
+                    .append("y", MIN_LAT + random.nextDouble() * (MAX_LAT - MIN_LAT)));
+            if (batch.size() == 10_000) {
+                collection.insertMany(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) collection.insertMany(batch);
+    }
+
+    /**
+     * 호출마다 다른 사용자 / 중심점 (스레드별 고정 시드)
+     */
+    @State(Scope.Thread)
+    public static class Probe {
+        private final Random random = new Random(7);
+        String userId;
+        double lat;
+        double lng;
+
+        @Setup(Level.Invocation)
+        public void next(FavoriteGeoQueryBenchmark bench) {
+            userId = "user" + random.nextInt(bench.userCount) + "@bench.local";
+            lat = MIN_LAT + random.nextDouble() * (MAX_LAT - MIN_LAT);
+            lng = MIN_LNG + random.nextDouble() * (MAX_LNG - MIN_LNG);
+        }
+    }
+
+    @Benchmark
+    public List<FavoriteEntity> boundingBox(Probe probe) {
+        // 반경과 같은 크기의 사각형 (기존 findNearby 사용 방식)
+        double dLat = radiusMeters / METERS_PER_DEGREE_LAT;
+        double dLng = dLat / Math.cos(Math.toRadians(probe.lat));
+        return repository.findNearby(probe.userId, probe.lat - dLat, probe.lat + dLat, probe.lng - dLng, probe.lng + dLng);
+    }
+
+    @Benchmark
+    public List<FavoriteEntity> geoNearWithinRadius(Probe probe) {
+        return repository.findWithinRadius(probe.userId, probe.lat, probe.lng, radiusMeters);
+    }
+
+    @Benchmark
+    public List<FavoriteEntity> geoNearNearestK(Probe probe) {
+        return repository.findNearest(probe.userId, probe.lat, probe.lng, k);
+    }
+}
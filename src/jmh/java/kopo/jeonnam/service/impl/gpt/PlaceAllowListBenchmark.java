@@ -0,0 +1,91 @@
+package kopo.jeonnam.service.impl.gpt;
+
+import kopo.jeonnam.dto.gpt.PlaceInfoDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GPT 일정 후처리 허용 장소 필터 비용 비교
+ * - linearScan: 활동마다 장소 목록 전체를 Objects.equals로 비교하던 기존 방식
+ * - hashIndex: 요청당 PlaceAllowList를 한 번 만들고 활동마다 해시 조회 (인덱스 생성 비용 포함)
+ * 하루 9개 활동 × days일, 활동의 절반은 목록에 없는 장소(기존 방식의 최악 경우)로 둡니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PlaceAllowListBenchmark {
+
+    private static final int ACTIVITIES_PER_DAY = 9;
+
+    @Param({"300", "1000"})
+    private int placeCount;
+
+    @Param({"1", "3", "7"})
+    private int days;
+
+    private List<PlaceInfoDTO> places;
+    private List<String[]> activities; // {place, addr}
+    private final Set<String> favoriteNames = Set.of("찜한 장소");
+    private final String departurePlace = "광주 송정역";
+
+    @Setup
+    public void setUp() {
+        places = new ArrayList<>(placeCount);
+        for (int i = 0; i < placeCount; i++) {
+            places.add(new PlaceInfoDTO("장소" + i, "전라남도 어딘가 " + i + "번길"));
+        }
+        activities = new ArrayList<>();
+        for (int i = 0; i < ACTIVITIES_PER_DAY * days; i++) {
+            if (i % 2 == 0) {
+                PlaceInfoDTO p = places.get((i * 37) % placeCount);
+                activities.add(new String[]{p.name(), p.addr()});
+            } else {
+                activities.add(new String[]{"없는 장소" + i, "없는 주소" + i});
+            }
+        }
+    }
+
+    @Benchmark
+    public int linearScan() {
+        int allowed = 0;
+        for (String[] activity : activities) {
+            String placeName = activity[0];
+            String placeAddr = activity[1];
+            if (favoriteNames.contains(placeName) || placeName.equals(departurePlace)) {
+                allowed++;
+                continue;
+            }
+            for (PlaceInfoDTO p : places) {
+                if (Objects.equals(p.name(), placeName) && Objects.equals(p.addr(), placeAddr)) {
+                    allowed++;
+                    break;
+                }
+            }
+        }
+        return allowed;
+    }
+
+    @Benchmark
+    public int hashIndex() {
+        PlaceAllowList allowList = new PlaceAllowList(places, favoriteNames, departurePlace);
+        int allowed = 0;
+        for (String[] activity : activities) {
+            if (allowList.match(activity[0], activity[1]) != PlaceAllowList.Match.NONE) {
+                allowed++;
+            }
+        }
+        return allowed;
+    }
+}
@@ -0,0 +1,114 @@
+package kopo.jeonnam.service.impl.papago;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청마다 ObjectMapper를 만드는 방식과 공용 ObjectMapper + 미리 만든 reader/writer 비교
+ * - papagoResponse*: Papago 번역 응답에서 translatedText 추출 (PapagoTextTranslateService)
+ * - chatRequest*: GPT 요청 본문 직렬화 (GptService의 ChatRequest와 같은 형태)
+ * - prettySchedule*: 필터링한 일정 JSON 출력 (writerWithDefaultPrettyPrinter를 호출마다 만들던 방식과 미리 만든 writer)
+ * 실행당 할당량은 gc 프로파일러의 gc.alloc.rate.norm으로 비교합니다.
+ * (XmlMapper 호출마다 생성 vs 공용 인스턴스는 kopo.jeonnam.util.XmlParserBenchmark의 treePerCall / treeShared)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JacksonReuseBenchmark {
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Message(String role, String content) {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record ChatRequest(String model, Message[] messages, int max_tokens, float temperature, Boolean stream) {
+    }
+
+    private static final String PAPAGO_RESPONSE = "{\"message\":{\"@type\":\"response\",\"@service\":\"naverservice.nmt.proxy\","
+            + "\"@version\":\"1.0.0\",\"result\":{\"srcLangType\":\"ko\",\"tarLangType\":\"en\","
+            + "\"translatedText\":\"Suncheon Bay National Garden is a garden created to protect Suncheon Bay.\","
+            + "\"engineType\":\"N2MT\"}}}";
+
+    // 공용 인스턴스 (서비스에서는 스프링이 구성한 ObjectMapper 빈)
+    private final ObjectMapper sharedMapper = new ObjectMapper();
+    private ObjectReader responseReader;
+    private ObjectWriter chatRequestWriter;
+    private ObjectWriter prettyWriter;
+
+    private ChatRequest chatRequest;
+    private JsonNode schedule;
+
+    @Setup
+    public void setUp() {
+        responseReader = sharedMapper.readerFor(JsonNode.class);
+        chatRequestWriter = sharedMapper.writerFor(ChatRequest.class);
+        prettyWriter = sharedMapper.writerWithDefaultPrettyPrinter();
+
+        chatRequest = new ChatRequest("gpt-4o",
+                new Message[]{new Message("user", "전라남도 2박 3일 여행 일정을 JSON으로 만들어 주세요. ".repeat(40))},
+                1500, 0.2f, null);
+
+        ObjectNode root = sharedMapper.createObjectNode();
+        ArrayNode days = root.putArray("schedule");
+        for (int d = 1; d <= 3; d++) {
+            ObjectNode day = days.addObject().put("day", d);
+            ArrayNode activities = day.putArray("activities");
+            for (int a = 0; a < 9; a++) {
+                activities.addObject()
+                        .put("time", String.format("%02d:00", 9 + a))
+                        .put("place", "장소" + d + "-" + a)
+                        .put("addr", "전라남도 순천시 어딘가 " + a + "번길")
+                        .put("description", "일정 설명 " + a);
+            }
+        }
+        schedule = root;
+    }
+
+    @Benchmark
+    public String papagoResponsePerCallMapper() throws IOException {
+        // 기존 방식: 번역마다 new ObjectMapper()
+        return new ObjectMapper().readTree(PAPAGO_RESPONSE).path("message").path("result").path("translatedText").asText();
+    }
+
+    @Benchmark
+    public String papagoResponseSharedReader() throws IOException {
+        JsonNode json = responseReader.readValue(PAPAGO_RESPONSE);
+        return json.path("message").path("result").path("translatedText").asText();
+    }
+
+    @Benchmark
+    public String chatRequestPerCallMapper() throws IOException {
+        return new ObjectMapper().writeValueAsString(chatRequest);
+    }
+
+    @Benchmark
+    public String chatRequestSharedWriter() throws IOException {
+        return chatRequestWriter.writeValueAsString(chatRequest);
+    }
+
+    @Benchmark
+    public String prettyScheduleDerivedWriter() throws IOException {
+        // 기존 GptService: ObjectMapper에서 호출마다 pretty writer를 만듦
+        return sharedMapper.writerWithDefaultPrettyPrinter().writeValueAsString(schedule);
+    }
+
+    @Benchmark
+    public String prettyScheduleSharedWriter() throws IOException {
+        return prettyWriter.writeValueAsString(schedule);
+    }
+}
@@ -0,0 +1,69 @@
+package kopo.jeonnam.service.impl.search;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kopo.jeonnam.dto.gpt.PlaceInfoDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * 자동완성 조회 비교 - places.json 장소명 기준
+ * - ngramIndex: NgramIndex.search (gram 게시 목록 교집합 + 자모 확인 + 정렬)
+ * - regexScan: 기존 검색과 같은 앞뒤 미고정 대소문자 무시 정규식으로 전체 항목을 훑는 방식
+ *   (MongoDB도 이런 정규식에는 인덱스를 쓰지 못하고 전체를 훑으므로, 네트워크 왕복을 뺀 같은 작업량)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NgramIndexBenchmark {
+
+    private static final int LIMIT = 10;
+
+    @Param({"장흥", "순천만", "해수욕장", "ㅈㅎ"})
+    private String query;
+
+    private List<PlaceInfoDTO> places;
+    private NgramIndex<PlaceInfoDTO> index;
+    private Pattern pattern;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream in = NgramIndexBenchmark.class.getResourceAsStream("/data/places.json")) {
+            places = new ObjectMapper().readValue(in, new TypeReference<List<PlaceInfoDTO>>() {});
+        }
+        index = new NgramIndex<>();
+        index.replaceAll(places, PlaceInfoDTO::name, PlaceInfoDTO::name);
+        pattern = Pattern.compile(".*" + Pattern.quote(query) + ".*", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    }
+
+    @Benchmark
+    public List<PlaceInfoDTO> ngramIndex() {
+        return index.search(query, LIMIT);
+    }
+
+    @Benchmark
+    public List<PlaceInfoDTO> regexScan() {
+        // 초성 검색은 정규식 경로에서 지원하지 않으므로 결과가 비어 있음 (비용 비교용)
+        List<PlaceInfoDTO> matches = new ArrayList<>();
+        for (PlaceInfoDTO place : places) {
+            if (place.name() != null && pattern.matcher(place.name()).matches()) {
+                matches.add(place);
+                if (matches.size() == LIMIT) break;
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,165 @@
+package kopo.jeonnam.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 공공 데이터 XML 응답 파싱 비교 - 추천 코스 일정(Plan) 응답 형태, 항목당 필드 15개
+ * 응답 본문은 소켓처럼 한 번에 최대 8KB씩만 내주는 스트림(SocketLikeInputStream)으로 읽어, 실제 HTTP 본문과 같이
+ * 본문 전체를 한 번에 가진 배열이 처음부터 있지 않은 상태에서 비교합니다.
+ * - treePerCall: 기존 방식 (본문 → String → byte[] 복사 후 호출마다 new XmlMapper().readTree, 트리에서 item 추출)
+ * - treeShared: 같은 트리 방식이지만 XmlParserUtil의 공용 XmlMapper 사용 (XmlMapper 생성 비용을 뺀 트리 비용)
+ * - bufferedStream: 본문을 byte[]로 모두 받은 뒤 그 배열 위에서 streamItems (본문 전체 복사 1회)
+ * - stream: 연결 스트림에서 바로 streamItems로 item을 하나씩 읽어 처리 (트리/문자열/본문 복사 없음)
+ * 실행당 할당량은 gc 프로파일러의 gc.alloc.rate.norm으로 비교합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class XmlParserBenchmark {
+
+    private static final String[] FIELDS = {"planInfoId", "planCourseId", "planDay", "planTime", "planName",
+            "planArea", "planAddr", "planAddrDetail", "planPhone", "planFax", "planHomepage", "planParking",
+            "planContents", "planLatitude", "planLongitude"};
+
+    @Param({"10", "100", "1000"})
+    private int itemCount;
+
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?><response>")
+                .append("<header><resultCode>00</resultCode><resultMsg>NORMAL SERVICE.</resultMsg></header>")
+                .append("<body><items>");
+        for (int i = 0; i < itemCount; i++) {
+            xml.append("<item>");
+            for (String field : FIELDS) {
+                xml.append('<').append(field).append('>').append(valueOf(field, i)).append("</").append(field).append('>');
+            }
+            xml.append("</item>");
+        }
+        xml.append("</items><numOfRows>").append(itemCount).append("</numOfRows><pageNo>1</pageNo><totalCount>")
+                .append(itemCount).append("</totalCount></body></response>");
+        body = xml.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<Map<String, String>> treePerCall() throws IOException {
+        // 기존 HTTP 클라이언트가 본문을 문자열로 반환
+        String response = new String(connection().readAllBytes(), StandardCharsets.UTF_8);
+        JsonNode root = new XmlMapper().readTree(response.getBytes(StandardCharsets.UTF_8));
+        return itemsOf(root);
+    }
+
+    @Benchmark
+    public List<Map<String, String>> treeShared() throws IOException {
+        String response = new String(connection().readAllBytes(), StandardCharsets.UTF_8);
+        return itemsOf(XmlParserUtil.parseXmlToJsonNode(response).orElseThrow());
+    }
+
+    @Benchmark
+    public List<Map<String, String>> bufferedStream() throws IOException, XMLStreamException {
+        // 본문 바이트를 모두 받은 뒤 파싱
+        List<Map<String, String>> items = new ArrayList<>(itemCount);
+        XmlParserUtil.streamItems(new ByteArrayInputStream(connection().readAllBytes()), items::add);
+        return items;
+    }
+
+    @Benchmark
+    public List<Map<String, String>> stream() throws XMLStreamException {
+        // 서비스처럼 item마다 처리기로 넘겨 결과 목록에 모음 (비교를 위해 같은 Map 형태로 보관)
+        List<Map<String, String>> items = new ArrayList<>(itemCount);
+        XmlParserUtil.streamItems(connection(), items::add);
+        return items;
+    }
+
+    private InputStream connection() {
+        return new SocketLikeInputStream(body);
+    }
+
+    /**
+     * 소켓 읽기처럼 한 번에 최대 CHUNK 바이트만 내주는 본문 스트림
+     */
+    private static final class SocketLikeInputStream extends InputStream {
+        private static final int CHUNK = 8 * 1024;
+        private final byte[] source;
+        private int position;
+
+        private SocketLikeInputStream(byte[] source) {
+            this.source = source;
+        }
+
+        @Override
+        public int read() {
+            return position < source.length ? source[position++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (length == 0) return 0;
+            if (position >= source.length) return -1;
+            int n = Math.min(Math.min(length, CHUNK), source.length - position);
+            System.arraycopy(source, position, buffer, offset, n);
+            position += n;
+            return n;
+        }
+    }
+
+    // 기존 서비스와 같이 body/items/item에서 필드를 꺼냄 (item이 하나면 배열이 아닌 단일 객체)
+    private List<Map<String, String>> itemsOf(JsonNode root) {
+        if (!"00".equals(root.path("header").path("resultCode").asText(""))) {
+            throw new IllegalStateException("resultCode != 00");
+        }
+        JsonNode itemsNode = root.path("body").path("items").path("item");
+        List<Map<String, String>> items = new ArrayList<>(itemCount);
+        if (itemsNode.isArray()) {
+            itemsNode.forEach(item -> items.add(toMap(item)));
+        } else if (!itemsNode.isMissingNode()) {
+            items.add(toMap(itemsNode));
+        }
+        return items;
+    }
+
+    private Map<String, String> toMap(JsonNode item) {
+        Map<String, String> map = new HashMap<>();
+        for (String field : FIELDS) {
+            map.put(field, item.path(field).asText(null));
+        }
+        return map;
+    }
+
+    private static String valueOf(String field, int i) {
+        return switch (field) {
+            case "planInfoId" -> "PLAN" + i;
+            case "planCourseId" -> "COURSE" + (i / 10);
+            case "planDay" -> String.valueOf(i % 3 + 1);
+            case "planName" -> "순천만국가정원 " + i;
+            case "planAddr" -> "전라남도 순천시 국가정원1호길 " + i;
+            case "planContents" -> "세계 5대 연안습지인 순천만을 보호하기 위해 조성된 정원으로, 다양한 테마 정원과 "
+                    + "습지센터, 꿈의 다리 등을 둘러볼 수 있습니다. (" + i + ")";
+            case "planLatitude" -> String.valueOf(34.9 + i * 0.0001);
+            case "planLongitude" -> String.valueOf(127.5 + i * 0.0001);
+            default -> field + i;
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package kopo.jeonnam.config;
+
+import com.mongodb.client.result.UpdateResult;
+import kopo.jeonnam.repository.entity.favorite.FavoriteEntity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.CompoundIndexDefinition;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 📍 찜(favorite) 위치 마이그레이션
+ * 1) position(GeoJSON Point)이 없는 기존 문서를 x(경도), y(위도)로 서버에서 한 번에 채우고
+ * 2) (userId, position 2dsphere) 인덱스와 기존 범위 조회용 (userId, y, x) 인덱스를 보장합니다.
+ * 여러 번 실행해도 이미 채워진 문서와 인덱스는 그대로 둡니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FavoriteGeoMigration implements CommandLineRunner {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(String... args) {
+        log.info("▶ 찜 위치(position) 마이그레이션 시작");
+
+        try {
+            String collection = mongoTemplate.getCollectionName(FavoriteEntity.class);
+
+            // 좌표가 유효한 문서만 변환 (새로 저장할 때 position을 채우는 FavoriteEntity.toPosition과 같은 조건,
+            // 2dsphere 인덱스는 범위를 벗어난 좌표를 거부함)
+            Document filter = new Document(FavoriteEntity.hasValidCoordinates().getCriteriaObject())
+                    .append("position", new Document("$exists", false));
+            List<Document> pipeline = List.of(new Document("$set", new Document("position",
+                    new Document("type", "Point").append("coordinates", List.of("$x", "$y")))));
+
+            UpdateResult result = mongoTemplate.getCollection(collection).updateMany(filter, pipeline);
+            log.info("▶ position 채움: {}건", result.getModifiedCount());
+
+            IndexOperations indexOps = mongoTemplate.indexOps(FavoriteEntity.class);
+            indexOps.ensureIndex(new CompoundIndexDefinition(new Document("userId", 1).append("position", "2dsphere"))
+                    .named("userId_position_2dsphere"));
+            indexOps.ensureIndex(new Index().on("userId", Sort.Direction.ASC)
+                    .on("y", Sort.Direction.ASC)
+                    .on("x", Sort.Direction.ASC)
+                    .named("userId_y_x"));
+            log.info("▶ 찜 위치 인덱스 확인 완료");
+
+        } catch (Exception e) {
+            log.error("❌ 찜 위치 마이그레이션 중 에러 발생", e);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package kopo.jeonnam.config;
+
+import kopo.jeonnam.repository.entity.movie.MovieEntity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.data.util.Pair;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 🔤 영화(movies) 검색 토큰 마이그레이션 (여러 번 실행해도 안전)
+ * searchGrams가 없는 기존 문서에 제목/장소/주소의 bigram 토큰을 채우고 searchGrams 인덱스를 보장합니다.
+ * 새로 가져오는 영화는 CSV 저장 시점에 searchGrams가 채워집니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MovieSearchGramMigration implements CommandLineRunner {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(String... args) {
+        log.info("▶ 영화 검색 토큰(searchGrams) 마이그레이션 시작");
+
+        try {
+            Query missing = new Query(Criteria.where("searchGrams").exists(false));
+            missing.fields().include("title", "location", "addr");
+
+            List<Pair<Query, UpdateDefinition>> batch = new ArrayList<>();
+            int[] filled = {0};
+
+            // 커서는 다 읽지 못하고 예외로 빠져나와도 닫히도록 try-with-resources로 사용
+            try (Stream<Document> docs = mongoTemplate.stream(missing, Document.class,
+                    mongoTemplate.getCollectionName(MovieEntity.class))) {
+                docs.forEach(doc -> {
+                    batch.add(Pair.of(Query.query(Criteria.where("_id").is(doc.get("_id"))),
+                            Update.update("searchGrams", MovieEntity.toSearchGrams(
+                                    doc.getString("title"), doc.getString("location"), doc.getString("addr")))));
+                    filled[0]++;
+                    if (batch.size() == BATCH_SIZE) {
+                        flush(batch);
+                    }
+                });
+            }
+            flush(batch);
+            log.info("▶ searchGrams 채움: {}건", filled[0]);
+
+            mongoTemplate.indexOps(MovieEntity.class)
+                    .ensureIndex(new Index().on("searchGrams", Sort.Direction.ASC).named("searchGrams_1"));
+            log.info("▶ searchGrams 인덱스 확인 완료");
+
+        } catch (Exception e) {
+            log.error("❌ 영화 검색 토큰 마이그레이션 중 에러 발생", e);
+        }
+    }
+
+    // 모은 업데이트를 한 번의 unordered bulkWrite로 반영 (BulkOperations는 실행 후 재사용하지 않음)
+    private void flush(List<Pair<Query, UpdateDefinition>> batch) {
+        if (batch.isEmpty()) return;
+        mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MovieEntity.class)
+                .updateOne(batch)
+                .execute();
+        batch.clear();
+    }
+}
@@ -0,0 +1,88 @@
+package kopo.jeonnam.config;
+
+import kopo.jeonnam.repository.entity.theme.RecommendCoursePlanEntity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
+import org.springframework.data.mongodb.core.index.GeospatialIndex;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.data.util.Pair;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 📍 recommend_course_plan 위치 마이그레이션 (1회성, 여러 번 실행해도 안전)
+ * planLocation이 없는 기존 문서의 문자열 위경도를 GeoJSON Point로 변환해 채우고,
+ * planLocation 2dsphere 인덱스를 보장합니다. 새로 수집되는 문서는 저장 시점에 planLocation이 채워집니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RecommendCoursePlanGeoMigration implements CommandLineRunner {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(String... args) {
+        log.info("▶ 추천 코스 계획 위치(planLocation) 마이그레이션 시작");
+
+        try {
+            Query missing = new Query(Criteria.where("planLocation").exists(false));
+            missing.fields().include("planLatitude", "planLongitude");
+
+            List<Pair<Query, UpdateDefinition>> batch = new ArrayList<>();
+            int[] converted = {0};
+            int[] skipped = {0};
+
+            // 커서는 다 읽지 못하고 예외로 빠져나와도 닫히도록 try-with-resources로 사용
+            try (Stream<Document> docs = mongoTemplate.stream(missing, Document.class,
+                    mongoTemplate.getCollectionName(RecommendCoursePlanEntity.class))) {
+                docs.forEach(doc -> {
+                    GeoJsonPoint location = RecommendCoursePlanEntity.toLocation(
+                            doc.getString("planLatitude"), doc.getString("planLongitude"));
+                    if (location == null) {
+                        skipped[0]++;
+                        return;
+                    }
+                    batch.add(Pair.of(Query.query(Criteria.where("_id").is(doc.get("_id"))),
+                            Update.update("planLocation", location)));
+                    converted[0]++;
+                    if (batch.size() == BATCH_SIZE) {
+                        flush(batch);
+                    }
+                });
+            }
+            flush(batch);
+            log.info("▶ planLocation 채움: {}건, 좌표 없음/오류로 건너뜀: {}건", converted[0], skipped[0]);
+
+            mongoTemplate.indexOps(RecommendCoursePlanEntity.class)
+                    .ensureIndex(new GeospatialIndex("planLocation").typed(GeoSpatialIndexType.GEO_2DSPHERE));
+            log.info("▶ planLocation 2dsphere 인덱스 확인 완료");
+
+        } catch (Exception e) {
+            log.error("❌ 추천 코스 계획 위치 마이그레이션 중 에러 발생", e);
+        }
+    }
+
+    // 모은 업데이트를 한 번의 unordered bulkWrite로 반영 (BulkOperations는 실행 후 재사용하지 않음)
+    private void flush(List<Pair<Query, UpdateDefinition>> batch) {
+        if (batch.isEmpty()) return;
+        mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RecommendCoursePlanEntity.class)
+                .updateOne(batch)
+                .execute();
+        batch.clear();
+    }
+}
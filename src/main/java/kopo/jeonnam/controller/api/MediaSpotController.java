@@ -1,17 +1,29 @@
 package kopo.jeonnam.controller.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kopo.jeonnam.dto.csv.MediaSpotListResultDTO;
 import kopo.jeonnam.dto.csv.MediaSpotMapDTO;
-import kopo.jeonnam.model.MediaSpot;
+import kopo.jeonnam.dto.csv.MediaSpotMapResultDTO;
 import kopo.jeonnam.service.csv.IMediaSpotService;
-import kopo.jeonnam.service.api.ITmdbService;
+import kopo.jeonnam.util.JsonStreamUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @RestController
@@ -20,7 +32,7 @@ import java.util.stream.Collectors;
 public class MediaSpotController {
 
     private final IMediaSpotService mediaSpotService;
-    private final ITmdbService tmdbService;
+    private final ObjectMapper objectMapper;
 
     public record MediaSpotResponse(
             String spotId,
@@ -29,27 +41,109 @@ public class MediaSpotController {
             String posterUrl
     ) {}
 
+    /**
+     * 포스터가 있는 촬영지 목록 (읽기 전용 - 외부 API 호출 없음)
+     * 주기적으로 갱신하는 목록 스냅샷의 내용 해시를 ETag로 사용하여, If-None-Match가 같으면 304를 반환합니다.
+     */
     @GetMapping("/list")
-    public List<MediaSpotResponse> getMediaSpotList() {
-        List<MediaSpot> spots = mediaSpotService.getAllJeonnamSpots();
-        log.info("촬영지 목록 조회, 총 {}개", spots.size());
+    public ResponseEntity<List<MediaSpotResponse>> getMediaSpotList(WebRequest webRequest) {
+        MediaSpotListResultDTO result = mediaSpotService.getSpotsWithPosterSnapshot();
+        String eTag = result.eTag();
+        if (webRequest.checkNotModified(eTag)) {
+            log.debug("촬영지 목록 조회 - 변경 없음 (304)");
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
 
-        return spots.stream()
-                .filter(spot -> spot.getPosterUrl() != null) // 👈 없는 애들 제외
-                .map(spot -> {
-                    String posterUrl = tmdbService.getPosterUrlByTitle(spot.getSpotNm()).orElse(null);
-                    return new MediaSpotResponse(
-                            spot.getId().toHexString(),
-                            spot.getSpotNm(),
-                            spot.getSpotArea(),
-                            spot.getPosterUrl() // 👈 이제 여기선 바로 사용
-                    );
-                })
+        List<MediaSpotResponse> spots = result.spots().stream()
+                .map(spot -> new MediaSpotResponse(
+                        spot.getId().toHexString(),
+                        spot.getSpotNm(),
+                        spot.getSpotArea(),
+                        spot.getPosterUrl()
+                ))
                 .collect(Collectors.toList());
+
+        log.info("촬영지 목록 조회, 총 {}개", spots.size());
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .body(spots);
     }
 
+    /**
+     * 포스터가 있는 촬영지 목록 스트리밍 조회 (stream=true)
+     * MongoDB 커서에서 읽는 대로 JSON 배열로 내려보냅니다. (본문 전체가 필요한 ETag는 붙이지 않음)
+     */
+    @GetMapping(value = "/list", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamMediaSpotList() {
+        return streamJson(() -> mediaSpotService.streamSpotsWithPoster()
+                .map(spot -> new MediaSpotResponse(
+                        spot.getId().toHexString(),
+                        spot.getSpotNm(),
+                        spot.getSpotArea(),
+                        spot.getPosterUrl()
+                )));
+    }
+
+    /**
+     * 지도 마커 조회 (미리 계산된 스냅샷)
+     * minLat/minLon/maxLat/maxLon을 모두 주면 해당 범위 안의 마커만, 없으면 전체를 반환합니다.
+     */
     @GetMapping("/map")
-    public List<MediaSpotMapDTO> getMapReadyMediaSpots() {
-        return mediaSpotService.getAllMapReadySpots(); // returns MediaSpotMapDTO list
+    public ResponseEntity<List<MediaSpotMapDTO>> getMapReadyMediaSpots(
+            @RequestParam(required = false) Double minLat,
+            @RequestParam(required = false) Double minLon,
+            @RequestParam(required = false) Double maxLat,
+            @RequestParam(required = false) Double maxLon,
+            WebRequest webRequest) {
+
+        boolean anyBound = minLat != null || minLon != null || maxLat != null || maxLon != null;
+        if (!anyBound) {
+            return toMapResponse(mediaSpotService.getMapReadySnapshot(), webRequest);
+        }
+        if (minLat == null || minLon == null || maxLat == null || maxLon == null || minLat > maxLat || minLon > maxLon) {
+            log.warn("지도 마커 조회 - 잘못된 범위: minLat={}, minLon={}, maxLat={}, maxLon={}", minLat, minLon, maxLat, maxLon);
+            return ResponseEntity.badRequest().build();
+        }
+        return toMapResponse(mediaSpotService.getMapReadySpotsInBounds(minLat, minLon, maxLat, maxLon), webRequest);
+    }
+
+    /**
+     * 지도 마커 스트리밍 조회 (stream=true)
+     * 스냅샷을 거치지 않고 MongoDB 커서에서 바로 변환하여 내려보냅니다. (저장 순서 그대로, ETag 없음)
+     */
+    @GetMapping(value = "/map", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamMapReadyMediaSpots() {
+        return streamJson(mediaSpotService::streamMapReadySpots);
+    }
+
+    /**
+     * 지도 타일(z/x/y, Web Mercator) 범위의 마커 조회
+     */
+    @GetMapping("/map/tiles/{z}/{x}/{y}")
+    public ResponseEntity<List<MediaSpotMapDTO>> getMapTile(
+            @PathVariable int z, @PathVariable int x, @PathVariable int y, WebRequest webRequest) {
+        try {
+            return toMapResponse(mediaSpotService.getMapReadySpotsInTile(z, x, y), webRequest);
+        } catch (IllegalArgumentException e) {
+            log.warn("지도 타일 조회 - 잘못된 타일 좌표 {}/{}/{}: {}", z, x, y, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private <T> ResponseEntity<StreamingResponseBody> streamJson(Supplier<Stream<T>> source) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(JsonStreamUtil.toJsonArray(objectMapper, source));
+    }
+
+    private ResponseEntity<List<MediaSpotMapDTO>> toMapResponse(MediaSpotMapResultDTO result, WebRequest webRequest) {
+        if (webRequest.checkNotModified(result.eTag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(result.eTag()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(result.eTag())
+                .cacheControl(CacheControl.noCache())
+                .body(result.spots());
     }
 }
@@ -1,5 +1,6 @@
 package kopo.jeonnam.controller.csv;
 
+import kopo.jeonnam.dto.movie.MovieImportResultDTO;
 import kopo.jeonnam.service.impl.csv.MovieCsvService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,9 +15,10 @@ public class MovieImportController {
     @GetMapping("/api/import-csv")
     public String importCsv() {
         try {
-            // 프로젝트 실행 디렉토리 기준 상대경로 또는 절대경로
-            movieCsvService.importCsv("src/main/resources/data/mediaInfo.csv");
-            return "CSV 데이터가 MongoDB에 저장되었습니다.";
+            // 클래스패스의 CSV를 제목 + 주소 기준으로 upsert (여러 번 호출해도 중복 없음)
+            MovieImportResultDTO result = movieCsvService.importCsvFromClasspath(MovieCsvService.DEFAULT_CSV_LOCATION);
+            return String.format("CSV 데이터가 MongoDB에 저장되었습니다. (읽음 %d, 건너뜀 %d, 추가 %d, 변경 %d, %.1f rows/s)",
+                    result.read(), result.invalid(), result.inserted(), result.modified(), result.rowsPerSecond());
         } catch (Exception e) {
             return "에러 발생: " + e.getMessage();
         }
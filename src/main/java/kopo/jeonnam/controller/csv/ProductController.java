@@ -1,12 +1,17 @@
 package kopo.jeonnam.controller.csv;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import kopo.jeonnam.dto.csv.ProductDTO;
 import kopo.jeonnam.service.csv.IProductService;
+import kopo.jeonnam.util.JsonStreamUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -20,6 +25,7 @@ import java.util.List;
 public class ProductController {
 
     private final IProductService productService;
+    private final ObjectMapper objectMapper;
 
     /**
      * 🖥️ View 페이지 반환 (Thymeleaf)
@@ -43,6 +49,22 @@ public class ProductController {
         return productService.findByAreaAndKeyword(area, keyword);
     }
 
+    /**
+     * 🌊 제품 리스트 스트리밍 API (stream=true)
+     * - MongoDB 커서에서 읽는 대로 JSON 배열로 내려보내므로 건수와 무관하게 메모리 사용량이 일정
+     */
+    @GetMapping(value = "/products", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamProducts(
+            @RequestParam(required = false) String area,
+            @RequestParam(required = false, name = "search") String keyword
+    ) {
+        log.info("📥 GET /products?stream=true 요청 - area: '{}', keyword: '{}'", area, keyword);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(JsonStreamUtil.toJsonArray(objectMapper,
+                        () -> productService.streamByAreaAndKeyword(area, keyword)));
+    }
+
     /**
      * 🧪 데이터 있는지 여부 체크 (선택)
      */
@@ -109,14 +109,41 @@ public class FavoriteController {
         }
     }
 
+    /**
+     * 주변 추천 코스 조회
+     * lat, lng, radius(m)를 주면 반경 안을 가까운 순으로, 아니면 latMin~lngMax 사각형 범위로 조회합니다. (limit: 0이면 제한 없음)
+     */
     @GetMapping("/nearby")
     public ResponseEntity<List<RecommendCoursePlanDTO>> getNearbyRecommendations(
-            @RequestParam double latMin,
-            @RequestParam double latMax,
-            @RequestParam double lngMin,
-            @RequestParam double lngMax) {
+            @RequestParam(required = false) Double latMin,
+            @RequestParam(required = false) Double latMax,
+            @RequestParam(required = false) Double lngMin,
+            @RequestParam(required = false) Double lngMax,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lng,
+            @RequestParam(required = false) Double radius,
+            @RequestParam(defaultValue = "0") int limit) {
+
+        if (limit < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<RecommendCoursePlanDTO> plans;
+        if (lat != null && lng != null && radius != null) {
+            if (radius <= 0) {
+                return ResponseEntity.badRequest().build();
+            }
+            plans = recommendCoursePlanService.findWithinRadius(lat, lng, radius, limit);
+        } else if (latMin != null && latMax != null && lngMin != null && lngMax != null) {
+            if (latMin > latMax || lngMin > lngMax) {
+                return ResponseEntity.badRequest().build();
+            }
+            plans = recommendCoursePlanService.findNearby(latMin, latMax, lngMin, lngMax, limit);
+        } else {
+            return ResponseEntity.badRequest().build();
+        }
 
-        List<RecommendCoursePlanDTO> dtoList = recommendCoursePlanService.findNearby(latMin, latMax, lngMin, lngMax).stream()
+        List<RecommendCoursePlanDTO> dtoList = plans.stream()
                 .map(entity -> {
                     RecommendCoursePlanDTO dto = new RecommendCoursePlanDTO();
                     dto.setPlanInfoId(entity.getPlanInfoId());
@@ -144,6 +171,32 @@ public class FavoriteController {
         return ResponseEntity.ok(dtoList);
     }
 
+    /**
+     * 내 찜 중 기준 좌표와 가까운 항목 조회
+     * radius(m)를 주면 반경 안의 찜 전체, 없으면 가장 가까운 k개를 가까운 순으로 반환합니다.
+     */
+    @GetMapping("/my/near")
+    public ResponseEntity<List<FavoriteDTO>> getMyFavoritesNear(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(required = false) Double radius,
+            @RequestParam(defaultValue = "10") int k,
+            HttpSession session) {
+
+        String email = (String) session.getAttribute("email");
+        if (email == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (lat < -90 || lat > 90 || lng < -180 || lng > 180 || (radius != null && radius <= 0) || k <= 0 || k > 100) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<FavoriteDTO> favorites = radius != null
+                ? favoriteService.findFavoritesWithinRadius(email, lat, lng, radius)
+                : favoriteService.findNearestFavorites(email, lat, lng, k);
+        return ResponseEntity.ok(favorites);
+    }
+
     @PostMapping("/searchTour")
     public ResponseEntity<List<TourDTO>> searchTour(@RequestBody TourDTO input) {
 
@@ -1,22 +1,35 @@
 package kopo.jeonnam.controller.gpt;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import jakarta.servlet.http.HttpSession;
 import kopo.jeonnam.dto.favorite.FavoriteDTO;
 import kopo.jeonnam.dto.gpt.GptRequestDTO;
+import kopo.jeonnam.dto.gpt.GptScheduleCacheStatsDTO;
+import kopo.jeonnam.dto.gpt.GptScheduleJobDTO;
 import kopo.jeonnam.dto.gpt.PlaceInfoDTO;
+import kopo.jeonnam.service.gpt.GptStreamCancellation;
+import kopo.jeonnam.service.gpt.IGptScheduleCacheService;
+import kopo.jeonnam.service.gpt.IGptScheduleJobService;
 import kopo.jeonnam.service.gpt.IGptService;
+import kopo.jeonnam.service.gpt.IPromptCompactionService;
 import kopo.jeonnam.service.impl.favorite.FavoriteService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j; // Corrected to slf4j
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.ui.Model;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.Set;
 import java.util.HashSet; // HashSet import added
 import java.util.stream.Collectors;
@@ -27,8 +40,13 @@ import java.util.stream.Collectors;
 @RequestMapping("/gpt")
 public class GptController {
 
+    private static final long SCHEDULE_STREAM_TIMEOUT_MS = 120_000L;
+
     private final FavoriteService favoriteService;
     private final IGptService gptService;
+    private final IGptScheduleJobService gptScheduleJobService;
+    private final IGptScheduleCacheService gptScheduleCacheService;
+    private final IPromptCompactionService promptCompactionService;
     private final ObjectMapper objectMapper;
 
     /**
@@ -210,6 +228,226 @@ public class GptController {
     }
 
 
+    /**
+     * [POST] 비동기 GPT 일정 생성 작업 등록
+     * URL: /gpt/recommend-schedule/async (POST)
+     * OpenAI 응답을 기다리지 않고 작업 ID를 즉시 반환합니다. 결과는 /gpt/recommend-schedule/jobs/{jobId}로 조회합니다.
+     * @param request GptRequestDTO (사용자 입력 데이터)
+     * @param session HTTP 세션 (로그인 정보 확인용)
+     * @return 202 + 작업 ID, 또는 JSON 에러 메시지 (동시 작업 수 초과 / 대기열 포화 시 429)
+     */
+    @PostMapping("/recommend-schedule/async")
+    @ResponseBody
+    public ResponseEntity<String> submitScheduleJob(
+            @RequestBody GptRequestDTO request,
+            HttpSession session
+    ) {
+        String email = (String) session.getAttribute("email");
+        if (email == null) {
+            log.warn("POST /recommend-schedule/async 요청 - 로그인 필요: 세션에 email 없음");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .header("Content-Type", "application/json; charset=UTF-8")
+                    .body(createErrorJson("Unauthorized", "로그인이 필요합니다."));
+        }
+
+        if (request.places() == null || request.places().isEmpty()) {
+            log.warn("POST /recommend-schedule/async 요청 - 선택한 장소가 없습니다.");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .header("Content-Type", "application/json; charset=UTF-8")
+                    .body(createErrorJson("Bad Request", "선택한 장소가 없습니다. 일정 생성을 위해 찜을 추가해 주세요."));
+        }
+
+        try {
+            GptScheduleJobDTO job = gptScheduleJobService.submit(email, request);
+            log.info("POST /recommend-schedule/async 요청 - 작업 등록 완료: {}", job.jobId());
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .header("Content-Type", "application/json; charset=UTF-8")
+                    .header("Location", "/gpt/recommend-schedule/jobs/" + job.jobId())
+                    .body(toJobStatusJson(job));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header("Content-Type", "application/json; charset=UTF-8")
+                    .body(createErrorJson("Too Many Requests", e.getMessage()));
+        } catch (Exception e) {
+            log.error("POST /recommend-schedule/async 요청 - 작업 등록 중 오류 발생", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .header("Content-Type", "application/json; charset=UTF-8")
+                    .body(createErrorJson("Internal Server Error", "일정 생성 작업 등록 중 오류가 발생했습니다."));
+        }
+    }
+
+    /**
+     * [GET] 비동기 GPT 일정 생성 작업 조회
+     * URL: /gpt/recommend-schedule/jobs/{jobId} (GET)
+     * waitMs를 주면 작업이 끝날 때까지 (최대 waitMs) 기다렸다가 응답합니다. 대기 중에도 요청 스레드는 반환됩니다.
+     * @param jobId   작업 ID
+     * @param waitMs  롱 폴링 대기 시간 (ms, 기본 0 = 즉시 응답)
+     * @param session HTTP 세션 (로그인 정보 확인용)
+     * @return 완료 시 200 + 일정 JSON, 진행 중이면 202 + 상태 JSON, 실패 시 500, 없는 작업이면 404
+     */
+    @GetMapping("/recommend-schedule/jobs/{jobId}")
+    @ResponseBody
+    public CompletableFuture<ResponseEntity<String>> getScheduleJob(
+            @PathVariable String jobId,
+            @RequestParam(defaultValue = "0") long waitMs,
+            HttpSession session
+    ) {
+        String email = (String) session.getAttribute("email");
+        if (email == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .header("Content-Type", "application/json; charset=UTF-8")
+                    .body(createErrorJson("Unauthorized", "로그인이 필요합니다.")));
+        }
+
+        return gptScheduleJobService.awaitJob(email, jobId, waitMs)
+                .thenApply(found -> found.map(this::toJobResponse)
+                        .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                                .header("Content-Type", "application/json; charset=UTF-8")
+                                .body(createErrorJson("Not Found", "일정 생성 작업을 찾을 수 없습니다."))));
+    }
+
+    private ResponseEntity<String> toJobResponse(GptScheduleJobDTO job) {
+        return switch (job.status()) {
+            case DONE -> ResponseEntity.ok()
+                    .header("Content-Type", "application/json; charset=UTF-8")
+                    .body(job.result());
+            case FAILED -> ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .header("Content-Type", "application/json; charset=UTF-8")
+                    .body(createErrorJson("Internal Server Error", "일정 생성 중 서버 내부 오류가 발생했습니다: " + job.error()));
+            default -> ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .header("Content-Type", "application/json; charset=UTF-8")
+                    .body(toJobStatusJson(job));
+        };
+    }
+
+    private String toJobStatusJson(GptScheduleJobDTO job) {
+        return String.format("{\"jobId\": \"%s\", \"status\": \"%s\"}", job.jobId(), job.status());
+    }
+
+    /**
+     * [POST] GPT 일정 스트리밍 생성 (Server-Sent Events)
+     * URL: /gpt/recommend-schedule/stream (POST)
+     * 하루치 일정이 완성될 때마다 허용 장소 필터를 거쳐 "day" 이벤트로 바로 보내고,
+     * 마지막에 필터링된 전체 일정을 "done" (오류 시 "error") 이벤트로 보냅니다.
+     * @param request GptRequestDTO (사용자 입력 데이터)
+     * @param session HTTP 세션 (로그인 정보 확인용)
+     * @return SSE 스트림 (로그인 필요 401, 장소 없음 400, 동시 작업 수 초과 429)
+     */
+    @PostMapping(value = "/recommend-schedule/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public ResponseEntity<SseEmitter> streamScheduleWithUserInput(
+            @RequestBody GptRequestDTO request,
+            HttpSession session
+    ) {
+        String email = (String) session.getAttribute("email");
+        if (email == null) {
+            log.warn("POST /recommend-schedule/stream 요청 - 로그인 필요: 세션에 email 없음");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        if (request.places() == null || request.places().isEmpty()) {
+            log.warn("POST /recommend-schedule/stream 요청 - 선택한 장소가 없습니다.");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        SseEmitter emitter = new SseEmitter(SCHEDULE_STREAM_TIMEOUT_MS);
+
+        // 연결 종료/시간 초과/오류로 emitter가 끝나면 OpenAI 스트림을 끊어 사용자 슬롯을 바로 반납
+        GptStreamCancellation cancellation = new GptStreamCancellation();
+        emitter.onTimeout(cancellation::cancel);
+        emitter.onError(e -> cancellation.cancel());
+        emitter.onCompletion(cancellation::cancel);
+
+        try {
+            gptScheduleJobService.execute(email, () -> {
+                if (cancellation.isCancelled()) {
+                    log.info("POST /recommend-schedule/stream 요청 - 시작 전 연결 종료, 생성 생략");
+                    return;
+                }
+                try {
+                    String finalSchedule = gptService.streamScheduleWithFavorites(
+                            new HashSet<>(request.places()),
+                            request.startDate(),
+                            request.tripDays(),
+                            request.departurePlace(),
+                            request.departureTime(),
+                            request.additionalPrompt(),
+                            (date, activities) -> {
+                                try {
+                                    emitter.send(SseEmitter.event()
+                                            .name("day")
+                                            .data(Map.of("date", date, "activities", activities), MediaType.APPLICATION_JSON));
+                                } catch (IOException e) {
+                                    // 클라이언트 연결 종료 - 스트리밍 중단
+                                    throw new UncheckedIOException(e);
+                                }
+                            },
+                            cancellation
+                    );
+                    if (cancellation.isCancelled()) {
+                        log.info("POST /recommend-schedule/stream 요청 - 연결 종료로 스트리밍 중단");
+                        return;
+                    }
+
+                    String eventName = objectMapper.readTree(finalSchedule).has("error") ? "error" : "done";
+                    emitter.send(SseEmitter.event().name(eventName).data(finalSchedule, MediaType.APPLICATION_JSON));
+                    emitter.complete();
+                    log.info("POST /recommend-schedule/stream 요청 - 스트리밍 완료 ({})", eventName);
+                } catch (Exception e) {
+                    log.warn("POST /recommend-schedule/stream 요청 - 스트리밍 중단: {}", e.getMessage());
+                    emitter.completeWithError(e);
+                }
+            });
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+
+        return ResponseEntity.ok(emitter);
+    }
+
+    /**
+     * [GET] GPT 일정 캐시 적중 통계 조회
+     * URL: /gpt/schedule-cache/stats (GET)
+     * @return 메모리/MongoDB 적중 수, 실패 수, 적중률 등 JSON
+     */
+    @GetMapping("/schedule-cache/stats")
+    @ResponseBody
+    public ResponseEntity<String> getScheduleCacheStats() {
+        try {
+            GptScheduleCacheStatsDTO stats = gptScheduleCacheService.getStats();
+            ObjectNode body = objectMapper.valueToTree(stats);
+            body.put("hitRatio", stats.hitRatio());
+            return ResponseEntity.ok()
+                    .header("Content-Type", "application/json; charset=UTF-8")
+                    .body(objectMapper.writeValueAsString(body));
+        } catch (Exception e) {
+            log.error("GET /schedule-cache/stats 요청 - 통계 조회 중 오류 발생", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .header("Content-Type", "application/json; charset=UTF-8")
+                    .body(createErrorJson("Internal Server Error", "캐시 통계 조회 중 오류가 발생했습니다."));
+        }
+    }
+
+    /**
+     * [GET] GPT 프롬프트 장소 축소 통계 조회
+     * URL: /gpt/prompt-compaction/stats (GET)
+     * @return 축소 전/후 장소 수와 추정 토큰 수 누적값 JSON
+     */
+    @GetMapping("/prompt-compaction/stats")
+    @ResponseBody
+    public ResponseEntity<String> getPromptCompactionStats() {
+        try {
+            return ResponseEntity.ok()
+                    .header("Content-Type", "application/json; charset=UTF-8")
+                    .body(objectMapper.writeValueAsString(promptCompactionService.getStats()));
+        } catch (Exception e) {
+            log.error("GET /prompt-compaction/stats 요청 - 통계 조회 중 오류 발생", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .header("Content-Type", "application/json; charset=UTF-8")
+                    .body(createErrorJson("Internal Server Error", "프롬프트 축소 통계 조회 중 오류가 발생했습니다."));
+        }
+    }
+
     /**
      * [GET] 찜 목록 조회 (프론트엔드 호환용)
      * URL: /gpt/favorite/list (GET)
@@ -1,14 +1,16 @@
 package kopo.jeonnam.controller.movie;
 
 import kopo.jeonnam.dto.movie.MovieDTO;
+import kopo.jeonnam.dto.movie.MovieSearchRequest;
+import kopo.jeonnam.dto.movie.MovieSearchResultDTO;
 import kopo.jeonnam.repository.entity.movie.MovieEntity;
 import kopo.jeonnam.repository.mongo.movie.MovieRepository;
+import kopo.jeonnam.service.movie.IMovieService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,7 +18,6 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.Collections;
 import java.util.Optional;
 
 @Slf4j
@@ -26,49 +27,69 @@ import java.util.Optional;
 public class MovieController {
 
     private final MovieRepository movieRepository;
+    private final IMovieService movieService;
 
     @GetMapping("/list") // 영화 리스트 (검색 + 페이징)
-    public Page<MovieDTO> getPagedMovies(
+    public ResponseEntity<Page<MovieDTO>> getPagedMovies(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "16") int size,
-            @RequestParam(required = false) String keyword) {
+            MovieSearchRequest searchRequest) {
+
+        log.info("🎬 getPagedMovies Start! page={}, size={}, searchRequest={}", page, size, searchRequest);
+
+        // 🔍 keyword(통합) 또는 title/location/addr(필드별) 검색 - 두 글자 이상은 n-gram 인덱스 사용
+        Page<MovieDTO> movieDTOPage;
+        try {
+            movieDTOPage = movieService.searchMovies(searchRequest, PageRequest.of(page, size));
+        } catch (IllegalArgumentException e) {
+            // 허용되지 않은 정렬(sortBy/sortDirection)
+            log.warn("⚠️ getPagedMovies 잘못된 요청: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
 
-        log.info("🎬 getPagedMovies Start! page={}, size={}, keyword={}", page, size, keyword);
+        log.info("✅ getPagedMovies End. TotalElements={}, TotalPages={}",
+                movieDTOPage.getTotalElements(), movieDTOPage.getTotalPages());
 
-        Pageable pageable = PageRequest.of(page, size);
-        Page<MovieEntity> moviePage;
+        return ResponseEntity.ok(movieDTOPage);
+    }
 
-        // 🔍 검색 키워드가 있을 경우 title, location, addr 필터링으로 변경
-        if (keyword != null && !keyword.trim().isEmpty()) {
-            String trimmedKeyword = keyword.trim();
-            // ⭐ 수정: 새로운 통합 검색 메서드 호출
-            moviePage = movieRepository.findByTitleContainingIgnoreCaseOrLocationContainingIgnoreCaseOrAddrContainingIgnoreCase(
-                    trimmedKeyword, trimmedKeyword, trimmedKeyword, pageable);
-            log.info("🔍 Filtering by keyword: '{}' across title, location, addr", keyword);
-        } else {
-            moviePage = movieRepository.findAll(pageable);
-            log.info("📦 No keyword, returning full list.");
+    /**
+     * 관련도 순 영화 검색 (점수 + 필드별 하이라이트 포함)
+     * 정렬 조건(sortBy)이 없으면 제목 > 장소 > 주소 가중치로 계산한 관련도 순으로 반환합니다.
+     * sortBy는 title, location, newest만 허용하며 그 외 값은 400을 반환합니다.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Page<MovieSearchResultDTO>> searchMovies(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "16") int size,
+            MovieSearchRequest searchRequest) {
+
+        log.info("🔍 searchMovies Start! page={}, size={}, searchRequest={}", page, size, searchRequest);
+        try {
+            return ResponseEntity.ok(movieService.searchMoviesWithHighlights(searchRequest, PageRequest.of(page, size)));
+        } catch (IllegalArgumentException e) {
+            log.warn("⚠️ searchMovies 잘못된 요청: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         }
+    }
 
-        if (moviePage.isEmpty()) {
-            log.info("🕳 No matching movies. Returning empty page.");
-            return Page.empty(pageable);
+    /**
+     * 전체 개수 없이 다음 페이지 여부만 확인하는 영화 검색 (무한 스크롤용)
+     * sortBy=newest로 받은 응답의 마지막 id를 afterId로 넘기면 그 다음부터 이어서 조회합니다. (다른 정렬과 함께 쓰면 400)
+     */
+    @GetMapping("/search/slice")
+    public ResponseEntity<Slice<MovieSearchResultDTO>> searchMoviesSlice(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "16") int size,
+            MovieSearchRequest searchRequest) {
+
+        log.info("🔍 searchMoviesSlice Start! page={}, size={}, searchRequest={}", page, size, searchRequest);
+        try {
+            return ResponseEntity.ok(movieService.searchMoviesSlice(searchRequest, PageRequest.of(page, size)));
+        } catch (IllegalArgumentException e) {
+            log.warn("⚠️ searchMoviesSlice 잘못된 요청: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         }
-
-        Page<MovieDTO> movieDTOPage = moviePage.map(movie -> new MovieDTO(
-                movie.getId(),
-                movie.getTitle(),
-                movie.getLocation(),
-                movie.getPosterUrl(),
-                movie.getAddr(),
-                movie.getX(),
-                movie.getY()
-        ));
-
-        log.info("✅ getPagedMovies End. TotalElements={}, TotalPages={}",
-                movieDTOPage.getTotalElements(), movieDTOPage.getTotalPages());
-
-        return movieDTOPage;
     }
 
 
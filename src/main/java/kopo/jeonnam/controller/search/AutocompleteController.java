@@ -0,0 +1,57 @@
+package kopo.jeonnam.controller.search;
+
+import kopo.jeonnam.dto.search.AutocompleteDTO;
+import kopo.jeonnam.service.search.IAutocompleteService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🔎 자동완성 API (영화 제목 / 촬영지명 / 장소명)
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class AutocompleteController {
+
+    private static final int MAX_LIMIT = 50;
+
+    private final IAutocompleteService autocompleteService;
+
+    /**
+     * 자동완성 조회 - 부분 일치, 초성("ㅈㅎ"), 입력 중인 글자("장ㅎ")를 지원합니다.
+     * type(movie / mediaSpot / place)을 주지 않으면 종류별로 limit개씩 모두 반환합니다.
+     */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<AutocompleteDTO>> autocomplete(
+            @RequestParam String q,
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        if (limit < 1 || limit > MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(autocompleteService.autocomplete(q, type, limit));
+        } catch (IllegalArgumentException e) {
+            log.warn("자동완성 조회 - 잘못된 요청: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * 종류별 색인 항목 수 (운영 확인용)
+     */
+    @GetMapping("/autocomplete/stats")
+    public ResponseEntity<Map<String, Integer>> getIndexSizes() {
+        return ResponseEntity.ok(autocompleteService.getIndexSizes());
+    }
+}
@@ -1,57 +1,51 @@
 package kopo.jeonnam.controller.theme;
 
-import kopo.jeonnam.repository.entity.theme.RecommendCourseEntity;
+import kopo.jeonnam.dto.theme.RecommendCourseImageCrawlResultDTO;
 import kopo.jeonnam.service.theme.IRecommendCourseImageService;
-import kopo.jeonnam.service.theme.IRecommendCourseService; // RecommendCourseEntity 조회를 위해 필요
+import kopo.jeonnam.service.theme.IRecommendCourseService; // 코스 데이터 존재 여부 확인을 위해 필요
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
-
 @Slf4j // Lombok을 이용한 로깅
 @RequiredArgsConstructor // final 필드에 대한 생성자 자동 주입
 @RestController // RESTful API 컨트롤러
 @RequestMapping("/data/recommend-course-image") // 이미지 데이터 저장에 특화된 URL 경로
 public class RecommendCourseImageSaveController {
 
-    private final IRecommendCourseService recommendCourseService; // 모든 코스 엔티티 조회를 위해 필요
+    private final IRecommendCourseService recommendCourseService; // 코스 데이터 존재 여부 확인을 위해 필요
     private final IRecommendCourseImageService recommendCourseImageService; // 이미지 데이터 서비스
 
     /**
      * 모든 저장된 추천 코스의 courseInfoIds를 기반으로 이미지 데이터를 초기화/업데이트합니다.
      * 이 엔드포인트는 기존 데이터에 기반한 새로운 데이터 저장/갱신 작업을 시작하므로 POST를 사용.
+     * 이전 수집이 중간에 끊겼다면 완료되지 않은 courseInfoId부터 이어서 수집합니다. (restart=true면 처음부터)
      *
+     * @param restart 체크포인트를 무시하고 처음부터 다시 수집할지 여부
      * @return 처리 결과 메시지
      */
     @PostMapping("/fetch-and-save")
-    public ResponseEntity<String> fetchAndSaveRecommendCourseImages() {
-        log.info(">> 모든 추천 코스에 대한 이미지 데이터 가져오기 및 저장 요청 수신");
+    public ResponseEntity<String> fetchAndSaveRecommendCourseImages(
+            @RequestParam(defaultValue = "false") boolean restart) {
+        log.info(">> 모든 추천 코스에 대한 이미지 데이터 가져오기 및 저장 요청 수신 (restart={})", restart);
         try {
-            int totalSavedImages = 0;
-            // MongoDB에 저장된 모든 RecommendCourseEntity를 조회합니다.
             // 이전에 메인 코스 데이터를 먼저 저장했어야 합니다.
-            List<RecommendCourseEntity> allCourses = recommendCourseService.getAllRecommendCourses();
-
-            if (allCourses.isEmpty()) {
+            if (!recommendCourseService.existsAny()) {
                 log.warn("  저장된 추천 코스 데이터가 없어 이미지 데이터를 가져올 수 없습니다. 'fetch-courses'를 먼저 실행해주세요.");
                 return ResponseEntity.ok("저장된 추천 코스 데이터가 없어 이미지 데이터를 초기화할 수 없습니다. 메인 코스 데이터를 먼저 저장해주세요.");
             }
 
-            for (RecommendCourseEntity course : allCourses) {
-                String courseInfoIds = course.getCourseInfoIds();
-                if (courseInfoIds != null && !courseInfoIds.trim().isEmpty()) {
-                    totalSavedImages += recommendCourseImageService.fetchAndSaveRecommendCourseImages(courseInfoIds);
-                } else {
-                    log.debug("  코스 ID '{}'에 courseInfoIds가 없어 이미지 처리를 건너뜜.", course.get_id());
-                }
-            }
-            log.info(">> 모든 추천 코스에 대한 이미지 데이터 가져오기 및 저장 완료. 총 {}개의 이미지 데이터가 저장/업데이트됨.", totalSavedImages);
-            return ResponseEntity.ok("총 " + totalSavedImages + "개의 이미지 데이터가 성공적으로 가져와 저장되었습니다.");
+            RecommendCourseImageCrawlResultDTO result = recommendCourseImageService.crawlAllRecommendCourseImages(restart);
+            log.info(">> 모든 추천 코스에 대한 이미지 데이터 가져오기 및 저장 완료. {}", result);
+            return ResponseEntity.ok(String.format(
+                    "총 %d개의 이미지 데이터가 성공적으로 가져와 저장되었습니다. (courseInfoId %d개 중 완료 건너뜀 %d, 성공 %d, 실패 %d, %dms)",
+                    result.savedImages(), result.totalCourseInfoIds(), result.skipped(), result.fetched(),
+                    result.failed(), result.elapsedMs()));
 
         } catch (Exception e) {
             log.error("!! 이미지 데이터 가져오기 및 저장 중 오류 발생: {}", e.getMessage(), e);
@@ -59,4 +53,4 @@ public class RecommendCourseImageSaveController {
                     .body("이미지 데이터 가져오기 및 저장 실패: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+}
@@ -1,21 +1,28 @@
 package kopo.jeonnam.controller.theme;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kopo.jeonnam.dto.theme.PlanIngestionJobDTO;
 import kopo.jeonnam.dto.theme.RecommendCoursePlanDTO;
-import kopo.jeonnam.repository.mongo.theme.RecommendCourseRepository;
-import kopo.jeonnam.repository.entity.theme.RecommendCourseEntity;
+import kopo.jeonnam.service.theme.IRecommendCoursePlanIngestionService;
 import kopo.jeonnam.service.theme.IRecommendCoursePlanService;
+import kopo.jeonnam.util.JsonStreamUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
 /**
  * 남도 추천 여행 코스 Plan 관련 API 컨트롤러
- * recommend_course 컬렉션의 모든 courseKey별로 외부 API를 호출하여 Plan을 저장합니다
+ * recommend_course 컬렉션의 모든 courseKey별로 외부 API를 호출하여 Plan을 저장합니다 (백그라운드 작업)
  * @author
  * @since 2025-06-07
  */
@@ -24,58 +31,85 @@ import java.util.List;
 public class RecommendCoursePlanController {
 
     private final IRecommendCoursePlanService recommendCoursePlanService;
-    private final RecommendCourseRepository recommendCourseRepository;
+    private final IRecommendCoursePlanIngestionService planIngestionService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${recommendcourse.plan.max-page-size:1000}")
+    private int maxPageSize;
 
     @Autowired
-    public RecommendCoursePlanController(IRecommendCoursePlanService recommendCoursePlanService, RecommendCourseRepository recommendCourseRepository) {
+    public RecommendCoursePlanController(IRecommendCoursePlanService recommendCoursePlanService,
+                                         IRecommendCoursePlanIngestionService planIngestionService,
+                                         ObjectMapper objectMapper) {
         this.recommendCoursePlanService = recommendCoursePlanService;
-        this.recommendCourseRepository = recommendCourseRepository;
+        this.planIngestionService = planIngestionService;
+        this.objectMapper = objectMapper;
     }
 
     /**
-     * recommend_course 컬렉션의 모든 courseKey(_id)별로 외부 API를 호출하여 Plan을 저장
-     * 각 courseKey별 저장 성공/실패 로그를 남깁니다.
-     * @return 전체 저장 결과 메시지
+     * recommend_course 컬렉션의 모든 courseKey별로 외부 API를 호출하여 Plan을 저장하는 작업을 시작합니다.
+     * 수집은 백그라운드에서 API 호출 한도에 맞춰 진행되며, 진행 상황은 /fetch/status 또는 /fetch/jobs/{jobId}로 조회합니다.
+     * @return 202 + 등록된 작업 정보 (이미 진행 중인 작업이 있으면 409)
      */
     @GetMapping("/fetch/all-by-course-key")
-    public ResponseEntity<String> fetchAndSaveAllByCourseKey() {
-        org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(getClass());
-        List<RecommendCourseEntity> courseList = recommendCourseRepository.findAll();
-        int totalSaved = 0;
-
-        for (RecommendCourseEntity course : courseList) {
-            String courseKey = course.getCourseKey();
-            if (courseKey != null && !courseKey.isEmpty()) {
-                try {
-                    int saved = recommendCoursePlanService.fetchAndSaveRecommendCoursePlans(courseKey);
-                    totalSaved += saved;
-                    log.info("[RecommendCoursePlanController] courseKey={} 저장 성공: {}건", courseKey, saved);
-
-                    // ✅ [NEW] Add delay between requests to avoid rate limiting
-                    Thread.sleep(1000); // 0.5초 딜레이 (필요에 따라 1000ms로 조정)
-
-                } catch (Exception e) {
-                    log.error("[RecommendCoursePlanController] courseKey={} 저장 실패: {}", courseKey, e.getMessage(), e);
-                }
-            } else {
-                log.warn("[RecommendCoursePlanController] courseKey가 null 또는 빈 값입니다. course={}", course);
-            }
+    public ResponseEntity<PlanIngestionJobDTO> fetchAndSaveAllByCourseKey() {
+        try {
+            return ResponseEntity.accepted().body(planIngestionService.start());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
+    }
 
-        log.info("[RecommendCoursePlanController] 전체 저장 완료: {}건 (모든 courseKey)", totalSaved);
-        return ResponseEntity.ok("총 " + totalSaved + "건 저장 완료 (모든 courseKey)");
+    /**
+     * 가장 최근 일정 수집 작업의 진행 상황
+     */
+    @GetMapping("/fetch/status")
+    public ResponseEntity<PlanIngestionJobDTO> getLatestFetchJob() {
+        return planIngestionService.getLatestJob()
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     /**
-     * 전체 recommend_course_plan + 이미지 정보를 JSON 형태로 반환
-     * (지도 마커용)
+     * 일정 수집 작업 진행 상황 조회
+     */
+    @GetMapping("/fetch/jobs/{jobId}")
+    public ResponseEntity<PlanIngestionJobDTO> getFetchJob(@PathVariable String jobId) {
+        return planIngestionService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * recommend_course_plan + 이미지 정보를 JSON 형태로 반환
+     * (지도 마커용 - size를 주면 page 단위로, planContents는 includeContents=true일 때만 포함)
      */
     @GetMapping("/all")
-    public ResponseEntity<List<RecommendCoursePlanDTO>> getAllCoursePlansWithImages() {
-        List<RecommendCoursePlanDTO> result = recommendCoursePlanService.getAllPlansWithImages();
+    public ResponseEntity<List<RecommendCoursePlanDTO>> getAllCoursePlansWithImages(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "0") int size,
+            @RequestParam(defaultValue = "false") boolean includeContents) {
+
+        if (page < 0 || size < 0 || size > maxPageSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<RecommendCoursePlanDTO> result = recommendCoursePlanService.getPlansWithImages(page, size, includeContents);
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * 전체 recommend_course_plan + 이미지 스트리밍 조회 (stream=true)
+     * MongoDB 커서에서 읽는 대로 JSON 배열로 내려보내므로 건수와 무관하게 메모리 사용량이 일정합니다.
+     */
+    @GetMapping(value = "/all", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAllCoursePlansWithImages(
+            @RequestParam(defaultValue = "false") boolean includeContents) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(JsonStreamUtil.toJsonArray(objectMapper,
+                        () -> recommendCoursePlanService.streamPlansWithImages(includeContents)));
+    }
+
     /**
      * 단일 recommend_course_plan + 이미지 조회
      * (상세 팝업용)
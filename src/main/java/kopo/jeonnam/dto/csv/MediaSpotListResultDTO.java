@@ -0,0 +1,15 @@
+package kopo.jeonnam.dto.csv;
+
+import kopo.jeonnam.model.MediaSpot;
+
+import java.util.List;
+
+/**
+ * 🎬 포스터 촬영지 목록 조회 결과 + 응답 ETag
+ * 같은 스냅샷에서 만든 목록과 ETag를 함께 반환하여 둘이 어긋나지 않도록 합니다.
+ */
+public record MediaSpotListResultDTO(
+        String eTag,
+        List<MediaSpot> spots
+) {
+}
@@ -0,0 +1,24 @@
+package kopo.jeonnam.dto.gpt;
+
+import lombok.Builder;
+
+/**
+ * 📊 GPT 일정 캐시 적중 통계 DTO
+ */
+@Builder
+public record GptScheduleCacheStatsDTO(
+        long memoryHits,
+        long mongoHits,
+        long misses,
+        long puts,
+        long evictions,      // 용량 초과 / 만료 / 카탈로그 변경으로 제거된 메모리 항목 수
+        int memorySize,
+        boolean mongoEnabled,
+        String catalogFingerprint
+) {
+    public double hitRatio() {
+        long hits = memoryHits + mongoHits;
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,22 @@
+package kopo.jeonnam.dto.gpt;
+
+import lombok.Builder;
+
+/**
+ * 🕒 비동기 GPT 일정 생성 작업 상태 DTO
+ */
+@Builder
+public record GptScheduleJobDTO(
+        String jobId,
+        Status status,
+        String result,       // 완료 시 GPT가 생성한 일정 JSON 문자열
+        String error,        // 실패 시 오류 메시지
+        long createdAt,
+        long finishedAt      // 미완료 시 0
+) {
+    public enum Status { QUEUED, RUNNING, DONE, FAILED }
+
+    public boolean isFinished() {
+        return status == Status.DONE || status == Status.FAILED;
+    }
+}
@@ -0,0 +1,17 @@
+package kopo.jeonnam.dto.gpt;
+
+import lombok.Builder;
+
+/**
+ * 📊 GPT 프롬프트 장소 목록 축소 통계 DTO (누적값)
+ */
+@Builder
+public record PromptCompactionStatsDTO(
+        long requests,
+        long placesBefore,
+        long placesAfter,
+        long tokensBefore,   // 축소 전 장소 목록의 추정 토큰 수 합계
+        long tokensAfter,    // 축소 후 장소 목록의 추정 토큰 수 합계
+        int tokenBudget
+) {
+}
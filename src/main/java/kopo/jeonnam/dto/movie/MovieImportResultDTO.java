@@ -0,0 +1,24 @@
+package kopo.jeonnam.dto.movie;
+
+/**
+ * 🎬 영화 CSV 임포트 결과
+ *
+ * @param read          읽은 데이터 행 수 (헤더 제외)
+ * @param invalid       검증 실패로 건너뛴 행 수 (제목/주소 누락 등)
+ * @param inserted      새로 추가된 영화 수
+ * @param modified      내용이 바뀐 기존 영화 수
+ * @param unchanged     이미 같은 내용으로 있던 영화 수 (CSV 안의 중복 행 포함)
+ * @param batches       실행한 bulkWrite 횟수
+ * @param elapsedMs     소요 시간(ms)
+ * @param rowsPerSecond 처리 속도 (읽은 행 / 초)
+ */
+public record MovieImportResultDTO(
+        long read,
+        long invalid,
+        long inserted,
+        long modified,
+        long unchanged,
+        int batches,
+        long elapsedMs,
+        double rowsPerSecond
+) {}
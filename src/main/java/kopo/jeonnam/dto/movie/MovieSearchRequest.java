@@ -8,6 +8,7 @@ public class MovieSearchRequest {
     private String title;       // 제목으로만 검색
     private String location;    // 장소(location)로만 검색
     private String addr;        // 주소(Addr)로만 검색
-    private String sortBy;      // 정렬 기준 (예: title, _id(최신순))
-    private String sortDirection; // 정렬 방향 (asc, desc)
+    private String sortBy;      // 정렬 기준 (title, location, newest(최신순) 중 하나, 없으면 관련도 순)
+    private String sortDirection; // 정렬 방향 (asc, desc, 없으면 정렬별 기본 방향)
+    private String afterId;     // slice 조회용 keyset 커서 (이전 페이지 마지막 영화 id, sortBy=newest(desc)에서만 사용)
 }
\ No newline at end of file
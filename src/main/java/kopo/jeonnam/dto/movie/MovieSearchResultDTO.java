@@ -0,0 +1,30 @@
+package kopo.jeonnam.dto.movie;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * 관련도 순 영화 검색 결과 (영화 정보 + 점수 + 하이라이트)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieSearchResultDTO {
+    private String id;
+    private String title;
+    private String location;
+    private String posterUrl;
+    private String addr;
+    private double x;
+    private double y;
+
+    private double score;                   // 관련도 (0~1, 제목 > 장소 > 주소 가중치)
+    private Map<String, String> highlights; // 필드명(title/location/addr) → 일치 구간을 <em>으로 감싼 HTML
+
+    public MovieDTO toMovieDTO() {
+        return new MovieDTO(id, title, location, posterUrl, addr, x, y);
+    }
+}
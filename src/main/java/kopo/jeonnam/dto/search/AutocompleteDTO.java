@@ -0,0 +1,16 @@
+package kopo.jeonnam.dto.search;
+
+/**
+ * 🔎 자동완성 항목
+ *
+ * @param type     movie / mediaSpot / place
+ * @param id       항목 id (장소는 "장소명|주소")
+ * @param label    표시 이름 (영화 제목, 촬영지명, 장소명)
+ * @param subLabel 보조 정보 (지역 또는 주소)
+ */
+public record AutocompleteDTO(
+        String type,
+        String id,
+        String label,
+        String subLabel
+) {}
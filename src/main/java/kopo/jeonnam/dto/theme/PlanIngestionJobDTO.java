@@ -0,0 +1,28 @@
+package kopo.jeonnam.dto.theme;
+
+import lombok.Builder;
+
+/**
+ * 🗺 추천 코스 일정(Plan) 일괄 수집 작업 상태 DTO
+ */
+@Builder
+public record PlanIngestionJobDTO(
+        String jobId,
+        Status status,
+        int totalCourses,       // 수집 대상 courseKey 수
+        int completedCourses,   // 처리 완료된 courseKey 수
+        int failedCourses,      // 재시도 후에도 호출 한도 초과로 실패한 courseKey 수
+        int retries,            // 호출 한도 초과로 다시 호출한 횟수
+        int savedPlans,         // 저장/갱신된 일정 수
+        int workers,            // 동시 작업 수
+        double ratePerSecond,   // 초당 호출 한도
+        String error,           // 작업 자체가 실패한 경우 오류 메시지
+        long createdAt,
+        long finishedAt         // 미완료 시 0
+) {
+    public enum Status { QUEUED, RUNNING, DONE, FAILED }
+
+    public boolean isFinished() {
+        return status == Status.DONE || status == Status.FAILED;
+    }
+}
@@ -0,0 +1,22 @@
+package kopo.jeonnam.dto.theme;
+
+/**
+ * 🖼 추천 코스 이미지 일괄 수집 결과
+ *
+ * @param totalCourseInfoIds 전체 코스에서 모은 고유 courseInfoId 수
+ * @param skipped            이전 실행에서 이미 완료(DONE)되어 건너뛴 수
+ * @param fetched            이번 실행에서 조회에 성공한 수
+ * @param failed             조회에 실패한 수 (다음 실행에서 다시 시도)
+ * @param savedImages        새로 추가되거나 내용이 바뀐 이미지 수 (내용이 같은 이미지는 다시 쓰지 않음)
+ * @param deletedImages      API 응답에서 사라져 삭제 표시(soft delete)한 이미지 수
+ * @param elapsedMs          소요 시간(ms)
+ */
+public record RecommendCourseImageCrawlResultDTO(
+        int totalCourseInfoIds,
+        int skipped,
+        int fetched,
+        int failed,
+        int savedImages,
+        long deletedImages,
+        long elapsedMs
+) {}
@@ -0,0 +1,35 @@
+package kopo.jeonnam.repository.entity.api;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * 🎞 TMDB 작품명 → 포스터 URL 캐시
+ * posterUrl이 null이면 "검색했지만 포스터 없음"(네거티브 캐시)이며, 짧은 만료 시간을 가집니다.
+ * expiresAt에 TTL 인덱스(expireAfterSeconds=0)를 걸어 만료된 문서는 MongoDB가 자동 삭제합니다.
+ */
+@Document(collection = "tmdb_poster_cache")
+@Getter
+@NoArgsConstructor
+public class TmdbPosterCacheEntity {
+
+    @Id
+    private String title;      // 정규화된 작품명
+
+    private String posterUrl;  // null이면 포스터 없음
+    private Date createdAt;
+    private Date expiresAt;
+
+    @Builder
+    public TmdbPosterCacheEntity(String title, String posterUrl, Date createdAt, Date expiresAt) {
+        this.title = title;
+        this.posterUrl = posterUrl;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -4,7 +4,9 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.query.Criteria;
 
 @Document(collection = "favorite")
 @Getter
@@ -21,6 +23,7 @@ public class FavoriteEntity {
     private String addr;
     private double x;
     private double y;
+    private GeoJsonPoint position; // GeoJSON Point [경도(x), 위도(y)] - 2dsphere 인덱스 대상
     private String posterUrl;
     private String planPhone;
     private String planHomepage;
@@ -40,10 +43,35 @@ public class FavoriteEntity {
         this.addr = addr; // ✅ assign to field
         this.x = x;
         this.y = y;
+        this.position = toPosition(x, y);
         this.posterUrl = posterUrl;
         this.planPhone = planPhone;
         this.planHomepage = planHomepage;
         this.planParking = planParking;
         this.planContents = planContents;
     }
+
+    /**
+     * 위치로 쓸 수 있는 좌표인지 - 경위도 범위 안이고 (0, 0)(좌표 없음)이 아님
+     * 저장된 문서에서 같은 조건을 찾을 때는 hasValidCoordinates()를 사용합니다.
+     */
+    public static boolean isValidCoordinate(double x, double y) {
+        return !(x == 0 && y == 0) && x >= -180 && x <= 180 && y >= -90 && y <= 90;
+    }
+
+    /**
+     * isValidCoordinate와 같은 조건의 MongoDB 조회 조건 (x, y 필드)
+     */
+    public static Criteria hasValidCoordinates() {
+        return Criteria.where("x").gte(-180).lte(180)
+                .and("y").gte(-90).lte(90)
+                .norOperator(Criteria.where("x").is(0).and("y").is(0));
+    }
+
+    /**
+     * x(경도), y(위도)로 GeoJSON Point 생성 (좌표가 없거나 범위를 벗어나면 null)
+     */
+    public static GeoJsonPoint toPosition(double x, double y) {
+        return isValidCoordinate(x, y) ? new GeoJsonPoint(x, y) : null;
+    }
 }
@@ -0,0 +1,37 @@
+package kopo.jeonnam.repository.entity.gpt;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * 💾 GPT 일정 생성 결과 캐시 (MongoDB 영속 계층)
+ * expiresAt에 TTL 인덱스(expireAfterSeconds=0)를 걸어 만료된 문서는 MongoDB가 자동 삭제합니다.
+ */
+@Document(collection = "gpt_schedule_cache")
+@Getter
+@NoArgsConstructor
+public class GptScheduleCacheEntity {
+
+    @Id
+    private String id; // 정규화된 요청 입력의 SHA-256 캐시 키
+
+    private String catalogFingerprint; // 생성 당시 장소 카탈로그 지문
+    private String schedule;           // 필터링된 일정 JSON
+    private Date createdAt;
+    private Date expiresAt;
+
+    @Builder
+    public GptScheduleCacheEntity(String id, String catalogFingerprint, String schedule,
+                                  Date createdAt, Date expiresAt) {
+        this.id = id;
+        this.catalogFingerprint = catalogFingerprint;
+        this.schedule = schedule;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -1,11 +1,23 @@
 package kopo.jeonnam.repository.entity.movie;
 
+import kopo.jeonnam.util.NgramUtil;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
 @Data
 @Document(collection = "movies")
 public class MovieEntity {
+
+    // 검색용 n-gram 토큰 앞에 붙는 필드 구분자 (제목 / 장소 / 주소)
+    public static final String TITLE_GRAM = "t:";
+    public static final String LOCATION_GRAM = "l:";
+    public static final String ADDR_GRAM = "a:";
+    public static final int GRAM_SIZE = 2;
+
     @Id
     private String id;
 
@@ -15,4 +27,17 @@ public class MovieEntity {
     private String addr;  //
     private double x;          // planLon
     private double y;          // planLat
-}
\ No newline at end of file
+
+    private List<String> searchGrams; // 검색용 글자 bigram 토큰 (예: "t:장흥"), searchGrams 인덱스 사용
+
+    /**
+     * 제목/장소/주소로 검색용 n-gram 토큰 목록을 만듭니다. (필드 구분자 + bigram)
+     */
+    public static List<String> toSearchGrams(String title, String location, String addr) {
+        List<String> grams = new ArrayList<>();
+        NgramUtil.grams(title, GRAM_SIZE).forEach(g -> grams.add(TITLE_GRAM + g));
+        NgramUtil.grams(location, GRAM_SIZE).forEach(g -> grams.add(LOCATION_GRAM + g));
+        NgramUtil.grams(addr, GRAM_SIZE).forEach(g -> grams.add(ADDR_GRAM + g));
+        return grams;
+    }
+}
@@ -8,6 +8,8 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
+import java.util.Date;
+
 @Getter
 @Setter
 @NoArgsConstructor // Lombok의 기본 생성자 자동 생성
@@ -62,6 +64,12 @@ public class RecommendCourseEntity {
     @Field("course_area")
     private String courseArea;
 
+    @Field("content_hash")
+    private String contentHash; // API 원본 필드 해시 (증분 동기화 시 변경 여부 판단)
+
+    @Field("deleted_at")
+    private Date deletedAt; // API 응답에서 사라진 시각 (soft delete, 조회 시 제외)
+
     @Builder // Lombok의 빌더 패턴 자동 생성
     public RecommendCourseEntity(String _id, String planCourseId, String planName, String planArea, String planAddr,
                                  String spotNm, String spotAddr, String courseKey, String courseInfoIds,
@@ -0,0 +1,43 @@
+package kopo.jeonnam.repository.entity.theme;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.util.Date;
+
+/**
+ * 🖼 추천 코스 이미지 수집 체크포인트 (courseInfoId 단위)
+ * 이미지가 저장된 뒤에 DONE으로 기록되므로, 수집이 중간에 끊겨도 다음 실행은 DONE이 아닌 courseInfoId만 다시 받습니다.
+ * 실패 없이 끝난 수집은 체크포인트를 모두 지우므로, DONE은 끝나지 않은 한 번의 수집 동안만 유효합니다.
+ */
+@Document(collection = "recommend_course_image_checkpoint")
+@Getter
+@NoArgsConstructor
+public class RecommendCourseImageCheckpointEntity {
+
+    public static final String STATUS_DONE = "DONE";
+    public static final String STATUS_FAILED = "FAILED";
+
+    @Id
+    private String courseInfoId;
+
+    private String status;       // DONE / FAILED
+
+    @Field("image_count")
+    private int imageCount;      // 저장한 이미지 수
+
+    @Field("updated_at")
+    private Date updatedAt;
+
+    @Builder
+    public RecommendCourseImageCheckpointEntity(String courseInfoId, String status, int imageCount, Date updatedAt) {
+        this.courseInfoId = courseInfoId;
+        this.status = status;
+        this.imageCount = imageCount;
+        this.updatedAt = updatedAt;
+    }
+}
@@ -8,6 +8,8 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
+import java.util.Date;
+
 @Getter
 @Setter
 @NoArgsConstructor
@@ -29,6 +31,12 @@ public class RecommendCourseImageEntity {
     @Field("course_file_path")
     private String courseFilePath; // 이미지 파일 경로 (API 응답에 따라)
 
+    @Field("content_hash")
+    private String contentHash; // API 원본 필드 해시 (증분 동기화 시 변경 여부 판단)
+
+    @Field("deleted_at")
+    private Date deletedAt; // API 응답에서 사라진 시각 (soft delete, 조회 시 제외)
+
     @Builder
     public RecommendCourseImageEntity(String _id, String courseInfoId, String courseFileUrl,
                                       String courseFileNm, String courseFilePath) {
@@ -1,9 +1,12 @@
 package kopo.jeonnam.repository.entity.theme;
 
 import org.springframework.data.annotation.Id; // MongoDB의 _id 필드에 매핑
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint; // GeoJSON Point (2dsphere 인덱스 대상)
 import org.springframework.data.mongodb.core.mapping.Document; // MongoDB 컬렉션 매핑 어노테이션
+import org.springframework.data.mongodb.core.mapping.Field; // 저장 필드명 지정
 
 import java.io.Serializable; // 네트워크 전송 등을 위해 직렬화 가능하도록 마커 인터페이스 구현
+import java.util.Date; // soft delete 시각
 
 import lombok.Getter; // 모든 필드의 Getter 메서드를 자동으로 생성
 import lombok.Setter; // 모든 필드의 Setter 메서드를 자동으로 생성
@@ -43,4 +46,30 @@ public class RecommendCoursePlanEntity implements Serializable {
     private String planHomepage; // 계획 장소 홈페이지 URL
     private String planParking; // 계획 장소 주차 정보
     private String planContents; // 계획 장소 상세 내용
+    private GeoJsonPoint planLocation; // 계획 장소 좌표 [경도, 위도] - 문자열 위경도를 저장 시점에 변환 (2dsphere 인덱스 대상)
+
+    @Field("content_hash")
+    private String contentHash; // API 원본 필드 해시 (증분 동기화 시 변경 여부 판단, 추천 코스/이미지와 같은 필드명)
+
+    @Field("deleted_at")
+    private Date deletedAt; // API 응답에서 사라진 시각 (soft delete, 조회 시 제외)
+
+    /**
+     * 문자열 위도/경도를 GeoJSON Point로 변환합니다. 숫자가 아니거나 범위를 벗어나면 null을 반환합니다.
+     *
+     * @param latitude  위도 문자열
+     * @param longitude 경도 문자열
+     * @return GeoJSON Point 또는 null
+     */
+    public static GeoJsonPoint toLocation(String latitude, String longitude) {
+        if (latitude == null || longitude == null) return null;
+        try {
+            double lat = Double.parseDouble(latitude.trim());
+            double lng = Double.parseDouble(longitude.trim());
+            if ((lat == 0 && lng == 0) || lat < -90 || lat > 90 || lng < -180 || lng > 180) return null;
+            return new GeoJsonPoint(lng, lat);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
 }
\ No newline at end of file
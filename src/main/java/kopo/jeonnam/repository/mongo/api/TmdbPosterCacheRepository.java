@@ -0,0 +1,7 @@
+package kopo.jeonnam.repository.mongo.api;
+
+import kopo.jeonnam.repository.entity.api.TmdbPosterCacheEntity;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface TmdbPosterCacheRepository extends MongoRepository<TmdbPosterCacheEntity, String> {
+}
@@ -3,9 +3,11 @@ package kopo.jeonnam.repository.mongo.csv;
 import kopo.jeonnam.model.MediaSpot;
 import org.bson.types.ObjectId;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * 🗃 MediaSpot MongoDB CRUD 인터페이스
@@ -18,4 +20,16 @@ public interface MediaSpotRepository extends MongoRepository<MediaSpot, ObjectId
 
     // 촬영지 이름으로 검색 (예: 허준)
     List<MediaSpot> findBySpotNmContainingIgnoreCase(String spotNm);
+
+    // 포스터가 있는 촬영지만 목록 화면에 필요한 필드로 조회
+    @Query(value = "{ 'posterUrl': { $ne: null } }", fields = "{ 'spotNm': 1, 'spotArea': 1, 'posterUrl': 1 }")
+    List<MediaSpot> findAllWithPoster();
+
+    // findAllWithPoster의 커서 기반 스트림 버전 (사용 후 반드시 close)
+    @Query(value = "{ 'posterUrl': { $ne: null } }", fields = "{ 'spotNm': 1, 'spotArea': 1, 'posterUrl': 1 }")
+    Stream<MediaSpot> streamAllWithPoster();
+
+    // 전체 촬영지를 커서로 한 건씩 조회 (사용 후 반드시 close)
+    @Query("{}")
+    Stream<MediaSpot> streamAll();
 }
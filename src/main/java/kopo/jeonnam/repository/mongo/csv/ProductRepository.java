@@ -3,9 +3,11 @@ package kopo.jeonnam.repository.mongo.csv;
 import kopo.jeonnam.model.Product;
 import org.bson.types.ObjectId;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * 📚 Product 도메인을 위한 MongoDB 레포지토리
@@ -15,4 +17,10 @@ public interface ProductRepository extends MongoRepository<Product, ObjectId> {
     // 기본 CRUD 제공
 
     List<Product> findByProAreaContainingIgnoreCaseAndProNameContainingIgnoreCase(String area, String name);
+
+    // 아래 두 메서드는 커서 기반 스트림 버전 (사용 후 반드시 close)
+    @Query("{}")
+    Stream<Product> streamAll();
+
+    Stream<Product> streamByProAreaContainingIgnoreCaseAndProNameContainingIgnoreCase(String area, String name);
 }
@@ -0,0 +1,14 @@
+package kopo.jeonnam.repository.mongo.favorite;
+
+import kopo.jeonnam.repository.entity.favorite.FavoriteEntity;
+
+import java.util.List;
+
+public interface FavoriteCustomRepository {
+
+    // 반경(m) 안의 찜 목록 - 가까운 순
+    List<FavoriteEntity> findWithinRadius(String userId, double lat, double lng, double radiusMeters);
+
+    // 가장 가까운 k개의 찜 목록 - 가까운 순
+    List<FavoriteEntity> findNearest(String userId, double lat, double lng, int k);
+}
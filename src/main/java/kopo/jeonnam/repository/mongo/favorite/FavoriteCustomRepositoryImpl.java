@@ -0,0 +1,52 @@
+package kopo.jeonnam.repository.mongo.favorite;
+
+import kopo.jeonnam.repository.entity.favorite.FavoriteEntity;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 찜 위치 기반 조회 - position 필드의 (userId, position 2dsphere) 복합 인덱스를 사용하는 $geoNear 집계
+ */
+@Repository
+@RequiredArgsConstructor
+public class FavoriteCustomRepositoryImpl implements FavoriteCustomRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<FavoriteEntity> findWithinRadius(String userId, double lat, double lng, double radiusMeters) {
+        Document geoNear = geoNearStage(userId, lat, lng).append("maxDistance", radiusMeters);
+        return aggregate(Aggregation.newAggregation(stage(geoNear)));
+    }
+
+    @Override
+    public List<FavoriteEntity> findNearest(String userId, double lat, double lng, int k) {
+        Document geoNear = geoNearStage(userId, lat, lng);
+        return aggregate(Aggregation.newAggregation(stage(geoNear), Aggregation.limit(k)));
+    }
+
+    /**
+     * $geoNear 단계 (GeoJSON 좌표이므로 거리 단위는 m, 결과는 가까운 순으로 정렬됨)
+     */
+    private Document geoNearStage(String userId, double lat, double lng) {
+        return new Document("near", new Document("type", "Point").append("coordinates", List.of(lng, lat)))
+                .append("key", "position")
+                .append("distanceField", "distance")
+                .append("spherical", true)
+                .append("query", new Document("userId", userId));
+    }
+
+    private AggregationOperation stage(Document geoNear) {
+        return context -> new Document("$geoNear", geoNear);
+    }
+
+    private List<FavoriteEntity> aggregate(Aggregation aggregation) {
+        return mongoTemplate.aggregate(aggregation, FavoriteEntity.class, FavoriteEntity.class).getMappedResults();
+    }
+}
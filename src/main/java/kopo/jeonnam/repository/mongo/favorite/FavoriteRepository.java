@@ -7,7 +7,7 @@ import org.springframework.data.mongodb.repository.Query;
 import java.util.List;
 import java.util.Optional;
 
-public interface FavoriteRepository extends MongoRepository<FavoriteEntity, String> {
+public interface FavoriteRepository extends MongoRepository<FavoriteEntity, String>, FavoriteCustomRepository {
     List<FavoriteEntity> findByUserId(String userId);
     List<FavoriteEntity> findByUserIdAndType(String userId, String type);
     // ✅ 수정된 부분: location → addr
@@ -15,6 +15,7 @@ public interface FavoriteRepository extends MongoRepository<FavoriteEntity, Stri
     Optional<FavoriteEntity> findByUserIdAndTypeAndNameAndAddr(String userId, String type, String name, String addr);
     Optional<FavoriteEntity> findByTypeAndNameAndAddrAndUserId(String type, String name, String addr, String userId);
 
+    // (userId, y, x) 복합 인덱스 사용 - 반경/최근접 조회는 FavoriteCustomRepository의 $geoNear 사용
     @Query("{ 'userId': ?0, 'y': { $gte: ?1, $lte: ?2 }, 'x': { $gte: ?3, $lte: ?4 } }")
     List<FavoriteEntity> findNearby(String userId, double latMin, double latMax, double lngMin, double lngMax);
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package kopo.jeonnam.repository.mongo.gpt;
+
+import kopo.jeonnam.repository.entity.gpt.GptScheduleCacheEntity;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface GptScheduleCacheRepository extends MongoRepository<GptScheduleCacheEntity, String> {
+    // 장소 카탈로그가 바뀌면 이전 지문으로 만든 캐시를 한 번에 정리
+    long deleteByCatalogFingerprintNot(String catalogFingerprint);
+}
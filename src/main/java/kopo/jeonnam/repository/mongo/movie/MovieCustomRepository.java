@@ -0,0 +1,45 @@
+package kopo.jeonnam.repository.mongo.movie;
+
+import kopo.jeonnam.dto.movie.MovieSearchResultDTO;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 영화 검색 전용 조회 - sort에는 {@link MovieSortOption#toSort}로 만든 (인덱스가 있는) 정렬만 넘깁니다.
+ */
+public interface MovieCustomRepository {
+
+    /**
+     * n-gram 검색 조건
+     *
+     * @param keyword       통합 검색어의 bigram (제목/장소/주소 중 한 필드에서 minMatchRatio 이상 일치)
+     * @param title         제목 bigram (모두 일치해야 함, 아래 두 필드와 AND)
+     * @param location      장소 bigram
+     * @param addr          주소 bigram
+     * @param minMatchRatio 통합 검색 시 필요한 최소 일치 비율 (0~1)
+     */
+    record GramQuery(Set<String> keyword, Set<String> title, Set<String> location, Set<String> addr,
+                     double minMatchRatio) {
+    }
+
+    /**
+     * 한 페이지 결과 + 조건에 맞는 전체 개수
+     */
+    record SearchPage(List<MovieSearchResultDTO> content, long total) {
+    }
+
+    // n-gram 검색 - $facet 한 번으로 페이지와 전체 개수를 함께 조회, sort가 없으면 관련도 순
+    SearchPage searchByGrams(GramQuery query, Sort sort, long skip, int limit);
+
+    // 정규식 등 일반 조건 검색 - $facet 한 번으로 페이지와 전체 개수를 함께 조회 (criteria가 null이면 전체)
+    SearchPage searchByCriteria(Criteria criteria, Sort sort, long skip, int limit);
+
+    // n-gram 검색 slice - 전체 개수 없이 limit개만 조회, afterId가 있으면 그 다음부터 (keyset, sort는 NEWEST desc여야 함)
+    List<MovieSearchResultDTO> sliceByGrams(GramQuery query, Sort sort, long skip, int limit, String afterId);
+
+    // 일반 조건 검색 slice - 전체 개수 없이 limit개만 조회, afterId가 있으면 그 다음부터 (keyset, sort는 NEWEST desc여야 함)
+    List<MovieSearchResultDTO> sliceByCriteria(Criteria criteria, Sort sort, long skip, int limit, String afterId);
+}
@@ -0,0 +1,260 @@
+package kopo.jeonnam.repository.mongo.movie;
+
+import jakarta.annotation.PostConstruct;
+import kopo.jeonnam.dto.movie.MovieSearchResultDTO;
+import kopo.jeonnam.repository.entity.movie.MovieEntity;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 저장 시점에 만든 searchGrams(필드 구분자 + 글자 bigram)와 그 인덱스로 영화를 검색합니다.
+ * 후보는 인덱스($in/$all)로 고르고, 필드별 일치 개수로 관련도를 계산합니다. (제목 3 : 장소 2 : 주소 1)
+ * 페이지 조회는 $facet으로 전체 개수와 함께 한 번에, slice 조회는 개수 없이 (필요하면 _id keyset으로) 수행합니다.
+ * 지정 정렬은 MovieSortOption의 인덱스 정렬만 받으며, 후보 $match 바로 뒤에 두고 그 인덱스를 hint로 지정합니다.
+ * (정렬별 실행 계획은 MovieCustomRepositoryImplExplainTest에서 확인)
+ */
+@Repository
+@RequiredArgsConstructor
+public class MovieCustomRepositoryImpl implements MovieCustomRepository {
+
+    private static final String COLLECTION = "movies";
+    private static final int TITLE_WEIGHT = 3;
+    private static final int LOCATION_WEIGHT = 2;
+    private static final int ADDR_WEIGHT = 1;
+
+    private static final Sort KEYSET_SORT = MovieSortOption.NEWEST.toSort(Sort.Direction.DESC);
+
+    private final MongoTemplate mongoTemplate;
+
+    @PostConstruct
+    public void ensureSortIndexes() {
+        // 자동 인덱스 생성이 꺼져 있으므로 허용된 정렬(MovieSortOption)마다 받치는 인덱스를 직접 보장
+        for (MovieSortOption option : MovieSortOption.values()) {
+            Index index = option.toIndex();
+            if (index != null) {
+                mongoTemplate.indexOps(MovieEntity.class).ensureIndex(index);
+            }
+        }
+    }
+
+    @Override
+    public SearchPage searchByGrams(GramQuery query, Sort sort, long skip, int limit) {
+        return facetPage(gramPageAggregation(query, sort, skip, limit));
+    }
+
+    @Override
+    public SearchPage searchByCriteria(Criteria criteria, Sort sort, long skip, int limit) {
+        return facetPage(criteriaPageAggregation(criteria, sort, skip, limit));
+    }
+
+    @Override
+    public List<MovieSearchResultDTO> sliceByGrams(GramQuery query, Sort sort, long skip, int limit, String afterId) {
+        return slice(gramSliceAggregation(query, sort, skip, limit, afterId));
+    }
+
+    @Override
+    public List<MovieSearchResultDTO> sliceByCriteria(Criteria criteria, Sort sort, long skip, int limit, String afterId) {
+        return slice(criteriaSliceAggregation(criteria, sort, skip, limit, afterId));
+    }
+
+    // ───── 조회 파이프라인 (실행 계획 테스트에서도 같은 파이프라인을 explain) ─────
+
+    Aggregation gramPageAggregation(GramQuery query, Sort sort, long skip, int limit) {
+        return facetAggregation(gramStages(query, sort, null), sort, skip, limit);
+    }
+
+    Aggregation criteriaPageAggregation(Criteria criteria, Sort sort, long skip, int limit) {
+        Sort effective = orNewest(sort);
+        return facetAggregation(criteriaStages(criteria, effective, null), effective, skip, limit);
+    }
+
+    Aggregation gramSliceAggregation(GramQuery query, Sort sort, long skip, int limit, String afterId) {
+        if (afterId != null) {
+            requireKeysetSort(sort);
+            return sliceAggregation(gramStages(query, KEYSET_SORT, keyset(afterId)), KEYSET_SORT, 0, limit);
+        }
+        return sliceAggregation(gramStages(query, sort, null), sort, skip, limit);
+    }
+
+    Aggregation criteriaSliceAggregation(Criteria criteria, Sort sort, long skip, int limit, String afterId) {
+        if (afterId != null) {
+            requireKeysetSort(sort);
+            return sliceAggregation(criteriaStages(criteria, KEYSET_SORT, keyset(afterId)), KEYSET_SORT, 0, limit);
+        }
+        Sort effective = orNewest(sort);
+        return sliceAggregation(criteriaStages(criteria, effective, null), effective, skip, limit);
+    }
+
+    // 일반 조건은 관련도가 모두 같으므로(0) 정렬이 없으면 _id 인덱스로 최신순 (점수 정렬은 메모리 정렬이 됨)
+    private Sort orNewest(Sort sort) {
+        return sort == null || sort.isUnsorted() ? KEYSET_SORT : sort;
+    }
+
+    // 첫 페이지를 다른 정렬(관련도 등)로 받았다면 _id keyset으로 이어 받을 때 결과가 빠지거나 겹치므로 거부
+    private void requireKeysetSort(Sort sort) {
+        if (!KEYSET_SORT.equals(sort)) {
+            throw new IllegalArgumentException("afterId(keyset)는 최신순(_id 내림차순) 정렬에서만 사용할 수 있습니다: " + sort);
+        }
+    }
+
+    /**
+     * 조건 단계 뒤에 $facet을 붙여 페이지(content)와 전체 개수(total)를 한 번에 조회합니다.
+     * 같은 조건으로 count와 find를 따로 실행하지 않으므로 조건 평가가 한 번만 일어납니다.
+     */
+    private Aggregation facetAggregation(List<AggregationOperation> stages, Sort sort, long skip, int limit) {
+        List<AggregationOperation> page = pageStages(sort, skip, limit);
+        stages.add(context -> new Document("$facet", new Document()
+                .append("content", page.stream().map(op -> op.toDocument(context)).toList())
+                .append("total", List.of(new Document("$count", "total")))));
+        return withSortHint(Aggregation.newAggregation(stages), sort);
+    }
+
+    private SearchPage facetPage(Aggregation aggregation) {
+        Document result = mongoTemplate.aggregate(aggregation, COLLECTION, Document.class).getUniqueMappedResult();
+        if (result == null) return new SearchPage(List.of(), 0);
+
+        List<MovieSearchResultDTO> content = result.getList("content", Document.class).stream()
+                .map(doc -> mongoTemplate.getConverter().read(MovieSearchResultDTO.class, doc))
+                .toList();
+        List<Document> total = result.getList("total", Document.class);
+        return new SearchPage(content, total.isEmpty() ? 0 : ((Number) total.get(0).get("total")).longValue());
+    }
+
+    /**
+     * 전체 개수 없이 한 페이지만 조회합니다.
+     */
+    private Aggregation sliceAggregation(List<AggregationOperation> stages, Sort sort, long skip, int limit) {
+        stages.addAll(pageStages(sort, skip, limit));
+        return withSortHint(Aggregation.newAggregation(stages), sort);
+    }
+
+    private List<MovieSearchResultDTO> slice(Aggregation aggregation) {
+        return mongoTemplate.aggregate(aggregation, COLLECTION, MovieSearchResultDTO.class).getMappedResults();
+    }
+
+    /**
+     * 지정 정렬이 있으면 그 정렬의 인덱스를 hint로 고정합니다.
+     * searchGrams 조건이 있으면 플래너가 searchGrams 인덱스 + 메모리 정렬을 고를 수 있으므로,
+     * 정렬 인덱스를 순서대로 읽으며 조건을 거르게 하여 결과가 많아도 메모리 정렬 한도에 걸리지 않도록 합니다.
+     * (MovieSortOption의 인덱스는 모두 오름차순이라 내림차순 정렬은 같은 인덱스를 역방향으로 읽음)
+     */
+    private Aggregation withSortHint(Aggregation aggregation, Sort sort) {
+        if (sort == null || sort.isUnsorted()) return aggregation;
+        Document keys = new Document();
+        sort.forEach(order -> keys.append(order.getProperty(), 1));
+        return aggregation.withOptions(AggregationOptions.builder().hint(keys).build());
+    }
+
+    // keyset 조건 - afterId보다 먼저 저장된(_id가 작은) 문서
+    private Criteria keyset(String afterId) {
+        return Criteria.where("_id").lt(ObjectId.isValid(afterId) ? new ObjectId(afterId) : afterId);
+    }
+
+    /**
+     * 정렬이 없을 때의 관련도 정렬 + skip/limit + 검색용 필드 제외
+     * (지정한 정렬은 인덱스를 쓸 수 있도록 후보 $match 바로 뒤에 이미 들어가 있음)
+     */
+    private List<AggregationOperation> pageStages(Sort sort, long skip, int limit) {
+        List<AggregationOperation> stages = new ArrayList<>();
+        if (sort == null || sort.isUnsorted()) {
+            stages.add(context -> new Document("$sort", new Document("score", -1).append("_id", -1)));
+        }
+        if (skip > 0) stages.add(Aggregation.skip(skip));
+        if (limit > 0) stages.add(Aggregation.limit(limit));
+        stages.add(context -> new Document("$project", new Document("searchGrams", 0)
+                .append("tHits", 0).append("lHits", 0).append("aHits", 0)));
+        return stages;
+    }
+
+    /**
+     * 후보 $match (+ keyset 조건) 바로 뒤에 지정한 정렬을 둡니다.
+     * $addFields 등 다른 단계보다 앞에 있어야 MongoDB가 정렬 인덱스를 사용할 수 있습니다. (메모리 정렬 방지)
+     */
+    private List<AggregationOperation> candidateStages(Criteria candidate, Sort sort, Criteria keyset) {
+        List<AggregationOperation> stages = new ArrayList<>();
+        if (candidate != null && keyset != null) {
+            stages.add(Aggregation.match(new Criteria().andOperator(candidate, keyset)));
+        } else if (candidate != null || keyset != null) {
+            stages.add(Aggregation.match(candidate != null ? candidate : keyset));
+        }
+        if (sort != null && sort.isSorted()) {
+            stages.add(Aggregation.sort(sort));
+        }
+        return stages;
+    }
+
+    /**
+     * 일반 조건 단계 (관련도는 모두 0)
+     */
+    private List<AggregationOperation> criteriaStages(Criteria criteria, Sort sort, Criteria keyset) {
+        List<AggregationOperation> stages = candidateStages(criteria, sort, keyset);
+        stages.add(context -> new Document("$addFields", new Document("score", 0.0)));
+        return stages;
+    }
+
+    /**
+     * 후보 선택($match) + 관련도 계산($addFields) 단계
+     */
+    private List<AggregationOperation> gramStages(GramQuery query, Sort sort, Criteria keyset) {
+        if (!query.keyword().isEmpty()) {
+            // 통합 검색: 어느 필드든 bigram이 하나라도 있는 문서가 후보
+            List<String> anyField = new ArrayList<>();
+            anyField.addAll(prefixed(MovieEntity.TITLE_GRAM, query.keyword()));
+            anyField.addAll(prefixed(MovieEntity.LOCATION_GRAM, query.keyword()));
+            anyField.addAll(prefixed(MovieEntity.ADDR_GRAM, query.keyword()));
+            List<AggregationOperation> stages = candidateStages(Criteria.where("searchGrams").in(anyField), sort, keyset);
+
+            stages.add(context -> new Document("$addFields", new Document()
+                    .append("tHits", hits(MovieEntity.TITLE_GRAM, query.keyword()))
+                    .append("lHits", hits(MovieEntity.LOCATION_GRAM, query.keyword()))
+                    .append("aHits", hits(MovieEntity.ADDR_GRAM, query.keyword()))));
+
+            // 한 필드 안에서 검색어 bigram을 충분히 포함해야 결과로 인정
+            int minHits = Math.max(1, (int) Math.ceil(query.keyword().size() * query.minMatchRatio()));
+            stages.add(context -> new Document("$match", new Document("$expr", new Document("$gte", List.of(
+                    new Document("$max", List.of("$tHits", "$lHits", "$aHits")), minHits)))));
+
+            int maxScore = (TITLE_WEIGHT + LOCATION_WEIGHT + ADDR_WEIGHT) * query.keyword().size();
+            stages.add(context -> new Document("$addFields", new Document("score", new Document("$divide", List.of(
+                    new Document("$add", List.of(
+                            new Document("$multiply", List.of(TITLE_WEIGHT, "$tHits")),
+                            new Document("$multiply", List.of(LOCATION_WEIGHT, "$lHits")),
+                            new Document("$multiply", List.of(ADDR_WEIGHT, "$aHits")))),
+                    maxScore)))));
+            return stages;
+        }
+
+        // 필드별 검색: 지정한 필드의 bigram이 모두 있어야 함 (AND)
+        List<String> allFields = new ArrayList<>();
+        allFields.addAll(prefixed(MovieEntity.TITLE_GRAM, query.title()));
+        allFields.addAll(prefixed(MovieEntity.LOCATION_GRAM, query.location()));
+        allFields.addAll(prefixed(MovieEntity.ADDR_GRAM, query.addr()));
+        List<AggregationOperation> stages = candidateStages(
+                allFields.isEmpty() ? null : Criteria.where("searchGrams").all(allFields), sort, keyset);
+        stages.add(context -> new Document("$addFields", new Document("score", 1.0)));
+        return stages;
+    }
+
+    private Document hits(String prefix, Set<String> grams) {
+        return new Document("$size", new Document("$setIntersection", List.of(
+                new Document("$ifNull", List.of("$searchGrams", List.of())),
+                prefixed(prefix, grams))));
+    }
+
+    private List<String> prefixed(String prefix, Set<String> grams) {
+        return grams.stream().map(g -> prefix + g).toList();
+    }
+}
@@ -10,7 +10,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface MovieRepository extends MongoRepository<MovieEntity, String> {
+public interface MovieRepository extends MongoRepository<MovieEntity, String>, MovieCustomRepository {
     List<MovieEntity> findAll();
 
     // ID로 특정 영화를 조회 (Optional을 사용하여 null 처리 용이)
@@ -0,0 +1,63 @@
+package kopo.jeonnam.repository.mongo.movie;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 🔃 영화 검색에서 허용하는 정렬 목록
+ * 클라이언트가 보낸 필드명을 그대로 Sort.by에 넣으면 인덱스 없는 메모리 정렬이 되어
+ * 결과가 많을 때 MongoDB 정렬 메모리 한도(100MB)에 걸릴 수 있으므로, 인덱스가 있는 정렬만 허용합니다.
+ * 각 정렬은 _id를 마지막 키로 두어 같은 값끼리도 페이지 순서가 고정되고, 인덱스는 시작 시점에 생성됩니다.
+ */
+public enum MovieSortOption {
+    TITLE(Sort.Direction.ASC, List.of("title", "_id"), "title_1__id_1"),
+    LOCATION(Sort.Direction.ASC, List.of("location", "_id"), "location_1__id_1"),
+    NEWEST(Sort.Direction.DESC, List.of("_id"), null, "_id"); // 기본 _id 인덱스 사용
+
+    private final Sort.Direction defaultDirection;
+    private final List<String> fields;
+    private final String indexName;     // null이면 별도 인덱스 불필요
+    private final List<String> aliases; // 기존 클라이언트 호환용 이름
+
+    MovieSortOption(Sort.Direction defaultDirection, List<String> fields, String indexName, String... aliases) {
+        this.defaultDirection = defaultDirection;
+        this.fields = fields;
+        this.indexName = indexName;
+        this.aliases = List.of(aliases);
+    }
+
+    /**
+     * sortBy 값으로 정렬 옵션 조회 (대소문자 무시, 예: "title", "location", "newest")
+     *
+     * @throws IllegalArgumentException 허용하지 않는 정렬인 경우
+     */
+    public static MovieSortOption from(String sortBy) {
+        String key = sortBy.trim().toLowerCase(Locale.ROOT);
+        return Arrays.stream(values())
+                .filter(option -> option.name().toLowerCase(Locale.ROOT).equals(key) || option.aliases.contains(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "지원하지 않는 정렬입니다: " + sortBy + " (허용: title, location, newest)"));
+    }
+
+    /**
+     * 정렬 방향을 적용한 Sort (방향이 없으면 옵션별 기본 방향, 모든 키에 같은 방향을 적용해 인덱스를 정방향/역방향으로 사용)
+     */
+    public Sort toSort(Sort.Direction direction) {
+        return Sort.by(direction != null ? direction : defaultDirection, fields.toArray(new String[0]));
+    }
+
+    /**
+     * 이 정렬을 받치는 인덱스 정의 (기본 _id 인덱스를 쓰는 경우 null)
+     */
+    public Index toIndex() {
+        if (indexName == null) return null;
+        Index index = new Index().named(indexName);
+        fields.forEach(field -> index.on(field, Sort.Direction.ASC));
+        return index;
+    }
+}
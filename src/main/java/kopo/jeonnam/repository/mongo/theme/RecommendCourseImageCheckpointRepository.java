@@ -0,0 +1,12 @@
+package kopo.jeonnam.repository.mongo.theme;
+
+import kopo.jeonnam.repository.entity.theme.RecommendCourseImageCheckpointEntity;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RecommendCourseImageCheckpointRepository extends MongoRepository<RecommendCourseImageCheckpointEntity, String> {
+    List<RecommendCourseImageCheckpointEntity> findByStatus(String status);
+}
@@ -9,4 +9,11 @@ import java.util.List;
 @Repository
 public interface RecommendCourseImageRepository extends MongoRepository<RecommendCourseImageEntity, String> {
     List<RecommendCourseImageEntity> findByCourseInfoId(String courseInfoId);
+
+    // soft delete된(deleted_at이 있는) 이미지 제외
+    List<RecommendCourseImageEntity> findByCourseInfoIdAndDeletedAtIsNull(String courseInfoId);
+
+    List<RecommendCourseImageEntity> findByDeletedAtIsNull();
+
+    boolean existsByDeletedAtIsNull();
 }
\ No newline at end of file
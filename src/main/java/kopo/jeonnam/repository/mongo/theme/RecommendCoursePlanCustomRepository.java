@@ -3,10 +3,22 @@ package kopo.jeonnam.repository.mongo.theme;
 import kopo.jeonnam.dto.theme.RecommendCoursePlanDTO;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface RecommendCoursePlanCustomRepository {
-    // AFTER ✅
-    List<RecommendCoursePlanDTO> findNearbyPlansWithStringCoordinates(
-            double latMin, double latMax, double lngMin, double lngMax
+
+    // 위경도 범위 안의 장소 ($geoWithin, planLocation 2dsphere 인덱스), limit <= 0 이면 제한 없음
+    List<RecommendCoursePlanDTO> findPlansInBox(
+            double latMin, double latMax, double lngMin, double lngMax, int limit
     );
-}
\ No newline at end of file
+
+    // 장소 목록 + 이미지 URL ($lookup 한 번), _id 순 skip/limit 페이지 (limit <= 0 이면 제한 없음)
+    // includeContents가 false이면 용량이 큰 planContents는 내려주지 않음
+    List<RecommendCoursePlanDTO> findPlansWithImages(int skip, int limit, boolean includeContents);
+
+    // findPlansWithImages와 같은 결과를 커서로 한 건씩 읽는 스트림 (사용 후 반드시 close)
+    Stream<RecommendCoursePlanDTO> streamPlansWithImages(boolean includeContents);
+
+    // 기준 좌표 반경(m) 안의 장소 - 가까운 순 ($geoNear), limit <= 0 이면 제한 없음
+    List<RecommendCoursePlanDTO> findPlansNear(double lat, double lng, double radiusMeters, int limit);
+}
@@ -1,52 +1,144 @@
 package kopo.jeonnam.repository.mongo.theme;
 
+import jakarta.annotation.PostConstruct;
 import kopo.jeonnam.dto.theme.RecommendCoursePlanDTO;
+import kopo.jeonnam.repository.entity.theme.RecommendCourseImageEntity;
 import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.geo.Point;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.aggregation.Aggregation;
-import org.springframework.data.mongodb.core.aggregation.AggregationResults;
-import org.springframework.data.mongodb.core.aggregation.MatchOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.ProjectionOperation;
+import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
+import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Stream;
 
+/**
+ * 저장 시점에 만든 planLocation(GeoJSON Point)과 2dsphere 인덱스로 위치 기반 조회를 수행합니다.
+ * 위경도는 문자열 필드 대신 planLocation.coordinates([경도, 위도])에서 숫자로 꺼내 DTO에 담습니다.
+ * 증분 동기화로 삭제 표시(deleted_at)된 일정과 이미지는 모든 조회에서 제외합니다.
+ */
 @Repository
 @RequiredArgsConstructor
 public class RecommendCoursePlanCustomRepositoryImpl implements RecommendCoursePlanCustomRepository {
 
+    private static final String COLLECTION = "recommend_course_plan";
+    private static final String IMAGE_COLLECTION = "recommend_course_image";
+    private static final String DELETED_FIELD = "deleted_at";
+
     private final MongoTemplate mongoTemplate;
 
+    @PostConstruct
+    public void ensureIndexes() {
+        // 자동 인덱스 생성이 꺼져 있으므로 $lookup 대상 필드(course_info_id) 인덱스를 직접 보장
+        mongoTemplate.indexOps(RecommendCourseImageEntity.class)
+                .ensureIndex(new Index().on("course_info_id", Sort.Direction.ASC).named("course_info_id_1"));
+    }
+
     @Override
-    public List<RecommendCoursePlanDTO> findNearbyPlansWithStringCoordinates(
-            double latMin, double latMax, double lngMin, double lngMax) {
-
-        MatchOperation match = Aggregation.match(new Criteria().andOperator(
-                Criteria.where("planLatitude").ne(null),
-                Criteria.where("planLongitude").ne(null)
-        ));
-
-        Aggregation aggregation = Aggregation.newAggregation(
-                match,
-                Aggregation.project()
-                        .andExpression("toDouble(planLatitude)").as("planLatitude")
-                        .andExpression("toDouble(planLongitude)").as("planLongitude")
-                        .andInclude(
-                                "planInfoId", "planName", "planArea", "planAddr", "planPhone",
-                                "planHomepage", "planParking", "planContents"
-                        ),
-                Aggregation.match(new Criteria().andOperator(
-                        Criteria.where("planLatitude").gte(latMin).lte(latMax),
-                        Criteria.where("planLongitude").gte(lngMin).lte(lngMax)
-                ))
-        );
+    public List<RecommendCoursePlanDTO> findPlansWithImages(int skip, int limit, boolean includeContents) {
+        return mongoTemplate.aggregate(plansWithImages(skip, limit, includeContents), COLLECTION, RecommendCoursePlanDTO.class)
+                .getMappedResults();
+    }
+
+    @Override
+    public Stream<RecommendCoursePlanDTO> streamPlansWithImages(boolean includeContents) {
+        return mongoTemplate.aggregateStream(plansWithImages(0, 0, includeContents), COLLECTION, RecommendCoursePlanDTO.class);
+    }
+
+    private Aggregation plansWithImages(int skip, int limit, boolean includeContents) {
+        List<AggregationOperation> stages = new ArrayList<>();
+        stages.add(Aggregation.match(notDeleted()));
+        stages.add(Aggregation.sort(Sort.Direction.ASC, "_id")); // 페이지 간 순서 고정
+        if (skip > 0) stages.add(Aggregation.skip((long) skip));
+        if (limit > 0) stages.add(Aggregation.limit(limit));
+        // 장소별 이미지를 한 번의 $lookup으로 함께 조회 (course_info_id 인덱스 사용)
+        stages.add(Aggregation.lookup(IMAGE_COLLECTION, "_id", "course_info_id", "images"));
+        stages.add(context -> new Document("$addFields", new Document("images", new Document("$filter", new Document()
+                .append("input", "$images")
+                .append("cond", new Document("$eq", Arrays.asList(
+                        new Document("$ifNull", Arrays.asList("$$this." + DELETED_FIELD, null)), null)))))));
+
+        ProjectionOperation projection = Aggregation.project(
+                        "planName", "planArea", "planAddr", "planPhone", "planHomepage", "planParking"
+                )
+                .and("_id").as("planInfoId")
+                .and(coordinateOrZero(1)).as("planLatitude")
+                .and(coordinateOrZero(0)).as("planLongitude")
+                .and("images.course_file_url").as("imageUrls");
+        if (includeContents) {
+            projection = projection.andInclude("planContents");
+        }
+        stages.add(projection);
+        return Aggregation.newAggregation(stages);
+    }
+
+    @Override
+    public List<RecommendCoursePlanDTO> findPlansInBox(
+            double latMin, double latMax, double lngMin, double lngMax, int limit) {
 
-        AggregationResults<RecommendCoursePlanDTO> results = mongoTemplate.aggregate(
-                aggregation,
-                "recommend_course_plan",
-                RecommendCoursePlanDTO.class
+        GeoJsonPolygon box = new GeoJsonPolygon(
+                new Point(lngMin, latMin),
+                new Point(lngMax, latMin),
+                new Point(lngMax, latMax),
+                new Point(lngMin, latMax),
+                new Point(lngMin, latMin)
         );
 
-        return results.getMappedResults();
+        List<AggregationOperation> stages = new ArrayList<>();
+        stages.add(Aggregation.match(Criteria.where("planLocation").within(box).and(DELETED_FIELD).is(null)));
+        if (limit > 0) stages.add(Aggregation.limit(limit));
+        stages.add(dtoProjection());
+
+        return mongoTemplate.aggregate(Aggregation.newAggregation(stages), COLLECTION, RecommendCoursePlanDTO.class)
+                .getMappedResults();
+    }
+
+    @Override
+    public List<RecommendCoursePlanDTO> findPlansNear(double lat, double lng, double radiusMeters, int limit) {
+        Document geoNear = new Document("near", new Document("type", "Point").append("coordinates", List.of(lng, lat)))
+                .append("key", "planLocation")
+                .append("query", new Document(DELETED_FIELD, null))
+                .append("distanceField", "distance")
+                .append("maxDistance", radiusMeters)
+                .append("spherical", true);
+
+        List<AggregationOperation> stages = new ArrayList<>();
+        stages.add(context -> new Document("$geoNear", geoNear));
+        if (limit > 0) stages.add(Aggregation.limit(limit));
+        stages.add(dtoProjection());
+
+        return mongoTemplate.aggregate(Aggregation.newAggregation(stages), COLLECTION, RecommendCoursePlanDTO.class)
+                .getMappedResults();
+    }
+
+    private Criteria notDeleted() {
+        return Criteria.where(DELETED_FIELD).is(null);
+    }
+
+    private ProjectionOperation dtoProjection() {
+        return Aggregation.project(
+                        "planName", "planArea", "planAddr", "planPhone",
+                        "planHomepage", "planParking", "planContents"
+                )
+                .and("_id").as("planInfoId") // planInfoId는 엔티티의 @Id라 _id로 저장됨
+                .and(ArrayOperators.ArrayElemAt.arrayOf("planLocation.coordinates").elementAt(1)).as("planLatitude")
+                .and(ArrayOperators.ArrayElemAt.arrayOf("planLocation.coordinates").elementAt(0)).as("planLongitude");
+    }
+
+    // planLocation이 없는(좌표 오류) 장소는 기존처럼 0으로 내려줌
+    private ConditionalOperators.IfNull coordinateOrZero(int index) {
+        return ConditionalOperators.ifNull(ArrayOperators.ArrayElemAt.arrayOf("planLocation.coordinates").elementAt(index))
+                .then(0);
     }
 }
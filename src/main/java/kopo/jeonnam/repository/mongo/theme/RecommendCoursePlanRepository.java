@@ -23,6 +23,11 @@ public interface RecommendCoursePlanRepository extends
 
     long countByPlanCourseId(String planCourseId);
 
+    // soft delete된(deleted_at이 있는) 일정 제외
+    boolean existsByPlanCourseIdAndDeletedAtIsNull(String planCourseId);
+
+    boolean existsByDeletedAtIsNull();
+
     // 이건 제거하거나 주석처리해도 무방합니다. (String 타입 좌표 비교는 신뢰도 낮음)
     // List<RecommendCoursePlanDTO> findByPlanLatitudeBetweenAndPlanLongitudeBetween(...);
 }
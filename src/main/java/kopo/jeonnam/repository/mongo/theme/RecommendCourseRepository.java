@@ -4,6 +4,8 @@ import kopo.jeonnam.repository.entity.theme.RecommendCourseEntity;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 /**
  * 추천 여행 코스 정보를 MongoDB에서 관리하는 Repository 인터페이스입니다.
  * 기본 CRUD 외에 필요시 커스텀 쿼리 메서드를 추가할 수 있습니다.
@@ -14,5 +16,12 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface RecommendCourseRepository extends MongoRepository<RecommendCourseEntity, String> {
 
+    /**
+     * API 응답에서 사라져 soft delete된(deleted_at이 있는) 코스를 제외한 추천 코스 목록
+     */
+    List<RecommendCourseEntity> findByDeletedAtIsNull();
+
+    // soft delete되지 않은 코스가 하나라도 있는지 여부
+    boolean existsByDeletedAtIsNull();
 
 }
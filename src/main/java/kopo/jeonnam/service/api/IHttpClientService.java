@@ -0,0 +1,62 @@
+package kopo.jeonnam.service.api;
+
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * 🌐 외부 API 호출용 공용 HTTP 클라이언트 서비스
+ * 하나의 커넥션 풀(keep-alive, 가능하면 HTTP/2)을 모든 외부 API 호출이 함께 사용합니다.
+ * 응답 코드가 200이 아니면 에러 응답 본문을 그대로 반환하고, 통신 자체가 실패하면 RuntimeException을 던집니다.
+ */
+public interface IHttpClientService {
+
+    /**
+     * GET 호출 (헤더 없음)
+     *
+     * @param url 호출할 URL
+     * @return 응답 본문 (Content-Type의 charset, 없으면 UTF-8로 디코딩, 줄바꿈 유지)
+     */
+    String get(String url);
+
+    /**
+     * GET 호출
+     *
+     * @param url     호출할 URL
+     * @param headers 전송할 헤더
+     * @return 응답 본문
+     */
+    String get(String url, @Nullable Map<String, String> headers);
+
+    /**
+     * GET 호출 후 응답 본문을 문자열이나 바이트 배열로 모으지 않고 연결에서 바로 읽는 스트림으로 처리합니다. (대용량 JSON/XML 파싱용)
+     * handler가 실행되는 동안 연결과 호스트 허용량을 사용하며, handler가 끝나면 스트림을 닫아 반납합니다.
+     * 처리 시간은 전체 call timeout에 포함되지 않고, 서버가 바이트를 보내지 않고 멈추면 read timeout으로 끊깁니다.
+     *
+     * @param url     호출할 URL
+     * @param headers 전송할 헤더
+     * @param handler (응답 코드, 응답 본문 스트림) 처리기
+     * @return handler 결과
+     */
+    <T> T get(String url, @Nullable Map<String, String> headers, BodyHandler<T> handler);
+
+    /**
+     * POST 호출
+     *
+     * @param url     호출할 URL
+     * @param headers 전송할 헤더 (Content-Type이 없으면 application/x-www-form-urlencoded)
+     * @param body    전송할 본문 (UTF-8)
+     * @return 응답 본문
+     */
+    String post(String url, @Nullable Map<String, String> headers, String body);
+
+    /**
+     * 응답 본문 스트림 처리기
+     */
+    @FunctionalInterface
+    interface BodyHandler<T> {
+        T handle(int statusCode, InputStream body) throws IOException;
+    }
+}
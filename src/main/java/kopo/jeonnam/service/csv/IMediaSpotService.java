@@ -1,10 +1,13 @@
 package kopo.jeonnam.service.csv;
 
+import kopo.jeonnam.dto.csv.MediaSpotListResultDTO;
 import kopo.jeonnam.dto.csv.MediaSpotMapDTO;
+import kopo.jeonnam.dto.csv.MediaSpotMapResultDTO;
 import kopo.jeonnam.model.MediaSpot;
 
 import java.io.InputStream;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * 🎬 MediaSpot 서비스 인터페이스 - 비즈니스 로직 정의
@@ -21,6 +24,22 @@ public interface IMediaSpotService {
      */
     List<MediaSpot> getAllJeonnamSpots();
 
+    /**
+     * 포스터가 있는 촬영지 목록 (spotNm, spotArea, posterUrl만 채워짐)
+     */
+    List<MediaSpot> getSpotsWithPoster();
+
+    /**
+     * 포스터 촬영지 목록 + ETag (주기적으로 갱신하는 스냅샷 - 요청마다 조회하지 않음)
+     * ETag는 저장된 문서 내용의 해시라서 서버 재시작/다중 서버에서도 같은 데이터면 같은 값입니다.
+     */
+    MediaSpotListResultDTO getSpotsWithPosterSnapshot();
+
+    /**
+     * 포스터가 있는 촬영지를 MongoDB 커서로 한 건씩 읽는 스트림 (스트리밍 응답용, 사용 후 반드시 close)
+     */
+    Stream<MediaSpot> streamSpotsWithPoster();
+
     /**
      * 촬영지 이름(spotNm)으로 검색
      */
@@ -29,7 +48,29 @@ public interface IMediaSpotService {
     boolean existsAny();
 
     /**
-     * 지도 표시에 사용할 DTO 리스트 반환
+     * 지도 표시에 사용할 DTO 리스트 반환 (미리 계산된 스냅샷)
      */
     List<MediaSpotMapDTO> getAllMapReadySpots();
+
+    /**
+     * 지도 마커 전체 + ETag
+     */
+    MediaSpotMapResultDTO getMapReadySnapshot();
+
+    /**
+     * 지도 마커를 스냅샷 없이 MongoDB 커서에서 바로 변환하는 스트림 (스트리밍 응답용, 사용 후 반드시 close)
+     */
+    Stream<MediaSpotMapDTO> streamMapReadySpots();
+
+    /**
+     * 위경도 범위(bounding box) 안의 지도 마커 + ETag
+     */
+    MediaSpotMapResultDTO getMapReadySpotsInBounds(double minLat, double minLon, double maxLat, double maxLon);
+
+    /**
+     * 지도 타일(z/x/y, Web Mercator) 범위 안의 지도 마커 + ETag
+     *
+     * @throws IllegalArgumentException 타일 좌표가 범위를 벗어난 경우
+     */
+    MediaSpotMapResultDTO getMapReadySpotsInTile(int z, int x, int y);
 }
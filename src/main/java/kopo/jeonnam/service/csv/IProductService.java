@@ -4,6 +4,7 @@ import kopo.jeonnam.dto.csv.ProductDTO;
 import kopo.jeonnam.model.Product;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * 💡 ProductService 인터페이스
@@ -12,6 +13,7 @@ import java.util.List;
 public interface IProductService {
     List<ProductDTO> getAll();        // 전체 목록 조회
     List<ProductDTO> findByAreaAndKeyword(String area, String keyword); //검색
+    Stream<ProductDTO> streamByAreaAndKeyword(String area, String keyword); // 검색 (커서 스트림, 사용 후 close)
     void saveAll(List<ProductDTO> dtoList); // 여러 개 저장
     boolean existsAny();  // DB에 저장된 데이터가 있는지 확인
 }
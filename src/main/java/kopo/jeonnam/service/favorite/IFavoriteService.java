@@ -15,6 +15,12 @@ public interface IFavoriteService {
 
     List<FavoriteDTO> findNearbyFavorites(String email, double latMin, double latMax, double lngMin, double lngMax);
 
+    // ✅ 기준 좌표로부터 반경(m) 안의 찜 목록 (가까운 순, 2dsphere 인덱스 사용)
+    List<FavoriteDTO> findFavoritesWithinRadius(String email, double lat, double lng, double radiusMeters);
+
+    // ✅ 기준 좌표에서 가장 가까운 k개의 찜 목록 (가까운 순, 2dsphere 인덱스 사용)
+    List<FavoriteDTO> findNearestFavorites(String email, double lat, double lng, int k);
+
     // ✅ 관광지 키워드 검색 (카카오 로컬 API 사용)
     List<TourDTO> searchTourByKeyword(String keyword);
 }
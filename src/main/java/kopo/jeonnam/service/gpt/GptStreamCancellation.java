@@ -0,0 +1,32 @@
+package kopo.jeonnam.service.gpt;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 스트리밍 일정 생성 취소 신호
+ * 클라이언트 연결 종료나 SSE 시간 초과 시 cancel()을 호출하면, 등록된 동작(진행 중인 OpenAI 호출 끊기)을 실행합니다.
+ */
+public class GptStreamCancellation {
+
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private volatile Runnable action;
+
+    public void cancel() {
+        if (cancelled.compareAndSet(false, true)) {
+            Runnable current = action;
+            if (current != null) current.run();
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled.get();
+    }
+
+    /**
+     * 취소 시 실행할 동작 등록 (이미 취소되었으면 바로 실행 - 동작은 여러 번 실행되어도 안전해야 함)
+     */
+    public void onCancel(Runnable action) {
+        this.action = action;
+        if (cancelled.get()) action.run();
+    }
+}
@@ -0,0 +1,42 @@
+package kopo.jeonnam.service.gpt;
+
+import kopo.jeonnam.dto.gpt.GptScheduleCacheStatsDTO;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 💾 GPT 일정 생성 결과 캐시 서비스
+ * 같은 입력(찜 장소 집합, 날짜, 일수, 출발지, 출발 시각, 추가 요청)에 대해 OpenAI를 다시 호출하지 않도록
+ * 정규화된 입력의 해시를 키로 결과를 보관합니다. 장소 카탈로그가 바뀌면 자동으로 무효화됩니다.
+ */
+public interface IGptScheduleCacheService {
+
+    /**
+     * 정규화된 요청 입력 + 현재 카탈로그 지문으로 캐시 키(SHA-256)를 만듭니다.
+     * 찜 장소 순서, 앞뒤 공백, 추가 요청의 연속 공백은 키에 영향을 주지 않습니다.
+     */
+    String buildKey(
+            Set<String> favoriteNames,
+            String startDate,
+            int tripDays,
+            String departurePlace,
+            String departureTime,
+            String additionalPrompt
+    );
+
+    /**
+     * 메모리 → MongoDB 순으로 조회합니다. (MongoDB 적중 시 메모리에 다시 올립니다)
+     */
+    Optional<String> get(String key);
+
+    /**
+     * 필터링까지 끝난 정상 일정 JSON을 저장합니다.
+     */
+    void put(String key, String scheduleJson);
+
+    /**
+     * 적중/실패 통계
+     */
+    GptScheduleCacheStatsDTO getStats();
+}
@@ -0,0 +1,41 @@
+package kopo.jeonnam.service.gpt;
+
+import kopo.jeonnam.dto.gpt.GptRequestDTO;
+import kopo.jeonnam.dto.gpt.GptScheduleJobDTO;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 🕒 GPT 일정 생성 비동기 작업 서비스
+ * 요청 스레드를 OpenAI 응답 대기(최대 수십 초) 동안 붙잡지 않도록 별도 제한된 작업 풀에서 실행합니다.
+ */
+public interface IGptScheduleJobService {
+
+    /**
+     * 일정 생성 작업을 등록하고 즉시 작업 정보를 반환합니다.
+     *
+     * @param userId  요청 사용자 (사용자별 동시 작업 수 제한 기준)
+     * @param request 일정 생성 요청
+     * @return QUEUED 상태의 작업 정보
+     * @throws IllegalStateException 사용자별 동시 작업 수 초과 또는 대기열이 가득 찬 경우
+     */
+    GptScheduleJobDTO submit(String userId, GptRequestDTO request);
+
+    /**
+     * 작업 상태 조회 (본인 작업만 조회 가능)
+     */
+    Optional<GptScheduleJobDTO> getJob(String userId, String jobId);
+
+    /**
+     * 작업이 끝나거나 waitMs가 지날 때까지 기다린 뒤의 작업 상태 (요청 스레드를 막지 않음)
+     */
+    CompletableFuture<Optional<GptScheduleJobDTO>> awaitJob(String userId, String jobId, long waitMs);
+
+    /**
+     * 임의 작업(예: SSE 스트리밍 응답)을 같은 작업 풀과 사용자별 동시 작업 수 제한 안에서 실행합니다.
+     *
+     * @throws IllegalStateException 사용자별 동시 작업 수 초과 또는 대기열이 가득 찬 경우
+     */
+    void execute(String userId, Runnable task);
+}
@@ -1,8 +1,10 @@
 package kopo.jeonnam.service.gpt;
 
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import kopo.jeonnam.dto.gpt.PlaceInfoDTO;
 import java.util.List;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 public interface IGptService {
     String createScheduleFromRequest(
@@ -21,4 +23,20 @@ public interface IGptService {
             String departureTime,
             String additionalPrompt
     );
+
+    /**
+     * 스트리밍 모드로 일정 생성 - 하루치 일정이 완성될 때마다 (날짜, 필터링된 활동 배열)을 onDay로 전달합니다.
+     * cancellation이 취소되면 진행 중인 OpenAI 호출을 바로 끊습니다. (취소된 결과는 캐시하지 않음)
+     * @return 필터링된 전체 일정 JSON (오류 시 error 필드를 가진 JSON)
+     */
+    String streamScheduleWithFavorites(
+            Set<String> favoriteNames,
+            String startDate,
+            int tripDays,
+            String departurePlace,
+            String departureTime,
+            String additionalPrompt,
+            BiConsumer<String, ArrayNode> onDay,
+            GptStreamCancellation cancellation
+    );
 }
@@ -0,0 +1,48 @@
+package kopo.jeonnam.service.gpt;
+
+import kopo.jeonnam.dto.gpt.PlaceInfoDTO;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 📍 places.json 장소 카탈로그 서비스 인터페이스
+ * 애플리케이션 시작 시 한 번 로드한 불변 스냅샷을 제공하고, 리소스가 바뀌면 다시 로드합니다.
+ */
+public interface IPlaceCatalogService {
+
+    /**
+     * 카탈로그에 등록된 모든 장소 (불변 리스트)
+     */
+    List<PlaceInfoDTO> getAllPlaces();
+
+    /**
+     * 장소명으로 조회 (O(1))
+     */
+    Optional<PlaceInfoDTO> findByName(String name);
+
+    /**
+     * 장소명이 카탈로그에 존재하는지 여부 (O(1))
+     */
+    boolean containsName(String name);
+
+    /**
+     * 장소명 + 주소가 모두 일치하는 장소가 존재하는지 여부 (O(1))
+     */
+    boolean contains(String name, String addr);
+
+    /**
+     * 카탈로그 버전 - 다시 로드될 때마다 1씩 증가합니다. (하위 캐시 무효화용)
+     */
+    long getVersion();
+
+    /**
+     * 카탈로그 내용 지문 (SHA-256) - 재시작 후에도 내용이 같으면 같은 값이므로 영속 캐시 키에 사용합니다.
+     */
+    String getFingerprint();
+
+    /**
+     * 현재 스냅샷이 로드된 시각 (epoch millis)
+     */
+    long getLoadedAt();
+}
@@ -0,0 +1,36 @@
+package kopo.jeonnam.service.gpt;
+
+import kopo.jeonnam.dto.gpt.PlaceInfoDTO;
+import kopo.jeonnam.dto.gpt.PromptCompactionStatsDTO;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * ✂️ GPT 프롬프트 장소 후보 선정 서비스
+ * places.json 전체를 프롬프트에 넣지 않고, 출발지·찜 장소와 가까운 장소를 지역이 고르게 섞이도록 골라
+ * 설정된 토큰 예산 안으로 줄입니다.
+ */
+public interface IPromptCompactionService {
+
+    /**
+     * 프롬프트에 넣을 장소 후보를 선정합니다.
+     * 찜 장소는 예산과 무관하게 항상 포함되며, 나머지는 거리 → 지역 다양성 순으로 예산만큼 채웁니다.
+     *
+     * @param places         후보 전체 (카탈로그 + 가상 찜 장소)
+     * @param favoriteNames  사용자가 선택한 찜 장소 이름
+     * @param departurePlace 출발지 (지역 판단용)
+     * @return 프롬프트에 넣을 장소 목록
+     */
+    List<PlaceInfoDTO> selectCandidates(List<PlaceInfoDTO> places, Set<String> favoriteNames, String departurePlace);
+
+    /**
+     * 문자열의 GPT 토큰 수 추정치
+     */
+    int estimateTokens(String text);
+
+    /**
+     * 축소 전/후 누적 통계
+     */
+    PromptCompactionStatsDTO getStats();
+}
@@ -0,0 +1,252 @@
+package kopo.jeonnam.service.impl.api;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kopo.jeonnam.service.api.IHttpClientService;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.ConnectionPool;
+import okhttp3.Headers;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 🌐 OkHttp 기반 공용 HTTP 클라이언트 구현체
+ * - 커넥션 풀을 공유하여 같은 호스트로의 연속 호출에서 TCP/TLS 연결을 재사용합니다.
+ * - ALPN으로 HTTP/2를 협상하고, 지원하지 않는 서버는 HTTP/1.1을 사용합니다.
+ * - 호스트별 동시 요청 수를 세마포어로 제한하여 외부 API에 과도한 연결을 열지 않습니다. (동기 호출이라 Dispatcher 설정은 적용되지 않음)
+ * - 응답 본문은 바이트 단위로 읽어 Content-Type의 charset(기본 UTF-8)으로 디코딩합니다.
+ * - 스트림 처리(get + BodyHandler)는 본문을 메모리에 모으지 않고 연결에서 바로 읽으며, 본문 스트림을 닫을 때 호스트 허용량을 반납합니다.
+ *   처리 시간이 전체 call timeout에 걸리지 않도록 같은 커넥션 풀을 쓰는 call timeout 없는 클라이언트로 호출하고,
+ *   대신 read timeout(바이트 사이 대기 한도)으로 멈춘 서버를 끊습니다.
+ */
+@Slf4j
+@Service
+public class HttpClientService implements IHttpClientService {
+
+    private static final MediaType DEFAULT_POST_TYPE = MediaType.get("application/x-www-form-urlencoded; charset=utf-8");
+
+    @Value("${http.client.connect-timeout-ms:5000}")
+    private long connectTimeoutMs;
+
+    @Value("${http.client.read-timeout-ms:15000}")
+    private long readTimeoutMs;
+
+    @Value("${http.client.write-timeout-ms:15000}")
+    private long writeTimeoutMs;
+
+    // 연결부터 본문 수신 완료까지의 전체 시간 한도 (스트림 처리 호출에는 적용하지 않음)
+    @Value("${http.client.call-timeout-ms:30000}")
+    private long callTimeoutMs;
+
+    @Value("${http.client.max-idle-connections:20}")
+    private int maxIdleConnections;
+
+    @Value("${http.client.keep-alive-ms:300000}")
+    private long keepAliveMs;
+
+    @Value("${http.client.max-connections-per-host:8}")
+    private int maxConnectionsPerHost;
+
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+    private OkHttpClient client;
+    private OkHttpClient streamingClient; // client와 커넥션 풀/디스패처를 공유, call timeout만 없음
+
+    @PostConstruct
+    public void init() {
+        client = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveMs, TimeUnit.MILLISECONDS))
+                .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(connectTimeoutMs, TimeUnit.MILLISECONDS)
+                .readTimeout(readTimeoutMs, TimeUnit.MILLISECONDS)
+                .writeTimeout(writeTimeoutMs, TimeUnit.MILLISECONDS)
+                .callTimeout(callTimeoutMs, TimeUnit.MILLISECONDS)
+                .retryOnConnectionFailure(true)
+                .build();
+        streamingClient = client.newBuilder()
+                .callTimeout(0, TimeUnit.MILLISECONDS)
+                .build();
+
+        log.info("[HttpClient] 초기화 - maxIdle={}, keepAliveMs={}, maxPerHost={}, timeouts(connect/read/write/call)={}/{}/{}/{}ms",
+                maxIdleConnections, keepAliveMs, maxConnectionsPerHost, connectTimeoutMs, readTimeoutMs, writeTimeoutMs, callTimeoutMs);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        client.dispatcher().executorService().shutdown();
+        client.connectionPool().evictAll();
+    }
+
+    @Override
+    public String get(String url) {
+        return get(url, null);
+    }
+
+    @Override
+    public String get(String url, @Nullable Map<String, String> headers) {
+        return execute("GET", buildGet(url, headers), (status, body) -> body.string());
+    }
+
+    @Override
+    public <T> T get(String url, @Nullable Map<String, String> headers, BodyHandler<T> handler) {
+        Request request = buildGet(url, headers);
+        String host = request.url().host();
+        Semaphore permits = acquire("GET", host);
+        long startedAt = System.currentTimeMillis();
+
+        Response response;
+        try {
+            response = streamingClient.newCall(request).execute();
+        } catch (IOException e) {
+            permits.release();
+            log.error("[HttpClient] GET 요청 실패. host={}, path={}, error={}", host, request.url().encodedPath(), e.getMessage(), e);
+            throw new RuntimeException("API 요청과 응답 실패", e);
+        }
+
+        int code = response.code();
+        if (code != 200) {
+            log.warn("[HttpClient] GET 에러 응답. host={}, path={}, code={}", host, request.url().encodedPath(), code);
+        }
+        // 연결에서 바로 읽는 본문 스트림 - 닫으면 응답(연결)을 닫고 호스트 허용량을 반납
+        try (InputStream body = new ReleasingInputStream(response, permits)) {
+            T result = handler.handle(code, body);
+            log.debug("[HttpClient] GET 스트림 처리 완료. host={}, code={}, protocol={}, {}ms",
+                    host, code, response.protocol(), System.currentTimeMillis() - startedAt);
+            return result;
+        } catch (IOException e) {
+            log.error("[HttpClient] GET 응답 처리 실패. URL={}, error={}", url, e.getMessage(), e);
+            throw new RuntimeException("API 요청과 응답 실패", e);
+        }
+    }
+
+    @Override
+    public String post(String url, @Nullable Map<String, String> headers, String body) {
+        Headers requestHeaders = toHeaders(headers);
+        String contentType = requestHeaders.get("Content-Type");
+        MediaType mediaType = contentType != null ? MediaType.parse(contentType) : DEFAULT_POST_TYPE;
+
+        Request request = new Request.Builder()
+                .url(parseUrl(url))
+                .headers(requestHeaders)
+                .post(RequestBody.create(body.getBytes(StandardCharsets.UTF_8), mediaType))
+                .build();
+        return execute("POST", request, (status, responseBody) -> responseBody.string());
+    }
+
+    /**
+     * 응답 본문 스트림 - 처음 닫을 때 한 번만 응답을 닫고 호스트 허용량을 반납합니다.
+     */
+    private static final class ReleasingInputStream extends FilterInputStream {
+        private final Response response;
+        private final Semaphore permits;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private ReleasingInputStream(Response response, Semaphore permits) {
+            super(response.body().byteStream());
+            this.response = response;
+            this.permits = permits;
+        }
+
+        @Override
+        public void close() {
+            if (!closed.compareAndSet(false, true)) return;
+            try {
+                response.close();
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * 응답 본문 처리기 (내부용) - call timeout 구간 안에서 실행됩니다.
+     */
+    @FunctionalInterface
+    private interface ResponseReader<T> {
+        T read(int statusCode, ResponseBody body) throws IOException;
+    }
+
+    /**
+     * 호스트별 허용량을 확보한 뒤 요청을 실행하고 응답 본문을 reader에 넘깁니다.
+     * 문자열 응답은 ResponseBody.string()으로 읽어 Content-Type의 charset(없으면 UTF-8, BOM 인식)을 따릅니다.
+     */
+    private <T> T execute(String method, Request request, ResponseReader<T> reader) {
+        String host = request.url().host();
+        Semaphore permits = acquire(method, host);
+        long startedAt = System.currentTimeMillis();
+
+        try (Response response = client.newCall(request).execute()) {
+            int code = response.code();
+            if (code != 200) {
+                log.warn("[HttpClient] {} 에러 응답. host={}, path={}, code={}", method, host, request.url().encodedPath(), code);
+            }
+
+            T result = reader.read(code, response.body());
+            log.debug("[HttpClient] {} 완료. host={}, code={}, protocol={}, {}ms",
+                    method, host, code, response.protocol(), System.currentTimeMillis() - startedAt);
+            return result;
+
+        } catch (IOException e) {
+            log.error("[HttpClient] {} 요청/응답 실패. host={}, path={}, error={}", method, host, request.url().encodedPath(), e.getMessage(), e);
+            throw new RuntimeException("API 요청과 응답 실패", e);
+        } finally {
+            permits.release();
+        }
+    }
+
+    // 호스트별 동시 요청 허용량 하나를 확보 (최대 call timeout만큼 대기)
+    private Semaphore acquire(String method, String host) {
+        Semaphore permits = hostPermits.computeIfAbsent(host, h -> new Semaphore(maxConnectionsPerHost));
+        try {
+            if (!permits.tryAcquire(callTimeoutMs, TimeUnit.MILLISECONDS)) {
+                log.warn("[HttpClient] {} 대기 시간 초과 - 호스트 동시 요청 수 제한. host={}", method, host);
+                throw new RuntimeException("API 요청 대기 시간이 초과되었습니다. : " + host);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("API 요청이 중단되었습니다. : " + host, e);
+        }
+        return permits;
+    }
+
+    private Request buildGet(String url, @Nullable Map<String, String> headers) {
+        return new Request.Builder()
+                .url(parseUrl(url))
+                .headers(toHeaders(headers))
+                .get()
+                .build();
+    }
+
+    private HttpUrl parseUrl(String url) {
+        HttpUrl parsed = HttpUrl.parse(url);
+        if (parsed == null) {
+            log.error("[HttpClient] 잘못된 URL. URL={}", url);
+            throw new RuntimeException("API URL이 잘못되었습니다. : " + url);
+        }
+        return parsed;
+    }
+
+    private Headers toHeaders(@Nullable Map<String, String> headers) {
+        return headers == null ? Headers.of() : Headers.of(headers);
+    }
+}
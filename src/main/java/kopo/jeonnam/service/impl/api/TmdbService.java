@@ -2,17 +2,35 @@ package kopo.jeonnam.service.impl.api;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import kopo.jeonnam.repository.entity.api.TmdbPosterCacheEntity;
+import kopo.jeonnam.repository.mongo.api.TmdbPosterCacheRepository;
+import kopo.jeonnam.service.api.IHttpClientService;
 import kopo.jeonnam.service.api.ITmdbService;
-import kopo.jeonnam.util.NetworkUtil;
+import kopo.jeonnam.util.TokenBucketRateLimiter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.stereotype.Service;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * 🎞 TMDB 포스터 조회 서비스
+ * - 작품명 → 포스터 URL을 메모리 + MongoDB(tmdb_poster_cache)에 캐시합니다.
+ * - 포스터가 없는 작품도 짧은 만료 시간으로 캐시하여(네거티브 캐시) 같은 검색을 반복하지 않습니다.
+ * - 통신 실패로 결과를 알 수 없는 경우는 캐시하지 않습니다.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -21,38 +39,116 @@ public class TmdbService implements ITmdbService {
     @Value("${tmdb.api.key}")
     private String tmdbApiKey;
 
-    private static final String TMDB_SEARCH_MOVIE_URL = "https://api.themoviedb.org/3/search/movie";
+    private static final String TMDB_SEARCH_URL = "https://api.themoviedb.org/3/search/";
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ObjectMapper objectMapper; // 스프링이 구성한 공용 ObjectMapper
+    private final IHttpClientService httpClientService;
+    private final TmdbPosterCacheRepository tmdbPosterCacheRepository;
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${tmdb.api.rate-per-second:40}")
+    private double ratePerSecond;
+
+    @Value("${tmdb.api.max-retries:3}")
+    private int maxRetries;
+
+    @Value("${tmdb.api.backoff-ms:500}")
+    private long backoffMs;
+
+    @Value("${tmdb.poster-cache.ttl-ms:2592000000}")
+    private long positiveTtlMs; // 기본 30일
+
+    @Value("${tmdb.poster-cache.negative-ttl-ms:86400000}")
+    private long negativeTtlMs; // 기본 1일
+
+    @Value("${tmdb.poster-cache.memory.max-entries:5000}")
+    private int memoryMaxEntries;
+
+    // TMDB 쿼터는 애플리케이션 전체 기준이므로 모든 호출 스레드가 하나의 버킷을 공유
+    private TokenBucketRateLimiter rateLimiter;
+
+    /** 접근 순서 LinkedHashMap 기반 LRU (모든 접근은 synchronized (memoryCache)) */
+    private Map<String, CachedPoster> memoryCache;
+
+    /** 응답 코드 + 파싱된 본문 (200이 아니면 root는 null) */
+    private record TmdbResponse(int status, JsonNode root) {}
+
+    /** 캐시 항목 (posterUrl이 null이면 네거티브 캐시) */
+    private record CachedPoster(String posterUrl, long expiresAt) {}
+
+    /** 원격 검색 결과: 포스터 있음 / 없음 / 실패(알 수 없음) */
+    private record Lookup(String posterUrl, boolean failed) {
+        static final Lookup NOT_FOUND = new Lookup(null, false);
+        static final Lookup FAILED = new Lookup(null, true);
+    }
+
+    @PostConstruct
+    public void init() {
+        rateLimiter = new TokenBucketRateLimiter(ratePerSecond, (int) Math.max(1, Math.ceil(ratePerSecond)));
+        memoryCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedPoster> eldest) {
+                return size() > memoryMaxEntries;
+            }
+        };
+
+        // 자동 인덱스 생성이 꺼져 있어도 TTL 인덱스가 존재하도록 직접 보장
+        mongoTemplate.indexOps(TmdbPosterCacheEntity.class)
+                .ensureIndex(new Index().on("expiresAt", Sort.Direction.ASC).expire(0, TimeUnit.SECONDS));
+    }
 
     @Override
     public Optional<String> getPosterUrlByTitle(String title) {
-        try {
-            // 영화 → TV 순으로 시도
-            Optional<String> moviePoster = searchTmdbPoster(title, "movie");
-            if (moviePoster.isPresent()) return moviePoster;
+        if (title == null || title.isBlank()) return Optional.empty();
+        String key = title.trim();
+        long now = System.currentTimeMillis();
 
-            Optional<String> tvPoster = searchTmdbPoster(title, "tv");
-            if (tvPoster.isPresent()) return tvPoster;
+        // 1) 메모리 캐시
+        synchronized (memoryCache) {
+            CachedPoster cached = memoryCache.get(key);
+            if (cached != null) {
+                if (cached.expiresAt() > now) {
+                    return Optional.ofNullable(cached.posterUrl());
+                }
+                memoryCache.remove(key);
+            }
+        }
 
+        // 2) MongoDB 캐시
+        try {
+            Optional<TmdbPosterCacheEntity> stored = tmdbPosterCacheRepository.findById(key)
+                    .filter(e -> e.getExpiresAt() != null && e.getExpiresAt().getTime() > now);
+            if (stored.isPresent()) {
+                remember(key, new CachedPoster(stored.get().getPosterUrl(), stored.get().getExpiresAt().getTime()));
+                return Optional.ofNullable(stored.get().getPosterUrl());
+            }
         } catch (Exception e) {
-            log.warn("TMDB API 호출 실패: {}", e.getMessage());
+            log.warn("TMDB 포스터 캐시 조회 실패 ({}): {}", key, e.getMessage());
+        }
+
+        // 3) TMDB 검색 (영화 → TV 순)
+        Lookup lookup = searchTmdbPoster(key, "movie");
+        if (lookup.posterUrl() == null && !lookup.failed()) {
+            lookup = searchTmdbPoster(key, "tv");
         }
 
-        return Optional.empty();
+        if (!lookup.failed()) {
+            store(key, lookup.posterUrl(), now);
+        }
+        return Optional.ofNullable(lookup.posterUrl());
     }
 
     // 내부 메서드: type은 "movie" 또는 "tv"
-    private Optional<String> searchTmdbPoster(String title, String type) {
+    private Lookup searchTmdbPoster(String title, String type) {
         try {
             String query = URLEncoder.encode(title, StandardCharsets.UTF_8);
-            String apiUrl = "https://api.themoviedb.org/3/search/" + type
+            String apiUrl = TMDB_SEARCH_URL + type
                     + "?api_key=" + tmdbApiKey
                     + "&query=" + query
                     + "&language=ko-KR"; // 한글 결과 우선
 
-            String response = NetworkUtil.get(apiUrl);
-            JsonNode root = objectMapper.readTree(response);
+            JsonNode root = callWithRetry(apiUrl, type);
+            if (root == null) return Lookup.FAILED;
             JsonNode results = root.path("results");
 
             if (results.isArray() && results.size() > 0) {
@@ -60,12 +156,73 @@ public class TmdbService implements ITmdbService {
                 String posterPath = firstResult.path("poster_path").asText(null);
 
                 if (posterPath != null && !posterPath.isEmpty()) {
-                    return Optional.of("https://image.tmdb.org/t/p/w500" + posterPath);
+                    return new Lookup("https://image.tmdb.org/t/p/w500" + posterPath, false);
                 }
             }
+            return Lookup.NOT_FOUND;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.warn("TMDB {} 검색 중 오류: {}", type.toUpperCase(), e.getMessage());
         }
-        return Optional.empty();
+        return Lookup.FAILED;
+    }
+
+    /**
+     * 속도 제한을 지키며 TMDB를 호출하고, 429/5xx/통신 오류는 지수 백오프(+지터)로 재시도합니다.
+     * @return 파싱된 응답, 재시도 불가 오류이거나 재시도를 모두 소진하면 null
+     */
+    private JsonNode callWithRetry(String apiUrl, String type) throws InterruptedException {
+        for (int attempt = 0; ; attempt++) {
+            rateLimiter.acquire();
+
+            TmdbResponse response = null;
+            String failure;
+            try {
+                // 응답을 문자열로 만들지 않고 스트림에서 바로 파싱
+                response = httpClientService.get(apiUrl, null,
+                        (status, body) -> new TmdbResponse(status, status == 200 ? objectMapper.readTree(body) : null));
+                if (response.status() == 200) return response.root();
+                failure = "HTTP " + response.status();
+            } catch (RuntimeException e) {
+                failure = e.getMessage();
+            }
+
+            boolean retryable = response == null || response.status() == 429 || response.status() >= 500;
+            if (!retryable || attempt >= maxRetries) {
+                log.warn("TMDB {} 검색 실패 ({}회 시도): {}", type.toUpperCase(), attempt + 1, failure);
+                return null;
+            }
+
+            long delay = backoffMs * (1L << attempt) + ThreadLocalRandom.current().nextLong(backoffMs / 2 + 1);
+            log.debug("TMDB {} 검색 재시도 대기 {}ms ({}): {}", type.toUpperCase(), delay, attempt + 1, failure);
+            Thread.sleep(delay);
+        }
+    }
+
+    /**
+     * 검색 결과를 메모리와 MongoDB에 저장합니다. (포스터 없음은 짧은 TTL)
+     */
+    private void store(String title, String posterUrl, long now) {
+        long expiresAt = now + (posterUrl != null ? positiveTtlMs : negativeTtlMs);
+        remember(title, new CachedPoster(posterUrl, expiresAt));
+
+        try {
+            tmdbPosterCacheRepository.save(TmdbPosterCacheEntity.builder()
+                    .title(title)
+                    .posterUrl(posterUrl)
+                    .createdAt(new Date(now))
+                    .expiresAt(new Date(expiresAt))
+                    .build());
+        } catch (Exception e) {
+            log.warn("TMDB 포스터 캐시 저장 실패 ({}): {}", title, e.getMessage());
+        }
+    }
+
+    private void remember(String title, CachedPoster poster) {
+        // 상한을 넘으면 가장 오래 사용하지 않은 항목부터 제거 (제거된 항목은 MongoDB 캐시에서 다시 채움)
+        synchronized (memoryCache) {
+            memoryCache.put(title, poster);
+        }
     }
-}
\ No newline at end of file
+}
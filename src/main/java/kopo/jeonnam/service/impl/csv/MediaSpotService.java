@@ -1,19 +1,38 @@
 package kopo.jeonnam.service.impl.csv;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import kopo.jeonnam.dto.csv.MediaSpotDTO;
+import kopo.jeonnam.dto.csv.MediaSpotListResultDTO;
 import kopo.jeonnam.dto.csv.MediaSpotMapDTO;
+import kopo.jeonnam.dto.csv.MediaSpotMapResultDTO;
 import kopo.jeonnam.model.MediaSpot;
 import kopo.jeonnam.repository.mongo.csv.MediaSpotRepository;
 import kopo.jeonnam.service.api.ITmdbService;
 import kopo.jeonnam.service.csv.IMediaSpotService;
 import kopo.jeonnam.util.CsvParserUtil;
+import kopo.jeonnam.util.ETagUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -22,15 +41,47 @@ public class MediaSpotService implements IMediaSpotService {
 
     private final MediaSpotRepository repository;
     private final ITmdbService tmdbService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${mediaspot.tmdb.parallelism:8}")
+    private int enrichParallelism;
+
+    @Value("${mediaspot.map.refresh-check-interval-ms:60000}")
+    private long mapRefreshCheckIntervalMs;
+
+    @Value("${mediaspot.list.refresh-interval-ms:60000}")
+    private long listRefreshIntervalMs;
+
+    private static final int MAX_TILE_ZOOM = 22;
+
+    /**
+     * 지도용 불변 스냅샷 (경도순 정렬 + 이분 탐색용 경도 배열)
+     */
+    private record MapSnapshot(List<MediaSpotMapDTO> spots, double[] lons, String eTag, long sourceCount) {}
+
+    private volatile MapSnapshot mapSnapshot;
+    private volatile long mapCheckedAt;
+
+    /**
+     * 포스터 촬영지 목록 스냅샷 (ETag는 저장된 문서 내용의 해시)
+     */
+    private record ListSnapshot(List<MediaSpot> spots, String eTag, long loadedAt) {}
+
+    private volatile ListSnapshot listSnapshot;
 
     @Override
     public void loadMediaSpotsFromCsv(InputStream csvInputStream) throws Exception {
         List<MediaSpotDTO> dtos = CsvParserUtil.parseMediaSpots(csvInputStream);
 
+        // 같은 작품의 촬영지가 여러 곳이므로 작품명 단위로 한 번씩만 TMDB를 조회
+        Set<String> titles = dtos.stream()
+                .map(dto -> normalizeSpotNm(dto.spotNm()))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<String, String> posterUrls = fetchPosterUrls(titles);
+
         List<MediaSpot> spots = dtos.stream()
                 .map(dto -> {
-                    String spotNm = dto.spotNm().replace("촬영지", "").trim();
-                    String posterUrl = tmdbService.getPosterUrlByTitle(spotNm).orElse(null);
+                    String spotNm = normalizeSpotNm(dto.spotNm());
 
                     return MediaSpot.builder()
                             .spotNm(spotNm)
@@ -41,13 +92,62 @@ public class MediaSpotService implements IMediaSpotService {
                             .spotRoadAddr(dto.spotRoadAddr())
                             .spotLon(dto.spotLon())
                             .spotLat(dto.spotLat())
-                            .posterUrl(posterUrl) // 👈 캐시 저장
+                            .posterUrl(posterUrls.get(spotNm)) // 👈 캐시 저장
                             .build();
                 })
                 .collect(Collectors.toList());
 
-        repository.saveAll(spots);
-        log.info("✅ MediaSpot 데이터 저장 완료, 총 {}개", spots.size());
+        // id가 미리 채워진 엔티티는 saveAll이 건별 upsert가 되므로 insert로 한 번에 저장
+        repository.insert(spots);
+        mapSnapshot = null; // 다음 지도 조회 시 다시 생성
+        listSnapshot = null;
+        log.info("✅ MediaSpot 데이터 저장 완료, 총 {}개 (작품 {}개 중 포스터 {}개)", spots.size(), titles.size(), posterUrls.size());
+    }
+
+    /**
+     * 작품명별 TMDB 포스터 URL을 제한된 병렬도로 조회합니다.
+     * 호출 속도 제한과 재시도는 TmdbService가 담당하고, 여기서는 동시 실행 수와 진행 로그만 관리합니다.
+     *
+     * @return 작품명 → 포스터 URL (포스터가 없는 작품은 포함되지 않음)
+     */
+    private Map<String, String> fetchPosterUrls(Set<String> titles) {
+        Map<String, String> posterUrls = new ConcurrentHashMap<>();
+        if (titles.isEmpty()) return posterUrls;
+
+        AtomicInteger threadSeq = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, enrichParallelism), r -> {
+            Thread t = new Thread(r, "tmdb-enrich-" + threadSeq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        int total = titles.size();
+        int logEvery = Math.max(1, total / 10);
+        AtomicInteger done = new AtomicInteger();
+        long startedAt = System.currentTimeMillis();
+        log.info("🎬 TMDB 포스터 조회 시작 - 작품 {}개, 병렬도 {}", total, enrichParallelism);
+
+        try {
+            CompletableFuture<?>[] futures = titles.stream()
+                    .map(title -> CompletableFuture.runAsync(() -> {
+                        tmdbService.getPosterUrlByTitle(title).ifPresent(url -> posterUrls.put(title, url));
+                        int completed = done.incrementAndGet();
+                        if (completed % logEvery == 0 || completed == total) {
+                            log.info("🎬 TMDB 포스터 조회 진행 {}/{} (포스터 {}개, {}ms)",
+                                    completed, total, posterUrls.size(), System.currentTimeMillis() - startedAt);
+                        }
+                    }, executor))
+                    .toArray(CompletableFuture[]::new);
+
+            CompletableFuture.allOf(futures).join();
+        } finally {
+            executor.shutdownNow();
+        }
+        return posterUrls;
+    }
+
+    private String normalizeSpotNm(String spotNm) {
+        return spotNm.replace("촬영지", "").trim();
     }
 
     @Override
@@ -57,6 +157,22 @@ public class MediaSpotService implements IMediaSpotService {
         return all;
     }
 
+    @Override
+    public List<MediaSpot> getSpotsWithPoster() {
+        return repository.findAllWithPoster();
+    }
+
+    @Override
+    public MediaSpotListResultDTO getSpotsWithPosterSnapshot() {
+        ListSnapshot snapshot = currentListSnapshot();
+        return new MediaSpotListResultDTO(snapshot.eTag(), snapshot.spots());
+    }
+
+    @Override
+    public Stream<MediaSpot> streamSpotsWithPoster() {
+        return repository.streamAllWithPoster();
+    }
+
     @Override
     public List<MediaSpot> searchBySpotNm(String keyword) {
         return repository.findBySpotNmContainingIgnoreCase(keyword);
@@ -69,27 +185,179 @@ public class MediaSpotService implements IMediaSpotService {
 
     @Override
     public List<MediaSpotMapDTO> getAllMapReadySpots() {
-        return repository.findAll().stream().map(spot -> {
-            String address = String.format("%s %s %s %s %s",
-                    safe(spot.getSpotArea()),
-                    safe(spot.getSpotLegalDong()),
-                    safe(spot.getSpotRi()),
-                    safe(spot.getSpotRoadAddr()),
-                    safe(spot.getSpotBunji())
-            ).trim().replaceAll(" +", " ");
-
-            return MediaSpotMapDTO.builder()
-                    .spotNm(spot.getSpotNm())
-                    .address(address)
-                    .lat(parseDouble(spot.getSpotLat()))
-                    .lon(parseDouble(spot.getSpotLon()))
-                    .posterUrl(spot.getPosterUrl())
-                    .build();
-        }).toList();
-    }
-
-    private String safe(String s) {
-        return s != null ? s : "";
+        return currentMapSnapshot().spots();
+    }
+
+    @Override
+    public MediaSpotMapResultDTO getMapReadySnapshot() {
+        MapSnapshot snapshot = currentMapSnapshot();
+        return new MediaSpotMapResultDTO(snapshot.eTag(), snapshot.spots());
+    }
+
+    @Override
+    public Stream<MediaSpotMapDTO> streamMapReadySpots() {
+        return repository.streamAll()
+                .map(this::toMapDTO)
+                .filter(this::hasCoordinates);
+    }
+
+    @Override
+    public MediaSpotMapResultDTO getMapReadySpotsInBounds(double minLat, double minLon, double maxLat, double maxLon) {
+        MapSnapshot snapshot = currentMapSnapshot();
+
+        // 경도순 정렬 배열에서 이분 탐색으로 경도 구간을 찾고, 그 안에서 위도만 비교
+        int from = lowerBound(snapshot.lons(), minLon);
+        List<MediaSpotMapDTO> inBounds = new ArrayList<>();
+        for (int i = from; i < snapshot.lons().length && snapshot.lons()[i] <= maxLon; i++) {
+            MediaSpotMapDTO spot = snapshot.spots().get(i);
+            if (spot.getLat() >= minLat && spot.getLat() <= maxLat) {
+                inBounds.add(spot);
+            }
+        }
+
+        // 같은 스냅샷 + 같은 범위면 결과가 같으므로 본문을 해시하지 않고 ETag를 만듭니다.
+        String eTag = ETagUtil.fromBytes((snapshot.eTag() + "|" + minLat + "," + minLon + "," + maxLat + "," + maxLon)
+                .getBytes(StandardCharsets.UTF_8));
+        return new MediaSpotMapResultDTO(eTag, inBounds);
+    }
+
+    @Override
+    public MediaSpotMapResultDTO getMapReadySpotsInTile(int z, int x, int y) {
+        if (z < 0 || z > MAX_TILE_ZOOM) {
+            throw new IllegalArgumentException("z는 0~" + MAX_TILE_ZOOM + " 범위여야 합니다.");
+        }
+        int tiles = 1 << z;
+        if (x < 0 || x >= tiles || y < 0 || y >= tiles) {
+            throw new IllegalArgumentException("x, y는 0~" + (tiles - 1) + " 범위여야 합니다.");
+        }
+
+        // Web Mercator(slippy map) 타일 → 위경도 범위
+        double minLon = x * 360.0 / tiles - 180.0;
+        double maxLon = (x + 1) * 360.0 / tiles - 180.0;
+        double maxLat = tileLat(y, tiles);
+        double minLat = tileLat(y + 1, tiles);
+        return getMapReadySpotsInBounds(minLat, minLon, maxLat, maxLon);
+    }
+
+    /**
+     * 현재 지도 스냅샷. 확인 간격이 지났으면 문서 수를 비교하여 바뀌었을 때만 다시 만듭니다.
+     */
+    private MapSnapshot currentMapSnapshot() {
+        MapSnapshot snapshot = mapSnapshot;
+        long now = System.currentTimeMillis();
+        if (snapshot != null && now - mapCheckedAt < mapRefreshCheckIntervalMs) {
+            return snapshot;
+        }
+
+        synchronized (this) {
+            snapshot = mapSnapshot;
+            if (snapshot != null && now - mapCheckedAt < mapRefreshCheckIntervalMs) {
+                return snapshot;
+            }
+            long count = repository.count();
+            if (snapshot == null || snapshot.sourceCount() != count) {
+                snapshot = buildMapSnapshot();
+                mapSnapshot = snapshot;
+            }
+            mapCheckedAt = now;
+            return snapshot;
+        }
+    }
+
+    /**
+     * 현재 포스터 촬영지 목록 스냅샷. 갱신 간격이 지났을 때만 DB에서 다시 읽습니다.
+     * ETag는 응답에 나가는 필드(id, 작품명, 지역, 포스터 URL)의 해시라서 재시작이나 다른 서버에서도 같은 데이터면 같고,
+     * 포스터 URL 수정처럼 문서 수가 그대로인 변경도 반영됩니다.
+     */
+    private ListSnapshot currentListSnapshot() {
+        ListSnapshot snapshot = listSnapshot;
+        long now = System.currentTimeMillis();
+        if (snapshot != null && now - snapshot.loadedAt() < listRefreshIntervalMs) {
+            return snapshot;
+        }
+
+        synchronized (this) {
+            snapshot = listSnapshot;
+            if (snapshot != null && now - snapshot.loadedAt() < listRefreshIntervalMs) {
+                return snapshot;
+            }
+            List<MediaSpot> spots = List.copyOf(repository.findAllWithPoster());
+            StringBuilder content = new StringBuilder();
+            for (MediaSpot spot : spots) {
+                content.append(spot.getId()).append('\t')
+                        .append(spot.getSpotNm()).append('\t')
+                        .append(spot.getSpotArea()).append('\t')
+                        .append(spot.getPosterUrl()).append('\n');
+            }
+            String eTag = ETagUtil.fromBytes(content.toString().getBytes(StandardCharsets.UTF_8));
+            snapshot = new ListSnapshot(spots, eTag, now);
+            listSnapshot = snapshot;
+            return snapshot;
+        }
+    }
+
+    /**
+     * 주소 결합, 좌표 파싱을 한 번만 수행하여 경도순으로 정렬된 불변 스냅샷을 만듭니다.
+     * 좌표가 없는(0 또는 파싱 불가) 촬영지는 지도에 표시할 수 없으므로 제외합니다.
+     */
+    private MapSnapshot buildMapSnapshot() {
+        // 엔티티 전체 리스트를 만들지 않고 커서에서 바로 지도용 DTO로 변환
+        AtomicLong sourceCount = new AtomicLong();
+        List<MediaSpotMapDTO> spots;
+        try (Stream<MediaSpot> all = repository.streamAll()) {
+            spots = all.peek(spot -> sourceCount.incrementAndGet())
+                    .map(this::toMapDTO)
+                    .filter(this::hasCoordinates)
+                    .sorted(Comparator.comparingDouble(MediaSpotMapDTO::getLon))
+                    .toList();
+        }
+
+        double[] lons = new double[spots.size()];
+        for (int i = 0; i < lons.length; i++) {
+            lons[i] = spots.get(i).getLon();
+        }
+
+        String eTag = ETagUtil.fromJson(objectMapper, spots);
+        log.info("🗺 촬영지 지도 스냅샷 생성 - 마커 {}개 (전체 {}개), ETag {}", spots.size(), sourceCount.get(), eTag);
+        return new MapSnapshot(spots, lons, eTag, sourceCount.get());
+    }
+
+    private MediaSpotMapDTO toMapDTO(MediaSpot spot) {
+        return MediaSpotMapDTO.builder()
+                .spotNm(spot.getSpotNm())
+                .address(joinAddress(spot))
+                .lat(parseDouble(spot.getSpotLat()))
+                .lon(parseDouble(spot.getSpotLon()))
+                .posterUrl(spot.getPosterUrl())
+                .build();
+    }
+
+    private boolean hasCoordinates(MediaSpotMapDTO dto) {
+        return dto.getLat() != 0.0 && dto.getLon() != 0.0;
+    }
+
+    private String joinAddress(MediaSpot spot) {
+        StringJoiner address = new StringJoiner(" ");
+        for (String part : new String[]{spot.getSpotArea(), spot.getSpotLegalDong(), spot.getSpotRi(),
+                spot.getSpotRoadAddr(), spot.getSpotBunji()}) {
+            if (part != null && !part.isBlank()) address.add(part.trim());
+        }
+        return address.toString();
+    }
+
+    private int lowerBound(double[] sorted, double key) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private double tileLat(int y, int tiles) {
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2.0 * y / tiles))));
     }
 
     private double parseDouble(String s) {
@@ -1,51 +1,186 @@
 package kopo.jeonnam.service.impl.csv;
 
+import com.mongodb.bulk.BulkWriteResult;
+import kopo.jeonnam.dto.movie.MovieImportResultDTO;
 import kopo.jeonnam.repository.entity.movie.MovieEntity;
-import kopo.jeonnam.repository.mongo.movie.MovieRepository;
+import kopo.jeonnam.service.search.IAutocompleteService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.apache.commons.io.input.BOMInputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Service;
 
-import java.io.FileReader;
-import java.io.Reader;
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * 🎬 영화 촬영지 CSV(mediaInfo.csv) 임포트
+ * 파일 전체를 메모리에 올리지 않고 한 행씩 읽어, batchSize개씩 unordered bulkWrite로 upsert합니다.
+ * 제목 + 주소(planAddr)를 자연 키로 사용하므로 여러 번 실행해도 중복 문서가 생기지 않습니다.
+ */
+@Slf4j
 @Service
+@RequiredArgsConstructor
 public class MovieCsvService {
 
-    @Autowired
-    private MovieRepository movieRepository;
-
-    public void importCsv(String path) throws Exception {
-        Reader reader = new FileReader(path);
-        CSVParser parser = new CSVParser(reader, CSVFormat.DEFAULT
-                .withFirstRecordAsHeader());
-
-        List<MovieEntity> movieList = new ArrayList<>();
-        for (CSVRecord record : parser) {
-            MovieEntity movie = new MovieEntity();
-            movie.setTitle(record.get("title"));
-            movie.setLocation(record.get("planArea"));
-            movie.setPosterUrl(record.get("posterURL"));
-            movie .setAddr(record.get("planAddr"));
-
-            try {
-                movie.setX(Double.parseDouble(record.get("planLon")));
-                movie.setY(Double.parseDouble(record.get("planLat")));
-            } catch (NumberFormatException e) {
-                movie.setX(0);
-                movie.setY(0);
+    public static final String DEFAULT_CSV_LOCATION = "data/mediaInfo.csv";
+
+    private final MongoTemplate mongoTemplate;
+    private final IAutocompleteService autocompleteService;
+
+    @Value("${movie.csv.charset:UTF-8}")
+    private String charset;
+
+    @Value("${movie.csv.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * 클래스패스의 CSV를 임포트합니다. (실행 디렉터리와 무관하게 jar 안의 파일도 읽을 수 있음)
+     *
+     * @param location 클래스패스 기준 경로 (예: {@link #DEFAULT_CSV_LOCATION})
+     */
+    public MovieImportResultDTO importCsvFromClasspath(String location) throws Exception {
+        try (InputStream inputStream = new ClassPathResource(location).getInputStream()) {
+            return importCsv(inputStream);
+        }
+    }
+
+    /**
+     * CSV 스트림을 읽어 영화 데이터를 upsert합니다. (스트림은 호출한 쪽에서 닫습니다)
+     *
+     * @param csvInputStream mediaInfo.csv 형식의 입력 (헤더: title, posterURL, planArea, planAddr, planLat, planLon)
+     * @return 읽은 행 / 건너뛴 행 / 추가·변경 건수와 처리 속도
+     */
+    public MovieImportResultDTO importCsv(InputStream csvInputStream) throws Exception {
+        long started = System.nanoTime();
+        ensureNaturalKeyIndex();
+
+        long read = 0;
+        long invalid = 0;
+        long inserted = 0;
+        long modified = 0;
+        long matched = 0;
+        int batches = 0;
+        List<Pair<Query, Update>> batch = new ArrayList<>(batchSize);
+
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new BOMInputStream(csvInputStream), Charset.forName(charset)));
+        try (CSVParser parser = new CSVParser(reader, CSVFormat.DEFAULT.withFirstRecordAsHeader())) {
+            for (CSVRecord record : parser) {
+                read++;
+                Pair<Query, Update> upsert = toUpsert(record);
+                if (upsert == null) {
+                    invalid++;
+                    continue;
+                }
+                batch.add(upsert);
+
+                if (batch.size() >= batchSize) {
+                    BulkWriteResult result = flush(batch);
+                    inserted += result.getUpserts().size();
+                    modified += result.getModifiedCount();
+                    matched += result.getMatchedCount();
+                    batches++;
+                }
             }
+        }
+        if (!batch.isEmpty()) {
+            BulkWriteResult result = flush(batch);
+            inserted += result.getUpserts().size();
+            modified += result.getModifiedCount();
+            matched += result.getMatchedCount();
+            batches++;
+        }
+
+        // bulkWrite는 저장 이벤트가 발생하지 않으므로 영화 자동완성 색인을 다시 만들도록 표시
+        if (inserted + modified > 0) {
+            autocompleteService.invalidate(IAutocompleteService.TYPE_MOVIE);
+        }
+
+        long elapsedMs = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        MovieImportResultDTO result = new MovieImportResultDTO(read, invalid, inserted, modified, matched - modified,
+                batches, elapsedMs, read * 1000.0 / elapsedMs);
+        log.info("🎬 영화 CSV 임포트 완료 - 읽음 {}, 건너뜀 {}, 추가 {}, 변경 {}, 동일 {}, 배치 {}회, {}ms ({} rows/s)",
+                result.read(), result.invalid(), result.inserted(), result.modified(), result.unchanged(),
+                result.batches(), result.elapsedMs(), String.format("%.1f", result.rowsPerSecond()));
+        return result;
+    }
 
-            movieList.add(movie);
+    /**
+     * 한 행을 자연 키(title + addr) 기준 upsert로 변환합니다. 제목 또는 주소가 없으면 null (건너뜀)
+     * 좌표가 숫자가 아니거나 범위를 벗어나면 기존처럼 0으로 저장합니다. (지도에는 표시되지 않음)
+     */
+    private Pair<Query, Update> toUpsert(CSVRecord record) {
+        String title = value(record, "title");
+        String addr = value(record, "planAddr");
+        if (title.isEmpty() || addr.isEmpty()) {
+            log.warn("⚠️ 영화 CSV {}행 건너뜀 - 제목 또는 주소 누락 (title='{}', planAddr='{}')",
+                    record.getRecordNumber() + 1, title, addr);
+            return null;
         }
 
-        movieRepository.saveAll(movieList);
+        String location = value(record, "planArea");
+        double lat = coordinate(value(record, "planLat"), 90);
+        double lon = coordinate(value(record, "planLon"), 180);
+        if (lat == 0 || lon == 0) {
+            log.debug("영화 CSV {}행 좌표 없음 - 0으로 저장 (title='{}')", record.getRecordNumber() + 1, title);
+        }
 
-        parser.close();
-        reader.close();
+        Query key = Query.query(Criteria.where("title").is(title).and("addr").is(addr));
+        Update update = new Update()
+                .set("location", location)
+                .set("posterUrl", value(record, "posterURL"))
+                .set("x", lon)
+                .set("y", lat)
+                .set("searchGrams", MovieEntity.toSearchGrams(title, location, addr));
+        return Pair.of(key, update);
+    }
+
+    // 모은 upsert를 한 번의 unordered bulkWrite로 반영 (BulkOperations는 실행 후 재사용하지 않음)
+    private BulkWriteResult flush(List<Pair<Query, Update>> batch) {
+        BulkWriteResult result = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MovieEntity.class)
+                .upsert(batch)
+                .execute();
+        batch.clear();
+        return result;
+    }
+
+    // upsert 조회 조건(title + addr)용 인덱스 - 자동 인덱스 생성이 꺼져 있으므로 직접 보장
+    private void ensureNaturalKeyIndex() {
+        mongoTemplate.indexOps(MovieEntity.class).ensureIndex(new Index()
+                .on("title", Sort.Direction.ASC)
+                .on("addr", Sort.Direction.ASC)
+                .named("title_1_addr_1"));
+    }
+
+    private String value(CSVRecord record, String column) {
+        if (!record.isMapped(column) || !record.isSet(column)) return "";
+        String value = record.get(column);
+        return value == null ? "" : value.trim();
+    }
+
+    private double coordinate(String text, double limit) {
+        try {
+            double value = Double.parseDouble(text);
+            return Double.isFinite(value) && Math.abs(value) <= limit ? value : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
     }
 }
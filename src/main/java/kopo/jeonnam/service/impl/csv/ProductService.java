@@ -10,6 +10,7 @@ import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * 🎯 ProductService 구현체
@@ -50,6 +51,21 @@ public class ProductService implements IProductService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Stream<ProductDTO> streamByAreaAndKeyword(String area, String keyword) {
+        log.info("🌊 스트리밍 조회 - 지역 필터: '{}', 키워드 검색: '{}'", area, keyword);
+
+        // 모두 공백이면 전체 조회
+        if ((area == null || area.isBlank()) && (keyword == null || keyword.isBlank())) {
+            return productRepository.streamAll().map(Product::toDTO);
+        }
+
+        return productRepository.streamByProAreaContainingIgnoreCaseAndProNameContainingIgnoreCase(
+                area == null ? "" : area,
+                keyword == null ? "" : keyword
+        ).map(Product::toDTO);
+    }
+
     @Override
     public void saveAll(List<ProductDTO> dtoList) {
         log.info("📝 총 {}개의 product 저장 요청", dtoList.size());
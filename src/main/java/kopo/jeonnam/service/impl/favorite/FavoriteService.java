@@ -11,8 +11,8 @@ import kopo.jeonnam.dto.favorite.FavoriteDTO;
 import kopo.jeonnam.dto.favorite.TourDTO;
 import kopo.jeonnam.repository.entity.favorite.FavoriteEntity;
 import kopo.jeonnam.repository.mongo.favorite.FavoriteRepository;
+import kopo.jeonnam.service.api.IHttpClientService;
 import kopo.jeonnam.service.favorite.IFavoriteService;
-import kopo.jeonnam.util.NetworkUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -25,6 +25,7 @@ public class FavoriteService implements IFavoriteService {
 
     private final FavoriteRepository favoriteRepository;
     private final ObjectMapper objectMapper;
+    private final IHttpClientService httpClientService;
 
     @Value("${KakaoRestApiKey}")
     private String kakaoRestApiKey;
@@ -129,6 +130,20 @@ public class FavoriteService implements IFavoriteService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<FavoriteDTO> findFavoritesWithinRadius(String email, double lat, double lng, double radiusMeters) {
+        return favoriteRepository.findWithinRadius(email, lat, lng, radiusMeters).stream()
+                .map(this::toDTO)
+                .toList();
+    }
+
+    @Override
+    public List<FavoriteDTO> findNearestFavorites(String email, double lat, double lng, int k) {
+        return favoriteRepository.findNearest(email, lat, lng, k).stream()
+                .map(this::toDTO)
+                .toList();
+    }
+
     // ✅ Kakao 로컬 API를 이용한 관광지 검색
     @Override
     public List<TourDTO> searchTourByKeyword(String keyword) {
@@ -143,11 +158,9 @@ public class FavoriteService implements IFavoriteService {
             String encodedKeyword = URLEncoder.encode(keyword, StandardCharsets.UTF_8);
             String url = "https://dapi.kakao.com/v2/local/search/keyword.json?query=" + encodedKeyword;
 
-            String response = NetworkUtil.get(url, Map.of(
+            JsonNode root = httpClientService.get(url, Map.of(
                     "Authorization", "KakaoAK " + kakaoRestApiKey
-            ));
-
-            JsonNode root = objectMapper.readTree(response);
+            ), (status, body) -> objectMapper.readTree(body));
             JsonNode documents = root.get("documents");
 
             List<TourDTO> results = new ArrayList<>();
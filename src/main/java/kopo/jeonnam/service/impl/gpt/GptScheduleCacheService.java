@@ -0,0 +1,241 @@
+package kopo.jeonnam.service.impl.gpt;
+
+import jakarta.annotation.PostConstruct;
+import kopo.jeonnam.dto.gpt.GptScheduleCacheStatsDTO;
+import kopo.jeonnam.repository.entity.gpt.GptScheduleCacheEntity;
+import kopo.jeonnam.repository.mongo.gpt.GptScheduleCacheRepository;
+import kopo.jeonnam.service.gpt.IGptScheduleCacheService;
+import kopo.jeonnam.service.gpt.IPlaceCatalogService;
+import kopo.jeonnam.util.ETagUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 💾 GPT 일정 캐시 구현체
+ * - 1차: 크기 제한 LRU 메모리 캐시 (항목별 만료 시각 포함)
+ * - 2차: 선택적 MongoDB 캐시 (expiresAt TTL 인덱스로 자동 만료)
+ * - 키에 장소 카탈로그 지문이 포함되어 카탈로그가 바뀌면 이전 결과는 더 이상 적중하지 않고,
+ *   변경을 감지한 시점에 메모리 캐시와 이전 지문의 MongoDB 문서를 정리합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GptScheduleCacheService implements IGptScheduleCacheService {
+
+    private static final char FIELD_SEPARATOR = '\u001F';
+
+    private final IPlaceCatalogService placeCatalogService;
+    private final GptScheduleCacheRepository gptScheduleCacheRepository;
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${gpt.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gpt.cache.memory.max-entries:500}")
+    private int maxEntries;
+
+    @Value("${gpt.cache.ttl-ms:86400000}")
+    private long ttlMs;
+
+    @Value("${gpt.cache.mongo.enabled:false}")
+    private boolean mongoEnabled;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong mongoHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong puts = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private record Entry(String schedule, long expiresAt) {}
+
+    /** 접근 순서 LinkedHashMap 기반 LRU (모든 접근은 synchronized (memory)) */
+    private Map<String, Entry> memory;
+
+    private volatile String cachedFingerprint;
+
+    @PostConstruct
+    public void init() {
+        memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+        cachedFingerprint = placeCatalogService.getFingerprint();
+
+        if (enabled && mongoEnabled) {
+            // 자동 인덱스 생성이 꺼져 있어도 TTL 인덱스가 존재하도록 직접 보장
+            mongoTemplate.indexOps(GptScheduleCacheEntity.class)
+                    .ensureIndex(new Index().on("expiresAt", Sort.Direction.ASC).expire(0, TimeUnit.SECONDS));
+        }
+        log.info("GPT 일정 캐시 초기화 - enabled={}, maxEntries={}, ttlMs={}, mongoEnabled={}",
+                enabled, maxEntries, ttlMs, mongoEnabled);
+    }
+
+    @Override
+    public String buildKey(Set<String> favoriteNames, String startDate, int tripDays,
+                           String departurePlace, String departureTime, String additionalPrompt) {
+        // 찜 장소는 공백 제거 후 정렬하여 순서와 무관하게 같은 키가 되도록 합니다.
+        TreeSet<String> sortedFavorites = new TreeSet<>();
+        if (favoriteNames != null) {
+            for (String name : favoriteNames) {
+                String normalized = normalize(name);
+                if (!normalized.isEmpty()) sortedFavorites.add(normalized);
+            }
+        }
+
+        StringBuilder canonical = new StringBuilder()
+                .append(placeCatalogService.getFingerprint()).append(FIELD_SEPARATOR)
+                .append(String.join(String.valueOf(FIELD_SEPARATOR), sortedFavorites)).append(FIELD_SEPARATOR)
+                .append(normalize(startDate)).append(FIELD_SEPARATOR)
+                .append(tripDays).append(FIELD_SEPARATOR)
+                .append(normalize(departurePlace)).append(FIELD_SEPARATOR)
+                .append(normalize(departureTime)).append(FIELD_SEPARATOR)
+                .append(normalize(additionalPrompt));
+
+        return ETagUtil.sha256Hex(canonical.toString());
+    }
+
+    @Override
+    public Optional<String> get(String key) {
+        if (!enabled) return Optional.empty();
+        invalidateIfCatalogChanged();
+
+        long now = System.currentTimeMillis();
+        synchronized (memory) {
+            Entry entry = memory.get(key);
+            if (entry != null) {
+                if (entry.expiresAt() > now) {
+                    memoryHits.incrementAndGet();
+                    log.info("GPT 일정 캐시 적중 (memory) - key: {}", key);
+                    return Optional.of(entry.schedule());
+                }
+                memory.remove(key);
+                evictions.incrementAndGet();
+            }
+        }
+
+        if (mongoEnabled) {
+            try {
+                Optional<GptScheduleCacheEntity> stored = gptScheduleCacheRepository.findById(key)
+                        .filter(e -> e.getExpiresAt() != null && e.getExpiresAt().getTime() > now);
+                if (stored.isPresent()) {
+                    mongoHits.incrementAndGet();
+                    log.info("GPT 일정 캐시 적중 (mongo) - key: {}", key);
+                    putMemory(key, new Entry(stored.get().getSchedule(), stored.get().getExpiresAt().getTime()));
+                    return Optional.of(stored.get().getSchedule());
+                }
+            } catch (Exception e) {
+                // 캐시 장애가 일정 생성 자체를 막지 않도록 실패로 간주하고 진행
+                log.warn("GPT 일정 캐시 MongoDB 조회 실패 - key: {}, {}", key, e.getMessage());
+            }
+        }
+
+        misses.incrementAndGet();
+        return Optional.empty();
+    }
+
+    @Override
+    public void put(String key, String scheduleJson) {
+        if (!enabled || scheduleJson == null) return;
+        invalidateIfCatalogChanged();
+
+        long now = System.currentTimeMillis();
+        long expiresAt = now + ttlMs;
+        putMemory(key, new Entry(scheduleJson, expiresAt));
+        puts.incrementAndGet();
+
+        if (mongoEnabled) {
+            try {
+                gptScheduleCacheRepository.save(GptScheduleCacheEntity.builder()
+                        .id(key)
+                        .catalogFingerprint(cachedFingerprint)
+                        .schedule(scheduleJson)
+                        .createdAt(new Date(now))
+                        .expiresAt(new Date(expiresAt))
+                        .build());
+            } catch (Exception e) {
+                log.warn("GPT 일정 캐시 MongoDB 저장 실패 - key: {}, {}", key, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public GptScheduleCacheStatsDTO getStats() {
+        int size;
+        synchronized (memory) {
+            size = memory.size();
+        }
+        return GptScheduleCacheStatsDTO.builder()
+                .memoryHits(memoryHits.get())
+                .mongoHits(mongoHits.get())
+                .misses(misses.get())
+                .puts(puts.get())
+                .evictions(evictions.get())
+                .memorySize(size)
+                .mongoEnabled(mongoEnabled)
+                .catalogFingerprint(cachedFingerprint)
+                .build();
+    }
+
+    private void putMemory(String key, Entry entry) {
+        synchronized (memory) {
+            memory.put(key, entry);
+        }
+    }
+
+    /**
+     * 장소 카탈로그 지문이 바뀌었으면 메모리 캐시를 비우고 이전 지문의 MongoDB 문서를 삭제합니다.
+     */
+    private void invalidateIfCatalogChanged() {
+        String fingerprint = placeCatalogService.getFingerprint();
+        if (fingerprint.equals(cachedFingerprint)) return;
+
+        synchronized (this) {
+            if (fingerprint.equals(cachedFingerprint)) return;
+
+            int cleared;
+            synchronized (memory) {
+                cleared = memory.size();
+                memory.clear();
+            }
+            evictions.addAndGet(cleared);
+            cachedFingerprint = fingerprint;
+            log.info("장소 카탈로그 변경 감지 - GPT 일정 메모리 캐시 {}건 비움", cleared);
+
+            if (mongoEnabled) {
+                try {
+                    long deleted = gptScheduleCacheRepository.deleteByCatalogFingerprintNot(fingerprint);
+                    log.info("장소 카탈로그 변경 감지 - GPT 일정 MongoDB 캐시 {}건 삭제", deleted);
+                } catch (Exception e) {
+                    log.warn("GPT 일정 캐시 MongoDB 정리 실패: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * 앞뒤 공백 제거 + 연속 공백을 하나로 (null은 빈 문자열)
+     */
+    private String normalize(String value) {
+        return value == null ? "" : value.trim().replaceAll("\\s+", " ");
+    }
+}
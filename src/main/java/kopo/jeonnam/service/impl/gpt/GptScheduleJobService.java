@@ -0,0 +1,247 @@
+package kopo.jeonnam.service.impl.gpt;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kopo.jeonnam.dto.gpt.GptRequestDTO;
+import kopo.jeonnam.dto.gpt.GptScheduleJobDTO;
+import kopo.jeonnam.service.gpt.IGptScheduleJobService;
+import kopo.jeonnam.service.gpt.IGptService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 🕒 GPT 일정 생성 비동기 작업 서비스 구현체
+ * - 고정 크기 작업 풀 + 크기가 제한된 대기열에서 OpenAI 호출을 실행합니다.
+ * - 사용자별 동시 작업 수를 제한하고, 완료된 작업 결과는 일정 시간 동안만 보관합니다. (주기적으로 만료 작업 정리)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GptScheduleJobService implements IGptScheduleJobService {
+
+    private final IGptService gptService;
+
+    // 롱 폴링 최대 대기 시간. 비동기 요청 타임아웃(spring.mvc.async.request-timeout, 미설정 시 Tomcat 기본 30초)보다
+    // 충분히 짧아야 타임아웃 오류 대신 202 진행 상태로 응답합니다.
+    @Value("${gpt.async.max-wait-ms:25000}")
+    private long maxWaitMs;
+
+    @Value("${gpt.async.pool-size:8}")
+    private int poolSize;
+
+    @Value("${gpt.async.queue-capacity:50}")
+    private int queueCapacity;
+
+    @Value("${gpt.async.max-jobs-per-user:2}")
+    private int maxJobsPerUser;
+
+    @Value("${gpt.async.result-ttl-ms:600000}")
+    private long resultTtlMs;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Map<String, Integer> activeJobsByUser = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+
+    /**
+     * 작업 한 건의 상태 (작업 스레드가 갱신하고 요청 스레드가 읽습니다)
+     */
+    private static final class Job {
+        final String jobId;
+        final String userId;
+        final long createdAt = System.currentTimeMillis();
+        final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+        volatile GptScheduleJobDTO.Status status = GptScheduleJobDTO.Status.QUEUED;
+        volatile String result;
+        volatile String error;
+        volatile long finishedAt;
+
+        Job(String jobId, String userId) {
+            this.jobId = jobId;
+            this.userId = userId;
+        }
+
+        GptScheduleJobDTO toDTO() {
+            return GptScheduleJobDTO.builder()
+                    .jobId(jobId)
+                    .status(status)
+                    .result(result)
+                    .error(error)
+                    .createdAt(createdAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadSeq = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "gpt-job-" + threadSeq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        executor.allowCoreThreadTimeOut(true);
+        log.info("GPT 비동기 작업 풀 초기화 - poolSize={}, queueCapacity={}, maxJobsPerUser={}",
+                poolSize, queueCapacity, maxJobsPerUser);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public GptScheduleJobDTO submit(String userId, GptRequestDTO request) {
+        evictExpiredJobs();
+
+        Job job = new Job(UUID.randomUUID().toString(), userId);
+        jobs.put(job.jobId, job);
+
+        try {
+            // 결과를 기다리는 쪽이 깨어났을 때 사용자 슬롯이 이미 반납되어 있도록, 슬롯 반납 뒤에 완료 신호를 보냅니다.
+            dispatch(userId, () -> run(job, request), () -> job.completion.complete(null));
+        } catch (IllegalStateException e) {
+            jobs.remove(job.jobId);
+            throw e;
+        }
+
+        log.info("GPT 작업 등록 - jobId: {}, userId: {}, 대기 중 작업 수: {}", job.jobId, userId, executor.getQueue().size());
+        return job.toDTO();
+    }
+
+    @Override
+    public void execute(String userId, Runnable task) {
+        dispatch(userId, task, () -> {});
+    }
+
+    /**
+     * 사용자 슬롯을 확보하고 작업 풀에 넣습니다. 작업이 끝나면 슬롯을 반납한 뒤 afterRelease를 실행합니다.
+     */
+    private void dispatch(String userId, Runnable task, Runnable afterRelease) {
+        if (!tryAcquireUserSlot(userId)) {
+            log.warn("GPT 작업 거절 - 사용자 동시 작업 수 초과 (userId: {}, limit: {})", userId, maxJobsPerUser);
+            throw new IllegalStateException("진행 중인 일정 생성 요청이 너무 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    releaseUserSlot(userId);
+                    afterRelease.run();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            releaseUserSlot(userId);
+            log.warn("GPT 작업 거절 - 대기열 가득 참 (queueCapacity: {})", queueCapacity);
+            throw new IllegalStateException("일정 생성 요청이 많아 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.");
+        }
+    }
+
+    @Override
+    public Optional<GptScheduleJobDTO> getJob(String userId, String jobId) {
+        return findOwnedJob(userId, jobId).map(Job::toDTO);
+    }
+
+    @Override
+    public CompletableFuture<Optional<GptScheduleJobDTO>> awaitJob(String userId, String jobId, long waitMs) {
+        Optional<Job> found = findOwnedJob(userId, jobId);
+        if (found.isEmpty()) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        Job job = found.get();
+        if (waitMs <= 0 || job.completion.isDone()) {
+            return CompletableFuture.completedFuture(Optional.of(job.toDTO()));
+        }
+
+        // 원본 future에 타임아웃 값을 채우지 않도록 복사본에서 대기합니다.
+        return job.completion.copy()
+                .completeOnTimeout(null, Math.min(waitMs, maxWaitMs), TimeUnit.MILLISECONDS)
+                .thenApply(ignored -> Optional.of(job.toDTO()));
+    }
+
+    private void run(Job job, GptRequestDTO request) {
+        job.status = GptScheduleJobDTO.Status.RUNNING;
+        log.info("GPT 작업 시작 - jobId: {}", job.jobId);
+        try {
+            job.result = gptService.createScheduleWithFavorites(
+                    new HashSet<>(request.places()),
+                    request.startDate(),
+                    request.tripDays(),
+                    request.departurePlace(),
+                    request.departureTime(),
+                    request.additionalPrompt()
+            );
+            job.status = GptScheduleJobDTO.Status.DONE;
+        } catch (Exception e) {
+            log.error("GPT 작업 실패 - jobId: {}", job.jobId, e);
+            job.error = e.getMessage();
+            job.status = GptScheduleJobDTO.Status.FAILED;
+        } finally {
+            job.finishedAt = System.currentTimeMillis();
+            log.info("GPT 작업 종료 - jobId: {}, status: {}, 소요: {}ms", job.jobId, job.status, job.finishedAt - job.createdAt);
+        }
+    }
+
+    private Optional<Job> findOwnedJob(String userId, String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null || !job.userId.equals(userId)) {
+            return Optional.empty();
+        }
+        return Optional.of(job);
+    }
+
+    /**
+     * 사용자별 동시 작업 슬롯 확보 (compute로 확인과 증가를 원자적으로 처리)
+     */
+    private boolean tryAcquireUserSlot(String userId) {
+        boolean[] acquired = {false};
+        activeJobsByUser.compute(userId, (key, count) -> {
+            int current = count == null ? 0 : count;
+            if (current >= maxJobsPerUser) {
+                return count;
+            }
+            acquired[0] = true;
+            return current + 1;
+        });
+        return acquired[0];
+    }
+
+    private void releaseUserSlot(String userId) {
+        activeJobsByUser.computeIfPresent(userId, (key, count) -> count <= 1 ? null : count - 1);
+    }
+
+    /**
+     * 보관 시간이 지난 완료 작업 정리 (새 작업 등록이 없어도 결과가 쌓이지 않도록 주기적으로 실행)
+     */
+    @Scheduled(fixedDelayString = "${gpt.async.evict-interval-ms:60000}")
+    public void evictExpiredJobs() {
+        long now = System.currentTimeMillis();
+        jobs.values().removeIf(job -> job.finishedAt > 0 && now - job.finishedAt > resultTtlMs);
+    }
+}
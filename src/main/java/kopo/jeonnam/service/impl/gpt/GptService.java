@@ -1,28 +1,37 @@
 package kopo.jeonnam.service.impl.gpt;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PostConstruct;
 import kopo.jeonnam.dto.gpt.PlaceInfoDTO;
+import kopo.jeonnam.service.gpt.GptStreamCancellation;
+import kopo.jeonnam.service.gpt.IGptScheduleCacheService;
 import kopo.jeonnam.service.gpt.IGptService;
+import kopo.jeonnam.service.gpt.IPlaceCatalogService;
+import kopo.jeonnam.service.gpt.IPromptCompactionService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import okhttp3.*;
+import okio.BufferedSource;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Objects;
 import java.util.HashSet; // HashSet 추가
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class GptService implements IGptService {
@@ -30,13 +39,28 @@ public class GptService implements IGptService {
     @Value("${openai.api.key}")
     private String apiKey;
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final IPlaceCatalogService placeCatalogService;
+    private final IGptScheduleCacheService gptScheduleCacheService;
+    private final IPromptCompactionService promptCompactionService;
+
+    private final ObjectMapper objectMapper; // 스프링이 구성한 공용 ObjectMapper
+
+    // 요청마다 만들지 않도록 미리 만든 writer (ObjectWriter는 불변이라 여러 스레드가 함께 사용)
+    private ObjectWriter chatRequestWriter;
+    private ObjectWriter prettyWriter;
+
     private final OkHttpClient client = new OkHttpClient.Builder()
             .connectTimeout(30, TimeUnit.SECONDS)
             .writeTimeout(30, TimeUnit.SECONDS)
             .readTimeout(60, TimeUnit.SECONDS)
             .build();
 
+    @PostConstruct
+    public void init() {
+        chatRequestWriter = objectMapper.writerFor(ChatRequest.class);
+        prettyWriter = objectMapper.writerWithDefaultPrettyPrinter();
+    }
+
     /**
      * [1] 사용자가 찜한 장소명 목록 (클라이언트에서 선택된 모든 장소)을 기반으로 일정 생성.
      * places.json의 모든 장소와 사용자가 선택한 찜 장소(places.json에 없어도 추가)를 GPT에 전달합니다.
@@ -49,23 +73,48 @@ public class GptService implements IGptService {
             String departureTime,
             String additionalPrompt
     ) {
-        List<PlaceInfoDTO> allPlaces = loadAllPlaces(); // places.json의 모든 장소 로드
+        // 동일한 입력으로 이미 생성한 일정이 있으면 OpenAI를 다시 호출하지 않습니다.
+        String cacheKey = gptScheduleCacheService.buildKey(favoriteNames, startDate, tripDays, departurePlace, departureTime, additionalPrompt);
+        Optional<String> cached = gptScheduleCacheService.get(cacheKey);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        List<PlaceInfoDTO> finalPlacesForGpt = resolvePlacesWithFavorites(favoriteNames, departurePlace);
+
+        if (finalPlacesForGpt.isEmpty()) {
+            System.err.println("WARN: GPT에 전달할 장소가 없습니다. places.json 파일에 유효한 장소가 있는지 확인해주세요.");
+            return "{\"error\": \"일정 생성을 위한 장소 데이터가 부족합니다. places.json 파일을 확인해주세요.\"}";
+        }
+
+        String schedule = createScheduleFromRequest(
+                finalPlacesForGpt, // 이 리스트는 이제 사용자가 선택한 모든 찜 장소(또는 가상 장소)를 포함합니다.
+                startDate,
+                tripDays,
+                departurePlace,
+                departureTime,
+                additionalPrompt,
+                primaryFavoriteName(favoriteNames), // 프롬프트의 '기준 장소' 컨텍스트용 (첫 번째 찜 장소)
+                favoriteNames // GPT 프롬프트에서 '사용자가 특별히 요청한 장소들'을 명시하기 위함
+        );
+        cacheIfSuccessful(cacheKey, schedule);
+        return schedule;
+    }
+
+    /**
+     * places.json의 모든 장소에 사용자가 선택한 찜 장소를 더한 GPT 전달용 장소 목록을 만듭니다.
+     * places.json에 없는 찜 장소는 출발지를 주소로 하는 가상 장소로 추가합니다.
+     */
+    private List<PlaceInfoDTO> resolvePlacesWithFavorites(Set<String> favoriteNames, String departurePlace) {
+        List<PlaceInfoDTO> allPlaces = placeCatalogService.getAllPlaces(); // 시작 시 로드된 장소 카탈로그 (불변)
 
         // GPT에 전달할 최종 장소 목록을 places.json의 모든 장소로 시작
         List<PlaceInfoDTO> finalPlacesForGpt = new ArrayList<>(allPlaces);
 
-        // 프롬프트에 사용될 '기준' 장소 이름 (첫 번째 찜 장소 또는 기본값)
-        final String primaryFavoriteNameForPrompt;
-        final String firstClientFavoriteName;
-
         if (favoriteNames != null && !favoriteNames.isEmpty()) {
-            firstClientFavoriteName = favoriteNames.iterator().next(); // 첫 번째 찜 장소만 프롬프트 컨텍스트용으로 사용
-            primaryFavoriteNameForPrompt = firstClientFavoriteName;
-
             // 선택된 각 찜 장소를 순회하며 finalPlacesForGpt에 추가 (places.json에 없으면 가상 장소로)
             for (String selectedFavName : favoriteNames) {
-                boolean foundInAllPlaces = allPlaces.stream()
-                        .anyMatch(p -> Objects.equals(p.name(), selectedFavName));
+                boolean foundInAllPlaces = placeCatalogService.containsName(selectedFavName);
 
                 if (!foundInAllPlaces) {
                     System.err.println("WARN: 찜한 장소 '" + selectedFavName + "'을 places.json에서 찾을 수 없습니다. " +
@@ -78,30 +127,23 @@ public class GptService implements IGptService {
                 }
             }
         } else {
-            firstClientFavoriteName = null;
-            primaryFavoriteNameForPrompt = "선택된 찜 장소 없음";
             System.err.println("WARN: 일정 생성을 위한 찜 장소가 선택되지 않았습니다. places.json의 모든 장소를 사용합니다.");
         }
 
-        if (finalPlacesForGpt.isEmpty()) {
-            System.err.println("WARN: GPT에 전달할 장소가 없습니다. places.json 파일에 유효한 장소가 있는지 확인해주세요.");
-            return "{\"error\": \"일정 생성을 위한 장소 데이터가 부족합니다. places.json 파일을 확인해주세요.\"}";
-        }
-
         System.out.println("DEBUG: GPT에 전달할 최종 장소 개수 (선택된 모든 찜 장소 포함): " + finalPlacesForGpt.size());
         finalPlacesForGpt.stream().limit(10).forEach(p -> System.out.println("  - 최종 전달 장소: " + p.name() + " (" + p.addr() + ")"));
 
+        return finalPlacesForGpt;
+    }
 
-        return createScheduleFromRequest(
-                finalPlacesForGpt, // 이 리스트는 이제 사용자가 선택한 모든 찜 장소(또는 가상 장소)를 포함합니다.
-                startDate,
-                tripDays,
-                departurePlace,
-                departureTime,
-                additionalPrompt,
-                primaryFavoriteNameForPrompt, // 프롬프트의 '기준 장소' 컨텍스트용 (첫 번째 찜 장소)
-                favoriteNames // GPT 프롬프트에서 '사용자가 특별히 요청한 장소들'을 명시하기 위함
-        );
+    /**
+     * 프롬프트에 사용될 '기준' 장소 이름 (첫 번째 찜 장소 또는 기본값)
+     */
+    private String primaryFavoriteName(Set<String> favoriteNames) {
+        if (favoriteNames != null && !favoriteNames.isEmpty()) {
+            return favoriteNames.iterator().next(); // 첫 번째 찜 장소만 프롬프트 컨텍스트용으로 사용
+        }
+        return "선택된 찜 장소 없음";
     }
 
     /**
@@ -142,8 +184,11 @@ public class GptService implements IGptService {
         System.out.println("==========================================================");
 
 
+        // 출발지/찜 장소와 가까운 장소만 토큰 예산 안에서 프롬프트에 넣습니다. (응답 필터는 전체 목록 기준)
+        List<PlaceInfoDTO> promptPlaces = promptCompactionService.selectCandidates(places, actualSelectedFavoriteNames, departurePlace);
+
         String prompt = generatePromptFromLocations(
-                places,
+                promptPlaces,
                 startDate,
                 tripDays,
                 departurePlace,
@@ -153,22 +198,12 @@ public class GptService implements IGptService {
                 actualSelectedFavoriteNames // 프롬프트에서 '사용자가 특별히 요청한 장소들'을 명시하기 위함
         );
 
-        System.out.println("=== GPT 프롬프트 ===");
+        System.out.println("=== GPT 프롬프트 (추정 토큰: " + promptCompactionService.estimateTokens(prompt) + ") ===");
         System.out.println(prompt);
         System.out.println("===================");
 
         try {
-            String jsonBody = objectMapper.writeValueAsString(
-                    new ChatRequest("gpt-4o", new Message[]{ new Message("user", prompt) }, 1500, 0.2f)
-            );
-
-            RequestBody body = RequestBody.create(jsonBody, MediaType.get("application/json; charset=utf-8"));
-
-            Request request = new Request.Builder()
-                    .url("https://api.openai.com/v1/chat/completions")
-                    .header("Authorization", "Bearer " + apiKey)
-                    .post(body)
-                    .build();
+            Request request = buildChatRequest(prompt, false);
 
             try (Response response = client.newCall(request).execute()) {
                 if (!response.isSuccessful()) {
@@ -203,48 +238,20 @@ public class GptService implements IGptService {
 
                 ObjectNode filteredSchedule = objectMapper.createObjectNode();
 
+                // 허용 장소 (이름, 주소) 해시 인덱스는 요청당 한 번만 만들고 모든 활동 검사에 재사용합니다.
+                PlaceAllowList allowList = new PlaceAllowList(places, actualSelectedFavoriteNames, departurePlace);
+
                 scheduleNode.fieldNames().forEachRemaining(date -> {
                     JsonNode dailyActivities = scheduleNode.get(date);
                     if (dailyActivities.isArray()) {
-                        ArrayNode filteredDailyActivities = objectMapper.createArrayNode();
-                        for (JsonNode activity : dailyActivities) {
-                            String placeName = activity.path("place").asText("");
-                            String placeAddr = activity.path("addr").asText("");
-
-                            boolean isAllowed = false;
-                            // ⭐⭐⭐ 핵심 수정: 찜한 장소를 최우선으로 허용 ⭐⭐⭐
-                            if (actualSelectedFavoriteNames != null && actualSelectedFavoriteNames.contains(placeName)) {
-                                // 사용자가 특별히 요청한 찜 장소는 주소 일치 여부와 관계없이 허용합니다.
-                                isAllowed = true;
-                                System.out.println("DEBUG: 요청된 찜 장소 '" + placeName + "'가 일정에 포함됨 (주소: '" + placeAddr + "').");
-                            } else if (placeName.equals(departurePlace)) {
-                                // 출발지는 이전과 동일하게 허용합니다.
-                                isAllowed = true;
-                                System.out.println("DEBUG: 출발지 '" + departurePlace + "'가 일정에 포함됨 (주소: '" + placeAddr + "').");
-                            } else {
-                                // 그 외의 장소들은 places.json (또는 가상 장소 목록)에 이름과 주소가 모두 일치해야 허용합니다.
-                                for (PlaceInfoDTO p : places) {
-                                    if (Objects.equals(p.name(), placeName) && Objects.equals(p.addr(), placeAddr)) {
-                                        isAllowed = true;
-                                        System.out.println("DEBUG: places.json 또는 가상 장소 목록에 있는 장소 '" + placeName + "' (" + placeAddr + ")가 일정에 포함됨.");
-                                        break;
-                                    }
-                                }
-                            }
-
-                            if (isAllowed) {
-                                filteredDailyActivities.add(activity);
-                            } else {
-                                System.out.println("🚨 경고: 허용되지 않은 장소 '" + placeName + "' (주소: '" + placeAddr + "')가 감지되어 일정에서 제외합니다.");
-                            }
-                        }
+                        ArrayNode filteredDailyActivities = filterDailyActivities(dailyActivities, allowList);
                         if (filteredDailyActivities.size() > 0) {
                             filteredSchedule.set(date, filteredDailyActivities);
                         }
                     }
                 });
 
-                String finalScheduleJson = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(filteredSchedule);
+                String finalScheduleJson = prettyWriter.writeValueAsString(filteredSchedule);
                 System.out.println("=== GPT 응답 (필터링 후) ===");
                 System.out.println(finalScheduleJson);
                 System.out.println("================");
@@ -263,6 +270,171 @@ public class GptService implements IGptService {
         }
     }
 
+    /**
+     * [3] GPT 스트리밍 모드로 일정 생성 (SSE 전달용)
+     * 하루치 배열이 완성될 때마다 허용 장소 필터를 적용해 onDay로 바로 넘기고,
+     * 전체 응답이 끝나면 필터링된 전체 일정 JSON을 반환합니다.
+     * 클라이언트가 떠나 cancellation이 취소되면 OkHttp Call을 cancel하여, 응답 줄을 기다리던 읽기도 바로 끝냅니다.
+     */
+    @Override
+    public String streamScheduleWithFavorites(
+            Set<String> favoriteNames,
+            String startDate,
+            int tripDays,
+            String departurePlace,
+            String departureTime,
+            String additionalPrompt,
+            BiConsumer<String, ArrayNode> onDay,
+            GptStreamCancellation cancellation
+    ) {
+        String cacheKey = gptScheduleCacheService.buildKey(favoriteNames, startDate, tripDays, departurePlace, departureTime, additionalPrompt);
+        Optional<String> cached = gptScheduleCacheService.get(cacheKey);
+        if (cached.isPresent()) {
+            // 캐시 적중 시에도 스트리밍 클라이언트가 같은 흐름으로 받도록 하루씩 전달
+            try {
+                JsonNode cachedSchedule = objectMapper.readTree(cached.get());
+                cachedSchedule.fields().forEachRemaining(day -> onDay.accept(day.getKey(), (ArrayNode) day.getValue()));
+                return cached.get();
+            } catch (IOException e) {
+                log.warn("🚨 캐시된 일정 파싱 실패 - 새로 생성합니다: {}", e.getMessage());
+            }
+        }
+
+        List<PlaceInfoDTO> places = resolvePlacesWithFavorites(favoriteNames, departurePlace);
+        if (places.isEmpty()) {
+            log.warn("GPT에 전달할 장소가 없습니다. places.json 파일에 유효한 장소가 있는지 확인해주세요.");
+            return "{\"error\": \"일정 생성을 위한 장소 데이터가 부족합니다. places.json 파일을 확인해주세요.\"}";
+        }
+
+        List<PlaceInfoDTO> promptPlaces = promptCompactionService.selectCandidates(places, favoriteNames, departurePlace);
+        String prompt = generatePromptFromLocations(
+                promptPlaces, startDate, tripDays, departurePlace, departureTime, additionalPrompt,
+                primaryFavoriteName(favoriteNames), favoriteNames
+        );
+
+        PlaceAllowList allowList = new PlaceAllowList(places, favoriteNames, departurePlace);
+        ScheduleStreamParser parser = new ScheduleStreamParser();
+        ObjectNode filteredSchedule = objectMapper.createObjectNode();
+
+        Call call;
+        try {
+            call = client.newCall(buildChatRequest(prompt, true));
+        } catch (IOException e) {
+            log.error("🚨 GPT API 요청 생성 실패: {}", e.getMessage(), e);
+            return "{\"error\": \"GPT API 요청 생성 실패\"}";
+        }
+        cancellation.onCancel(call::cancel);
+
+        try (Response response = call.execute()) {
+            if (!response.isSuccessful()) {
+                String errorBody = response.body().string();
+                log.error("🚨 GPT API 스트리밍 호출 실패! HTTP Status: {}, 응답 본문: {}", response.code(), errorBody);
+                return "{\"error\": \"GPT API 호출 실패\", \"details\": \"HTTP " + response.code() + ": " + errorBody.replace("\"", "\\\"") + "\"}";
+            }
+
+            // OpenAI 스트리밍 응답: "data: {chunk}" 줄 단위, 마지막은 "data: [DONE]"
+            BufferedSource source = response.body().source();
+            String line;
+            while (!cancellation.isCancelled() && (line = source.readUtf8Line()) != null && !parser.isFinished()) {
+                if (!line.startsWith("data:")) continue;
+
+                String data = line.substring("data:".length()).trim();
+                if ("[DONE]".equals(data)) break;
+
+                String delta = objectMapper.readTree(data)
+                        .path("choices").path(0).path("delta").path("content").asText("");
+                if (delta.isEmpty()) continue;
+
+                for (ScheduleStreamParser.DayChunk day : parser.feed(delta)) {
+                    JsonNode dailyActivities;
+                    try {
+                        dailyActivities = objectMapper.readTree(day.json());
+                    } catch (IOException e) {
+                        log.warn("🚨 {} 일정이 유효한 JSON 형식이 아닙니다: {}", day.date(), day.json());
+                        continue;
+                    }
+
+                    ArrayNode filteredDailyActivities = filterDailyActivities(dailyActivities, allowList);
+                    if (filteredDailyActivities.size() > 0) {
+                        filteredSchedule.set(day.date(), filteredDailyActivities);
+                        onDay.accept(day.date(), filteredDailyActivities);
+                    }
+                }
+            }
+
+            String finalScheduleJson = prettyWriter.writeValueAsString(filteredSchedule);
+            if (parser.isFinished() && !cancellation.isCancelled()) {
+                // 응답이 중간에 잘린 경우(토큰 한도 등)는 캐시하지 않음
+                cacheIfSuccessful(cacheKey, finalScheduleJson);
+            }
+            return finalScheduleJson;
+
+        } catch (IOException e) {
+            if (cancellation.isCancelled()) {
+                log.info("GPT API 스트리밍 취소 - 클라이언트 연결 종료 또는 시간 초과");
+                return "{\"error\": \"일정 생성이 취소되었습니다.\"}";
+            }
+            log.error("🚨 GPT API 스트리밍 중 IO 오류 발생: {}", e.getMessage(), e);
+            return "{\"error\": \"GPT API 통신 오류\", \"details\": \"" + String.valueOf(e.getMessage()).replace("\"", "\\\"") + "\"}";
+        }
+    }
+
+    /**
+     * 오류가 아니고 하루 이상 일정이 남은 결과만 캐시에 저장합니다.
+     */
+    private void cacheIfSuccessful(String cacheKey, String scheduleJson) {
+        try {
+            JsonNode schedule = objectMapper.readTree(scheduleJson);
+            if (schedule.isObject() && !schedule.has("error") && schedule.size() > 0) {
+                gptScheduleCacheService.put(cacheKey, scheduleJson);
+            }
+        } catch (IOException e) {
+            // 파싱되지 않는 결과는 캐시하지 않음
+        }
+    }
+
+    /**
+     * OpenAI chat completions 요청 생성
+     * @param stream true면 SSE 스트리밍 모드로 요청합니다.
+     */
+    private Request buildChatRequest(String prompt, boolean stream) throws IOException {
+        String jsonBody = chatRequestWriter.writeValueAsString(
+                new ChatRequest("gpt-4o", new Message[]{ new Message("user", prompt) }, 1500, 0.2f, stream ? Boolean.TRUE : null)
+        );
+
+        RequestBody body = RequestBody.create(jsonBody, MediaType.get("application/json; charset=utf-8"));
+
+        return new Request.Builder()
+                .url("https://api.openai.com/v1/chat/completions")
+                .header("Authorization", "Bearer " + apiKey)
+                .post(body)
+                .build();
+    }
+
+    /**
+     * 하루치 활동 배열에서 허용되지 않은 장소를 제외합니다.
+     * 찜한 장소 → 출발지 → places.json (또는 가상 장소 목록)의 (이름, 주소) 일치 순으로 허용 여부를 판단합니다.
+     */
+    private ArrayNode filterDailyActivities(JsonNode dailyActivities, PlaceAllowList allowList) {
+        ArrayNode filteredDailyActivities = objectMapper.createArrayNode();
+        for (JsonNode activity : dailyActivities) {
+            String placeName = activity.path("place").asText("");
+            String placeAddr = activity.path("addr").asText("");
+
+            switch (allowList.match(placeName, placeAddr)) {
+                case FAVORITE -> System.out.println("DEBUG: 요청된 찜 장소 '" + placeName + "'가 일정에 포함됨 (주소: '" + placeAddr + "').");
+                case DEPARTURE -> System.out.println("DEBUG: 출발지 '" + placeName + "'가 일정에 포함됨 (주소: '" + placeAddr + "').");
+                case PLACE -> System.out.println("DEBUG: places.json 또는 가상 장소 목록에 있는 장소 '" + placeName + "' (" + placeAddr + ")가 일정에 포함됨.");
+                case NONE -> {
+                    System.out.println("🚨 경고: 허용되지 않은 장소 '" + placeName + "' (주소: '" + placeAddr + "')가 감지되어 일정에서 제외합니다.");
+                    continue;
+                }
+            }
+            filteredDailyActivities.add(activity);
+        }
+        return filteredDailyActivities;
+    }
+
     private String generatePromptFromLocations(
             List<PlaceInfoDTO> places,
             String startDate,
@@ -337,42 +509,20 @@ public class GptService implements IGptService {
         );
     }
 
-    private List<PlaceInfoDTO> loadAllPlaces() {
-        System.out.println("📥 loadAllPlaces() 호출됨 - 장소 JSON 로드 시도");
-
-        try (InputStream is = getClass().getResourceAsStream("/data/places.json")) {
-            if (is == null) {
-                System.err.println("❌ InputStream이 null입니다. 경로: /data/places.json 확인 필요");
-                throw new RuntimeException("📛 장소 정보를 불러오는 데 실패했습니다. (리소스를 찾을 수 없음)");
-            }
-
-            List<PlaceInfoDTO> placeList = objectMapper.readValue(is, new TypeReference<List<PlaceInfoDTO>>() {});
-            System.out.println("✅ 장소 정보 로딩 성공! 총 " + placeList.size() + "개 장소 로드됨");
-
-            placeList.stream().limit(5).forEach(p -> {
-                System.out.println(" - name: " + p.name() + ", addr: " + p.addr());
-            });
-
-            return placeList;
-
-        } catch (IOException e) {
-            System.err.println("❌ 장소 정보 JSON 파싱 중 오류 발생");
-            e.printStackTrace();
-            throw new RuntimeException("📛 장소 정보를 불러오는 데 실패했습니다.", e);
-        }
-    }
-
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private static class ChatRequest {
         public String model;
         public Message[] messages;
         public int max_tokens;
         public Float temperature;
+        public Boolean stream; // null이면 필드 자체를 보내지 않음 (비스트리밍)
 
-        public ChatRequest(String model, Message[] messages, int max_tokens, Float temperature) {
+        public ChatRequest(String model, Message[] messages, int max_tokens, Float temperature, Boolean stream) {
             this.model = model;
             this.messages = messages;
             this.max_tokens = max_tokens;
             this.temperature = temperature;
+            this.stream = stream;
         }
     }
 
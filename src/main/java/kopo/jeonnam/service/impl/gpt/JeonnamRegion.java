@@ -0,0 +1,83 @@
+package kopo.jeonnam.service.impl.gpt;
+
+import java.util.Optional;
+
+/**
+ * 전라남도 시·군(+ 광주광역시) 대표 좌표
+ * places.json에는 좌표가 없으므로 주소/출발지 문자열에서 시·군을 찾아 청사 위치로 거리를 근사합니다.
+ */
+enum JeonnamRegion {
+    MOKPO("목포시", "목포", 34.8118, 126.3922),
+    YEOSU("여수시", "여수", 34.7604, 127.6622),
+    SUNCHEON("순천시", "순천", 34.9507, 127.4872),
+    NAJU("나주시", "나주", 35.0160, 126.7108),
+    GWANGYANG("광양시", "광양", 34.9407, 127.6959),
+    DAMYANG("담양군", "담양", 35.3211, 126.9882),
+    GOKSEONG("곡성군", "곡성", 35.2820, 127.2920),
+    GURYE("구례군", "구례", 35.2025, 127.4629),
+    GOHEUNG("고흥군", "고흥", 34.6111, 127.2850),
+    BOSEONG("보성군", "보성", 34.7715, 127.0800),
+    HWASUN("화순군", "화순", 35.0645, 126.9866),
+    JANGHEUNG("장흥군", "장흥", 34.6817, 126.9070),
+    GANGJIN("강진군", "강진", 34.6420, 126.7672),
+    HAENAM("해남군", "해남", 34.5734, 126.5990),
+    YEONGAM("영암군", "영암", 34.8002, 126.6968),
+    MUAN("무안군", "무안", 34.9904, 126.4817),
+    HAMPYEONG("함평군", "함평", 35.0659, 126.5166),
+    YEONGGWANG("영광군", "영광", 35.2772, 126.5120),
+    JANGSEONG("장성군", "장성", 35.3018, 126.7849),
+    WANDO("완도군", "완도", 34.3110, 126.7550),
+    JINDO("진도군", "진도", 34.4868, 126.2635),
+    SINAN("신안군", "신안", 34.8330, 126.3519),
+    GWANGJU("광주광역시", "광주", 35.1595, 126.8526);
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    final String fullName;
+    final String shortName;
+    final double lat;
+    final double lng;
+
+    JeonnamRegion(String fullName, String shortName, double lat, double lng) {
+        this.fullName = fullName;
+        this.shortName = shortName;
+        this.lat = lat;
+        this.lng = lng;
+    }
+
+    /**
+     * 문자열에서 가장 먼저 등장하는 시·군을 찾습니다. (정식 명칭 우선, 없으면 약칭)
+     * 예) "전남 목포시 유달로 238" → MOKPO, "광주송정역" → GWANGJU
+     */
+    static Optional<JeonnamRegion> detect(String text) {
+        if (text == null || text.isBlank()) return Optional.empty();
+
+        Optional<JeonnamRegion> byFullName = earliest(text, true);
+        return byFullName.isPresent() ? byFullName : earliest(text, false);
+    }
+
+    private static Optional<JeonnamRegion> earliest(String text, boolean fullName) {
+        JeonnamRegion found = null;
+        int foundAt = Integer.MAX_VALUE;
+        for (JeonnamRegion region : values()) {
+            int idx = text.indexOf(fullName ? region.fullName : region.shortName);
+            if (idx >= 0 && idx < foundAt) {
+                found = region;
+                foundAt = idx;
+            }
+        }
+        return Optional.ofNullable(found);
+    }
+
+    /**
+     * 두 시·군 대표 좌표 사이의 거리 (km, haversine)
+     */
+    double distanceKm(JeonnamRegion other) {
+        double dLat = Math.toRadians(other.lat - lat);
+        double dLng = Math.toRadians(other.lng - lng);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat)) * Math.cos(Math.toRadians(other.lat))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return EARTH_RADIUS_KM * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+}
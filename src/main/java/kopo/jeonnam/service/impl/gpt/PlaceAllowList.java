@@ -0,0 +1,48 @@
+package kopo.jeonnam.service.impl.gpt;
+
+import kopo.jeonnam.dto.gpt.PlaceInfoDTO;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * GPT 응답 후처리용 허용 장소 필터
+ * 요청마다 한 번 (이름, 주소) 해시 인덱스를 만들어 두고, 활동마다 O(1)로 허용 여부를 검사합니다.
+ * (기존: 활동 수 × 장소 수 만큼 Objects.equals 비교)
+ */
+final class PlaceAllowList {
+
+    /** 허용 여부 판정 결과 (로그용) */
+    enum Match { FAVORITE, DEPARTURE, PLACE, NONE }
+
+    private final Set<PlaceInfoDTO> allowedPlaces;
+    private final Set<String> favoriteNames;
+    private final String departurePlace;
+
+    PlaceAllowList(Collection<PlaceInfoDTO> places, Set<String> favoriteNames, String departurePlace) {
+        // PlaceInfoDTO는 record라서 equals/hashCode가 (name, addr) 기준으로 동작합니다.
+        this.allowedPlaces = new HashSet<>(places);
+        this.favoriteNames = favoriteNames != null ? favoriteNames : Collections.emptySet();
+        this.departurePlace = departurePlace;
+    }
+
+    /**
+     * 1) 사용자가 찜한 장소는 주소와 관계없이 허용
+     * 2) 출발지 허용
+     * 3) 그 외는 이름과 주소가 모두 일치해야 허용
+     */
+    Match match(String placeName, String placeAddr) {
+        if (favoriteNames.contains(placeName)) {
+            return Match.FAVORITE;
+        }
+        if (placeName.equals(departurePlace)) {
+            return Match.DEPARTURE;
+        }
+        if (allowedPlaces.contains(new PlaceInfoDTO(placeName, placeAddr))) {
+            return Match.PLACE;
+        }
+        return Match.NONE;
+    }
+}
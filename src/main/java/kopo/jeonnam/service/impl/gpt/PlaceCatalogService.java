@@ -0,0 +1,182 @@
+package kopo.jeonnam.service.impl.gpt;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import kopo.jeonnam.dto.gpt.PlaceInfoDTO;
+import kopo.jeonnam.service.gpt.IPlaceCatalogService;
+import kopo.jeonnam.util.ETagUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 📍 places.json 장소 카탈로그 구현체
+ * - 시작 시 한 번 로드하여 이름 / (이름, 주소) 해시 인덱스를 만들어 둡니다.
+ * - 조회 시 일정 간격마다 리소스 수정 시각을 확인하여 바뀌었으면 스냅샷을 통째로 교체합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PlaceCatalogService implements IPlaceCatalogService {
+
+    private final ObjectMapper objectMapper;
+    private final ResourceLoader resourceLoader;
+
+    @Value("${places.catalog.location:classpath:data/places.json}")
+    private String location;
+
+    @Value("${places.catalog.reload-check-interval-ms:5000}")
+    private long reloadCheckIntervalMs;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile long lastCheckedAt = 0L;
+
+    /**
+     * 불변 카탈로그 스냅샷. PlaceInfoDTO가 record라서 (name, addr) 자체를 해시 키로 사용합니다.
+     */
+    private record Snapshot(List<PlaceInfoDTO> places,
+                            Map<String, PlaceInfoDTO> byName,
+                            Set<PlaceInfoDTO> byNameAndAddr,
+                            long version,
+                            String fingerprint,
+                            long loadedAt,
+                            long sourceLastModified) {
+
+        static final Snapshot EMPTY = new Snapshot(List.of(), Map.of(), Set.of(), 0L, "", 0L, -1L);
+    }
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    @Override
+    public List<PlaceInfoDTO> getAllPlaces() {
+        return current().places();
+    }
+
+    @Override
+    public Optional<PlaceInfoDTO> findByName(String name) {
+        if (name == null) return Optional.empty();
+        return Optional.ofNullable(current().byName().get(name));
+    }
+
+    @Override
+    public boolean containsName(String name) {
+        return name != null && current().byName().containsKey(name);
+    }
+
+    @Override
+    public boolean contains(String name, String addr) {
+        return current().byNameAndAddr().contains(new PlaceInfoDTO(name, addr));
+    }
+
+    @Override
+    public long getVersion() {
+        return current().version();
+    }
+
+    @Override
+    public String getFingerprint() {
+        return current().fingerprint();
+    }
+
+    @Override
+    public long getLoadedAt() {
+        return current().loadedAt();
+    }
+
+    /**
+     * 현재 스냅샷 반환. 확인 간격이 지났으면 리소스 변경 여부를 먼저 확인합니다.
+     * 확인과 다시 로드는 락 안에서 한 스레드만 하고(double-checked), 나머지는 그동안 기존 스냅샷을 그대로 씁니다.
+     */
+    private Snapshot current() {
+        if (System.currentTimeMillis() - lastCheckedAt >= reloadCheckIntervalMs) {
+            checkForChange();
+        }
+        return snapshot;
+    }
+
+    private synchronized void checkForChange() {
+        long now = System.currentTimeMillis();
+        if (now - lastCheckedAt < reloadCheckIntervalMs) {
+            return; // 락을 기다리는 동안 다른 스레드가 이미 확인함
+        }
+        lastCheckedAt = now;
+        long lastModified = lastModifiedOf(resourceLoader.getResource(location));
+        if (lastModified != snapshot.sourceLastModified()) {
+            log.info("📥 장소 카탈로그 리소스 변경 감지 - 다시 로드합니다. ({})", location);
+            reload();
+        }
+    }
+
+    /**
+     * places.json을 읽어 새 스냅샷으로 교체합니다. 실패하면 기존 스냅샷을 유지합니다.
+     */
+    private synchronized void reload() {
+        Resource resource = resourceLoader.getResource(location);
+        long lastModified = lastModifiedOf(resource);
+
+        try (InputStream is = resource.getInputStream()) {
+            List<PlaceInfoDTO> placeList = objectMapper.readValue(is, new TypeReference<List<PlaceInfoDTO>>() {});
+
+            Map<String, PlaceInfoDTO> byName = new HashMap<>();
+            Set<PlaceInfoDTO> byNameAndAddr = new HashSet<>();
+            for (PlaceInfoDTO p : placeList) {
+                byName.putIfAbsent(p.name(), p);
+                byNameAndAddr.add(p);
+            }
+
+            snapshot = new Snapshot(
+                    List.copyOf(placeList),
+                    Collections.unmodifiableMap(byName),
+                    Collections.unmodifiableSet(byNameAndAddr),
+                    snapshot.version() + 1,
+                    fingerprintOf(placeList),
+                    System.currentTimeMillis(),
+                    lastModified
+            );
+            log.info("✅ 장소 카탈로그 로딩 성공! 총 {}개 장소, version={}", placeList.size(), snapshot.version());
+
+        } catch (IOException e) {
+            log.error("❌ 장소 카탈로그 로딩 실패 ({}): {}", location, e.getMessage(), e);
+            if (snapshot == Snapshot.EMPTY) {
+                throw new RuntimeException("📛 장소 정보를 불러오는 데 실패했습니다.", e);
+            }
+        }
+    }
+
+    /**
+     * 장소 목록 내용으로 SHA-256 지문 생성 (이름/주소를 구분자로 이어 붙여 해시)
+     */
+    private String fingerprintOf(List<PlaceInfoDTO> placeList) {
+        StringBuilder sb = new StringBuilder();
+        for (PlaceInfoDTO p : placeList) {
+            sb.append(p.name()).append('\u001F').append(p.addr()).append('\u001E');
+        }
+        return ETagUtil.sha256Hex(sb.toString());
+    }
+
+    private long lastModifiedOf(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            // jar 내부 리소스 등 수정 시각을 알 수 없는 경우 - 최초 로드 이후 변경 없음으로 간주
+            return -1L;
+        }
+    }
+}
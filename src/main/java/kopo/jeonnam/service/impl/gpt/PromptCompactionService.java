@@ -0,0 +1,178 @@
+package kopo.jeonnam.service.impl.gpt;
+
+import kopo.jeonnam.dto.gpt.PlaceInfoDTO;
+import kopo.jeonnam.dto.gpt.PromptCompactionStatsDTO;
+import kopo.jeonnam.service.gpt.IPlaceCatalogService;
+import kopo.jeonnam.service.gpt.IPromptCompactionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ✂️ GPT 프롬프트 장소 후보 선정 구현체
+ * 1) 찜 장소는 항상 포함
+ * 2) 나머지 장소는 시·군 단위로 묶어 출발지/찜 장소 지역과의 거리순으로 정렬
+ * 3) 가까운 지역부터 지역당 정해진 개수씩 돌아가며 뽑아 한 지역에 몰리지 않게 하고
+ * 4) 장소 목록의 추정 토큰 수가 예산을 넘기 직전까지 채웁니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PromptCompactionService implements IPromptCompactionService {
+
+    /** 지역을 알 수 없는 장소의 거리 (항상 가장 뒤로) */
+    private static final double UNKNOWN_DISTANCE_KM = Double.MAX_VALUE;
+
+    private final IPlaceCatalogService placeCatalogService;
+
+    @Value("${gpt.prompt.compaction.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gpt.prompt.place-token-budget:2000}")
+    private int tokenBudget;
+
+    @Value("${gpt.prompt.per-region-quota:6}")
+    private int perRegionQuota;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong placesBefore = new AtomicLong();
+    private final AtomicLong placesAfter = new AtomicLong();
+    private final AtomicLong tokensBefore = new AtomicLong();
+    private final AtomicLong tokensAfter = new AtomicLong();
+
+    @Override
+    public List<PlaceInfoDTO> selectCandidates(List<PlaceInfoDTO> places, Set<String> favoriteNames, String departurePlace) {
+        int beforeTokens = estimatePlaceListTokens(places);
+        if (!enabled || beforeTokens <= tokenBudget) {
+            record(places.size(), places.size(), beforeTokens, beforeTokens);
+            return places;
+        }
+
+        Set<String> favorites = favoriteNames != null ? favoriteNames : Collections.emptySet();
+        Set<JeonnamRegion> anchors = anchorRegions(favorites, departurePlace);
+
+        // 찜 장소는 예산과 무관하게 먼저 포함
+        List<PlaceInfoDTO> selected = new ArrayList<>();
+        Map<Optional<JeonnamRegion>, List<PlaceInfoDTO>> byRegion = new LinkedHashMap<>();
+        for (PlaceInfoDTO place : places) {
+            if (favorites.contains(place.name())) {
+                selected.add(place);
+            } else {
+                byRegion.computeIfAbsent(JeonnamRegion.detect(place.addr()), k -> new ArrayList<>()).add(place);
+            }
+        }
+        int usedTokens = estimatePlaceListTokens(selected);
+
+        // 가까운 지역 순 (기준 지역이 없으면 카탈로그 등장 순서 유지)
+        List<Map.Entry<Optional<JeonnamRegion>, List<PlaceInfoDTO>>> orderedRegions = new ArrayList<>(byRegion.entrySet());
+        orderedRegions.sort(Comparator.comparingDouble(e -> distanceToAnchors(e.getKey(), anchors)));
+
+        // 지역별로 perRegionQuota개씩 돌아가며 뽑아 다양성 확보, 예산이 차면 중단
+        int[] taken = new int[orderedRegions.size()];
+        boolean budgetExhausted = false;
+        boolean progressed = true;
+        while (!budgetExhausted && progressed) {
+            progressed = false;
+            for (int r = 0; r < orderedRegions.size() && !budgetExhausted; r++) {
+                List<PlaceInfoDTO> regionPlaces = orderedRegions.get(r).getValue();
+                int roundLimit = Math.min(regionPlaces.size(), taken[r] + perRegionQuota);
+                while (taken[r] < roundLimit) {
+                    PlaceInfoDTO candidate = regionPlaces.get(taken[r]);
+                    int cost = estimatePlaceTokens(candidate);
+                    if (usedTokens + cost > tokenBudget) {
+                        budgetExhausted = true;
+                        break;
+                    }
+                    selected.add(candidate);
+                    usedTokens += cost;
+                    taken[r]++;
+                    progressed = true;
+                }
+            }
+        }
+
+        record(places.size(), selected.size(), beforeTokens, usedTokens);
+        log.info("GPT 프롬프트 장소 축소 - 장소 {} → {}개, 추정 토큰 {} → {} (예산 {}, 기준 지역 {})",
+                places.size(), selected.size(), beforeTokens, usedTokens, tokenBudget, anchors);
+        return selected;
+    }
+
+    @Override
+    public int estimateTokens(String text) {
+        return PromptTokenEstimator.estimate(text);
+    }
+
+    @Override
+    public PromptCompactionStatsDTO getStats() {
+        return PromptCompactionStatsDTO.builder()
+                .requests(requests.get())
+                .placesBefore(placesBefore.get())
+                .placesAfter(placesAfter.get())
+                .tokensBefore(tokensBefore.get())
+                .tokensAfter(tokensAfter.get())
+                .tokenBudget(tokenBudget)
+                .build();
+    }
+
+    /**
+     * 거리 기준이 되는 지역: 출발지 + 찜 장소가 있는 지역
+     * (카탈로그에 없는 찜 장소는 장소명 자체에서 지역을 찾습니다)
+     */
+    private Set<JeonnamRegion> anchorRegions(Set<String> favorites, String departurePlace) {
+        Set<JeonnamRegion> anchors = EnumSet.noneOf(JeonnamRegion.class);
+        JeonnamRegion.detect(departurePlace).ifPresent(anchors::add);
+        for (String name : favorites) {
+            placeCatalogService.findByName(name)
+                    .flatMap(p -> JeonnamRegion.detect(p.addr()))
+                    .or(() -> JeonnamRegion.detect(name))
+                    .ifPresent(anchors::add);
+        }
+        return anchors;
+    }
+
+    private double distanceToAnchors(Optional<JeonnamRegion> region, Set<JeonnamRegion> anchors) {
+        if (anchors.isEmpty()) return 0.0;
+        if (region.isEmpty()) return UNKNOWN_DISTANCE_KM;
+
+        double min = UNKNOWN_DISTANCE_KM;
+        for (JeonnamRegion anchor : anchors) {
+            min = Math.min(min, region.get().distanceKm(anchor));
+        }
+        return min;
+    }
+
+    /**
+     * 프롬프트에 들어가는 형태({"name": "...", "addr": "..."}, 구분자 포함) 기준 토큰 수
+     */
+    private int estimatePlaceTokens(PlaceInfoDTO place) {
+        return PromptTokenEstimator.estimate("{\"name\": \"" + place.name() + "\", \"addr\": \"" + place.addr() + "\"}, ");
+    }
+
+    private int estimatePlaceListTokens(List<PlaceInfoDTO> places) {
+        int total = 0;
+        for (PlaceInfoDTO place : places) {
+            total += estimatePlaceTokens(place);
+        }
+        return total;
+    }
+
+    private void record(int before, int after, int beforeTokens, int afterTokens) {
+        requests.incrementAndGet();
+        placesBefore.addAndGet(before);
+        placesAfter.addAndGet(after);
+        tokensBefore.addAndGet(beforeTokens);
+        tokensAfter.addAndGet(afterTokens);
+    }
+}
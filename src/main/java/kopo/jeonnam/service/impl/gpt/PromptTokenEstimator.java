@@ -0,0 +1,27 @@
+package kopo.jeonnam.service.impl.gpt;
+
+/**
+ * GPT 프롬프트 토큰 수 추정기 (토크나이저 없이 쓰는 근사치)
+ * - 한글 음절 등 비ASCII 문자: 글자당 약 1토큰
+ * - ASCII 문자: 약 4글자당 1토큰
+ * 실제 값보다 약간 크게 잡히도록 올림 처리하여 예산 초과를 피합니다.
+ */
+final class PromptTokenEstimator {
+
+    private PromptTokenEstimator() {
+    }
+
+    static int estimate(CharSequence text) {
+        if (text == null || text.isEmpty()) return 0;
+
+        int asciiChars = 0;
+        int otherChars = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLowSurrogate(c)) continue; // 서로게이트 쌍은 한 글자로 계산
+            if (c < 0x80) asciiChars++;
+            else otherChars++;
+        }
+        return otherChars + (asciiChars + 3) / 4;
+    }
+}
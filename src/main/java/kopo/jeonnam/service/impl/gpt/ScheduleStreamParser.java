@@ -0,0 +1,101 @@
+package kopo.jeonnam.service.impl.gpt;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * GPT 스트리밍 응답을 조금씩 받아 {"YYYY-MM-DD": [ ... ], ...} 형태의 일정에서
+ * 하루치 배열이 닫히는 즉시 (날짜, 배열 JSON) 단위로 잘라 주는 증분 파서
+ * - 문자열 안의 괄호와 이스케이프를 구분하기 위해 한 글자씩 상태를 추적합니다.
+ * - 첫 '{' 이전의 내용(```json 코드 펜스 등)은 무시합니다.
+ */
+final class ScheduleStreamParser {
+
+    /** 완성된 하루치 일정 */
+    record DayChunk(String date, String json) {}
+
+    private final StringBuilder keyBuffer = new StringBuilder();
+    private final StringBuilder arrayBuffer = new StringBuilder();
+
+    private int depth = 0;
+    private boolean inString = false;
+    private boolean escape = false;
+    private boolean readingKey = false;
+    private boolean capturing = false;
+    private boolean finished = false;
+    private String currentKey;
+
+    /**
+     * 새로 도착한 텍스트 조각을 처리하고, 이번 조각으로 완성된 날짜들을 반환합니다.
+     */
+    List<DayChunk> feed(CharSequence delta) {
+        List<DayChunk> completed = new ArrayList<>();
+        for (int i = 0; i < delta.length() && !finished; i++) {
+            char c = delta.charAt(i);
+
+            if (depth == 0) {
+                if (c == '{') depth = 1;
+                continue;
+            }
+
+            if (capturing) arrayBuffer.append(c);
+
+            if (inString) {
+                if (escape) {
+                    escape = false;
+                    if (readingKey) keyBuffer.append(c);
+                } else if (c == '\\') {
+                    escape = true;
+                } else if (c == '"') {
+                    inString = false;
+                    if (readingKey) {
+                        readingKey = false;
+                        currentKey = keyBuffer.toString();
+                    }
+                } else if (readingKey) {
+                    keyBuffer.append(c);
+                }
+                continue;
+            }
+
+            switch (c) {
+                case '"' -> {
+                    inString = true;
+                    if (depth == 1) {
+                        // 최상위 객체의 문자열은 날짜 키
+                        readingKey = true;
+                        keyBuffer.setLength(0);
+                    }
+                }
+                case '[', '{' -> {
+                    if (depth == 1 && c == '[') {
+                        capturing = true;
+                        arrayBuffer.setLength(0);
+                        arrayBuffer.append(c);
+                    }
+                    depth++;
+                }
+                case ']', '}' -> {
+                    depth--;
+                    if (depth == 1 && capturing && c == ']') {
+                        capturing = false;
+                        completed.add(new DayChunk(currentKey, arrayBuffer.toString()));
+                    } else if (depth == 0) {
+                        finished = true;
+                    }
+                }
+                default -> {
+                    // 구분자, 공백 등은 무시
+                }
+            }
+        }
+        return completed;
+    }
+
+    /**
+     * 최상위 객체가 닫혔는지 여부
+     */
+    boolean isFinished() {
+        return finished;
+    }
+}
@@ -2,25 +2,33 @@ package kopo.jeonnam.service.impl.movie;
 
 import kopo.jeonnam.dto.movie.MovieDTO;
 import kopo.jeonnam.dto.movie.MovieSearchRequest;
+import kopo.jeonnam.dto.movie.MovieSearchResultDTO;
 import kopo.jeonnam.repository.entity.movie.MovieEntity;
+import kopo.jeonnam.repository.mongo.movie.MovieCustomRepository;
 import kopo.jeonnam.repository.mongo.movie.MovieRepository;
+import kopo.jeonnam.repository.mongo.movie.MovieSortOption;
 import kopo.jeonnam.service.movie.IMovieService;
+import kopo.jeonnam.util.NgramUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
-import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
-import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -37,7 +45,13 @@ public class MovieService implements IMovieService {
 
     // MongoDB Movie 컬렉션에 접근하기 위한 Repository 주입
     private final MovieRepository movieRepository;
-    private final MongoTemplate mongoTemplate;
+
+    private static final String HIGHLIGHT_OPEN = "<em>";
+    private static final String HIGHLIGHT_CLOSE = "</em>";
+
+    // 통합 검색 시 한 필드에서 검색어 bigram을 이 비율 이상 포함해야 결과로 인정 (1.0이면 모두 포함)
+    @Value("${movie.search.min-match-ratio:0.75}")
+    private double minMatchRatio;
 
     /**
      * 모든 영화 목록을 조회합니다.
@@ -145,106 +159,40 @@ public class MovieService implements IMovieService {
 
     @Override
     public Page<MovieDTO> searchMovies(MovieSearchRequest searchRequest, Pageable pageable) {
-        log.info(this.getClass().getName() + ".searchMovies Start! searchRequest: {}, pageable: {}", searchRequest, pageable);
+        // /api/movies/list 계약 유지 - 검색어를 부분 문자열로 포함하는 영화만 (bigram 부분 일치 허용 없음)
+        return searchPage(searchRequest, pageable, true).map(MovieSearchResultDTO::toMovieDTO);
+    }
 
-        Page<MovieDTO> movieDTOSPage;
+    @Override
+    public Page<MovieSearchResultDTO> searchMoviesWithHighlights(MovieSearchRequest searchRequest, Pageable pageable) {
+        return searchPage(searchRequest, pageable, false);
+    }
 
-        try {
-            // 1. 공통 검색 Criteria 구성
-            List<Criteria> searchCriteriaList = new ArrayList<>(); // <-- 여기서 선언됨
-
-            // 검색어를 정규화하여 사용
-            String normalizedKeyword = normalizeSearchText(searchRequest.getKeyword());
-            String normalizedTitle = normalizeSearchText(searchRequest.getTitle());
-            String normalizedLocation = normalizeSearchText(searchRequest.getLocation());
-            String normalizedAddr = normalizeSearchText(searchRequest.getAddr());
-
-            // 1. 통합 검색 키워드 (keyword) 처리
-            if (StringUtils.hasText(normalizedKeyword)) {
-                String keywordRegex = ".*" + escapeRegex(normalizedKeyword) + ".*";
-                // ⭐️ searchCriteriaList 사용
-                searchCriteriaList.add(new Criteria().orOperator(
-                        Criteria.where("title").regex(keywordRegex, "i"),
-                        Criteria.where("location").regex(keywordRegex, "i"),
-                        Criteria.where("Addr").regex(keywordRegex, "i")
-                ));
-            } else {
-                // keyword가 없고 개별 필드 검색 조건이 있는 경우 (AND 조건으로 결합)
-                if (StringUtils.hasText(normalizedTitle)) {
-                    // ⭐️ searchCriteriaList 사용
-                    searchCriteriaList.add(Criteria.where("title").regex(".*" + escapeRegex(normalizedTitle) + ".*", "i"));
-                }
-                if (StringUtils.hasText(normalizedLocation)) {
-                    // ⭐️ searchCriteriaList 사용
-                    searchCriteriaList.add(Criteria.where("location").regex(".*" + escapeRegex(normalizedLocation) + ".*", "i"));
-                }
-                if (StringUtils.hasText(normalizedAddr)) {
-                    // ⭐️ searchCriteriaList 사용
-                    searchCriteriaList.add(Criteria.where("Addr").regex(".*" + escapeRegex(normalizedAddr) + ".*", "i"));
-                }
-            }
+    /**
+     * @param exact true면 정규식(부분 문자열) 조건과 같은 결과만 (searchGrams 인덱스로 후보를 좁힌 뒤 정규식으로 확인),
+     *              false면 n-gram 관련도 검색 (min-match-ratio 부분 일치 허용)
+     */
+    private Page<MovieSearchResultDTO> searchPage(MovieSearchRequest searchRequest, Pageable pageable, boolean exact) {
+        log.info(this.getClass().getName() + ".searchMovies Start! searchRequest: {}, pageable: {}", searchRequest, pageable);
 
-            // 2. 검색 조건이 있다면 Criteria.andOperator로 최종 CriteriaDefinition 생성
-            Criteria finalSearchCriteria = null;
-            if (!searchCriteriaList.isEmpty()) {
-                finalSearchCriteria = new Criteria().andOperator(searchCriteriaList.toArray(new Criteria[0]));
-            }
+        // 허용되지 않은 정렬은 조회 전에 거부 (IllegalArgumentException)
+        Sort sort = requestedSort(searchRequest);
+        Page<MovieSearchResultDTO> resultPage;
 
-            // 3. 전체 개수를 세기 위한 Query 객체 생성 및 Criteria 적용
-            Query totalCountQuery;
-            if (finalSearchCriteria != null) {
-                totalCountQuery = Query.query(finalSearchCriteria);
-            } else {
-                totalCountQuery = new Query();
-            }
-            long total = mongoTemplate.count(totalCountQuery, MovieEntity.class);
-            log.debug("서비스: 필터링 조건에 맞는 총 영화 개수 = {}", total);
-
-            // 4. 실제 페이지 데이터를 가져오기 위한 Query 객체 생성 및 Criteria 적용
-            Query pagedDataQuery;
-            if (finalSearchCriteria != null) {
-                pagedDataQuery = Query.query(finalSearchCriteria);
-            } else {
-                pagedDataQuery = new Query();
-            }
+        try {
+            // 두 글자 이상이면 n-gram 인덱스 검색 (관련도 순), 한 글자 검색어만 있으면 기존 정규식 검색
+            // 페이지와 전체 개수는 $facet 한 번으로 함께 조회
+            MovieCustomRepository.GramQuery gramQuery = exact ? null : toGramQuery(searchRequest);
+            MovieCustomRepository.SearchPage page = gramQuery != null
+                    ? movieRepository.searchByGrams(gramQuery, sort, pageable.getOffset(), pageable.getPageSize())
+                    : movieRepository.searchByCriteria(exact ? exactCriteria(searchRequest) : regexCriteria(searchRequest),
+                    sort, pageable.getOffset(), pageable.getPageSize());
+            log.debug("서비스: 조건에 맞는 총 영화 개수 = {}, 현재 페이지 개수 = {}", page.total(), page.content().size());
 
-            // 정렬 조건 추가
-            Sort sort = Sort.by(Sort.Direction.DESC, "_id");
-            if (StringUtils.hasText(searchRequest.getSortBy())) {
-                Sort.Direction direction = Sort.Direction.ASC;
-                if (StringUtils.hasText(searchRequest.getSortDirection()) &&
-                        searchRequest.getSortDirection().equalsIgnoreCase("desc")) {
-                    direction = Sort.Direction.DESC;
-                }
-                sort = Sort.by(direction, searchRequest.getSortBy());
+            if (!exact) {
+                applyHighlights(page.content(), searchRequest, gramQuery);
             }
-            pagedDataQuery.with(sort);
-
-            // 페이징 적용
-            pagedDataQuery.with(pageable);
-            log.debug("서비스: 페이징 적용 (page={}, size={})", pageable.getPageNumber(), pageable.getPageSize());
-
-            // 5. 실제 페이지 데이터 조회
-            List<MovieEntity> movies = mongoTemplate.find(pagedDataQuery, MovieEntity.class);
-            log.debug("서비스: 현재 페이지 조회된 데이터 개수 = {}", movies.size());
-
-            // 6. PageImpl 객체 생성
-            movieDTOSPage = new PageImpl<>(
-                    movies.stream()
-                            .map(entity -> new MovieDTO(
-                                    entity.getId(),
-                                    entity.getTitle(),
-                                    entity.getLocation(),
-                                    entity.getPosterUrl(),
-                                    entity.getAddr(),
-                                    entity.getX(),
-                                    entity.getY()
-                            ))
-                            .collect(Collectors.toList()),
-                    pageable,
-                    total
-            );
-
+            resultPage = new PageImpl<>(page.content(), pageable, page.total());
         } catch (Exception e) {
             log.error("searchMovies 데이터 조회 중 오류 발생: searchRequest={}, error={}", searchRequest, e.getMessage(), e);
             log.info(this.getClass().getName() + ".searchMovies End! (Error occurred, returning empty page)");
@@ -252,7 +200,208 @@ public class MovieService implements IMovieService {
         }
 
         log.info(this.getClass().getName() + ".searchMovies End! TotalElements={}, TotalPages={}, CurrentPageSize={}",
-                movieDTOSPage.getTotalElements(), movieDTOSPage.getTotalPages(), movieDTOSPage.getContent().size());
-        return movieDTOSPage;
+                resultPage.getTotalElements(), resultPage.getTotalPages(), resultPage.getContent().size());
+        return resultPage;
+    }
+
+    @Override
+    public Slice<MovieSearchResultDTO> searchMoviesSlice(MovieSearchRequest searchRequest, Pageable pageable) {
+        log.info(this.getClass().getName() + ".searchMoviesSlice Start! searchRequest: {}, pageable: {}", searchRequest, pageable);
+
+        Sort sort = requestedSort(searchRequest);
+        String afterId = StringUtils.hasText(searchRequest.getAfterId()) ? searchRequest.getAfterId() : null;
+        // keyset은 첫 페이지부터 같은 _id 내림차순이어야 이어 붙인 결과가 빠지거나 겹치지 않으므로 sortBy=newest(desc)를 요구
+        if (afterId != null && !MovieSortOption.NEWEST.toSort(Sort.Direction.DESC).equals(sort)) {
+            throw new IllegalArgumentException("afterId(keyset)는 sortBy=newest(desc) 정렬에서만 사용할 수 있습니다.");
+        }
+
+        Slice<MovieSearchResultDTO> resultSlice;
+        try {
+            // 다음 페이지 여부만 알면 되므로 전체 개수 없이 한 건 더 조회
+            MovieCustomRepository.GramQuery gramQuery = toGramQuery(searchRequest);
+            int fetchSize = pageable.getPageSize() + 1;
+            List<MovieSearchResultDTO> movies = gramQuery != null
+                    ? movieRepository.sliceByGrams(gramQuery, sort, pageable.getOffset(), fetchSize, afterId)
+                    : movieRepository.sliceByCriteria(regexCriteria(searchRequest), sort, pageable.getOffset(), fetchSize, afterId);
+
+            boolean hasNext = movies.size() > pageable.getPageSize();
+            List<MovieSearchResultDTO> content = hasNext ? movies.subList(0, pageable.getPageSize()) : movies;
+            applyHighlights(content, searchRequest, gramQuery);
+            resultSlice = new SliceImpl<>(content, pageable, hasNext);
+        } catch (Exception e) {
+            log.error("searchMoviesSlice 데이터 조회 중 오류 발생: searchRequest={}, error={}", searchRequest, e.getMessage(), e);
+            return new SliceImpl<>(List.of(), pageable, false);
+        }
+
+        log.info(this.getClass().getName() + ".searchMoviesSlice End! CurrentSize={}, HasNext={}",
+                resultSlice.getNumberOfElements(), resultSlice.hasNext());
+        return resultSlice;
+    }
+
+    /**
+     * 검색 조건을 n-gram 조건으로 변환합니다.
+     * 검색어가 없거나, 정규화 후 두 글자 미만인 검색어가 있으면(bigram을 만들 수 없음) null을 반환합니다.
+     */
+    private MovieCustomRepository.GramQuery toGramQuery(MovieSearchRequest searchRequest) {
+        Set<String> keyword = gramsOf(searchRequest.getKeyword());
+        if (StringUtils.hasText(searchRequest.getKeyword())) {
+            return keyword.isEmpty() ? null
+                    : new MovieCustomRepository.GramQuery(keyword, Set.of(), Set.of(), Set.of(), minMatchRatio);
+        }
+
+        Set<String> title = gramsOf(searchRequest.getTitle());
+        Set<String> location = gramsOf(searchRequest.getLocation());
+        Set<String> addr = gramsOf(searchRequest.getAddr());
+        boolean anyField = StringUtils.hasText(searchRequest.getTitle())
+                || StringUtils.hasText(searchRequest.getLocation())
+                || StringUtils.hasText(searchRequest.getAddr());
+        boolean allGrammable = (!StringUtils.hasText(searchRequest.getTitle()) || !title.isEmpty())
+                && (!StringUtils.hasText(searchRequest.getLocation()) || !location.isEmpty())
+                && (!StringUtils.hasText(searchRequest.getAddr()) || !addr.isEmpty());
+        if (!anyField || !allGrammable) {
+            return null;
+        }
+        return new MovieCustomRepository.GramQuery(Set.of(), title, location, addr, minMatchRatio);
+    }
+
+    private Set<String> gramsOf(String text) {
+        return StringUtils.hasText(text) ? NgramUtil.grams(text, MovieEntity.GRAM_SIZE) : Set.of();
+    }
+
+    /**
+     * 검색 결과에 필드별 하이라이트를 채웁니다. (n-gram 검색은 bigram, 정규식 검색은 글자 단위)
+     */
+    private void applyHighlights(List<MovieSearchResultDTO> movies, MovieSearchRequest searchRequest,
+                                 MovieCustomRepository.GramQuery gramQuery) {
+        if (gramQuery != null) {
+            boolean keywordMode = !gramQuery.keyword().isEmpty();
+            movies.forEach(movie -> movie.setHighlights(highlights(movie,
+                    keywordMode ? gramQuery.keyword() : gramQuery.title(),
+                    keywordMode ? gramQuery.keyword() : gramQuery.location(),
+                    keywordMode ? gramQuery.keyword() : gramQuery.addr())));
+            return;
+        }
+
+        Set<String> keywordChars = charsOf(searchRequest.getKeyword());
+        movies.forEach(movie -> movie.setHighlights(StringUtils.hasText(searchRequest.getKeyword())
+                ? highlights(movie, keywordChars, keywordChars, keywordChars)
+                : highlights(movie, charsOf(searchRequest.getTitle()),
+                charsOf(searchRequest.getLocation()), charsOf(searchRequest.getAddr()))));
+    }
+
+    /**
+     * 기존 정규식 검색 조건 - 한 글자 검색어처럼 n-gram을 만들 수 없는 경우에 사용 (조건이 없으면 null = 전체)
+     */
+    private Criteria regexCriteria(MovieSearchRequest searchRequest) {
+        // 1. 공통 검색 Criteria 구성
+        List<Criteria> searchCriteriaList = new ArrayList<>(); // <-- 여기서 선언됨
+
+        // 검색어를 정규화하여 사용
+        String normalizedKeyword = normalizeSearchText(searchRequest.getKeyword());
+        String normalizedTitle = normalizeSearchText(searchRequest.getTitle());
+        String normalizedLocation = normalizeSearchText(searchRequest.getLocation());
+        String normalizedAddr = normalizeSearchText(searchRequest.getAddr());
+
+        // 1. 통합 검색 키워드 (keyword) 처리
+        if (StringUtils.hasText(normalizedKeyword)) {
+            String keywordRegex = ".*" + escapeRegex(normalizedKeyword) + ".*";
+            // ⭐️ searchCriteriaList 사용
+            searchCriteriaList.add(new Criteria().orOperator(
+                    Criteria.where("title").regex(keywordRegex, "i"),
+                    Criteria.where("location").regex(keywordRegex, "i"),
+                    Criteria.where("addr").regex(keywordRegex, "i")
+            ));
+        } else {
+            // keyword가 없고 개별 필드 검색 조건이 있는 경우 (AND 조건으로 결합)
+            if (StringUtils.hasText(normalizedTitle)) {
+                // ⭐️ searchCriteriaList 사용
+                searchCriteriaList.add(Criteria.where("title").regex(".*" + escapeRegex(normalizedTitle) + ".*", "i"));
+            }
+            if (StringUtils.hasText(normalizedLocation)) {
+                // ⭐️ searchCriteriaList 사용
+                searchCriteriaList.add(Criteria.where("location").regex(".*" + escapeRegex(normalizedLocation) + ".*", "i"));
+            }
+            if (StringUtils.hasText(normalizedAddr)) {
+                // ⭐️ searchCriteriaList 사용
+                searchCriteriaList.add(Criteria.where("addr").regex(".*" + escapeRegex(normalizedAddr) + ".*", "i"));
+            }
+        }
+
+        // 2. 검색 조건이 있다면 Criteria.andOperator로 최종 CriteriaDefinition 생성
+        if (searchCriteriaList.isEmpty()) {
+            return null;
+        }
+        return new Criteria().andOperator(searchCriteriaList.toArray(new Criteria[0]));
+    }
+
+    /**
+     * 정규식 조건과 같은 결과를 내는 조건 - 검색어 bigram을 (한 필드에) 모두 가진 문서로 먼저 좁혀 searchGrams 인덱스를 사용합니다.
+     * 부분 문자열로 포함하면 정규화한 bigram도 모두 포함하므로, 좁히는 조건 때문에 빠지는 결과는 없습니다.
+     */
+    private Criteria exactCriteria(MovieSearchRequest searchRequest) {
+        Criteria regex = regexCriteria(searchRequest);
+        MovieCustomRepository.GramQuery gramQuery = toGramQuery(searchRequest);
+        if (regex == null || gramQuery == null) {
+            return regex;
+        }
+
+        Criteria candidate;
+        if (!gramQuery.keyword().isEmpty()) {
+            candidate = new Criteria().orOperator(
+                    allGrams(MovieEntity.TITLE_GRAM, gramQuery.keyword()),
+                    allGrams(MovieEntity.LOCATION_GRAM, gramQuery.keyword()),
+                    allGrams(MovieEntity.ADDR_GRAM, gramQuery.keyword()));
+        } else {
+            List<String> grams = new ArrayList<>();
+            gramQuery.title().forEach(g -> grams.add(MovieEntity.TITLE_GRAM + g));
+            gramQuery.location().forEach(g -> grams.add(MovieEntity.LOCATION_GRAM + g));
+            gramQuery.addr().forEach(g -> grams.add(MovieEntity.ADDR_GRAM + g));
+            candidate = Criteria.where("searchGrams").all(grams);
+        }
+        return new Criteria().andOperator(candidate, regex);
+    }
+
+    private Criteria allGrams(String prefix, Set<String> grams) {
+        return Criteria.where("searchGrams").all(grams.stream().map(g -> prefix + g).toList());
+    }
+
+    private Set<String> charsOf(String text) {
+        return StringUtils.hasText(text) ? NgramUtil.grams(text, 1) : Set.of();
+    }
+
+    /**
+     * 요청한 정렬 조건 (sortBy가 없으면 null = 관련도 순)
+     */
+    private Sort requestedSort(MovieSearchRequest searchRequest) {
+        if (!StringUtils.hasText(searchRequest.getSortBy())) {
+            return null;
+        }
+        // 허용된 정렬(title, location, newest)만 사용 - 그 외 필드는 IllegalArgumentException
+        return MovieSortOption.from(searchRequest.getSortBy()).toSort(requestedDirection(searchRequest));
+    }
+
+    private Sort.Direction requestedDirection(MovieSearchRequest searchRequest) {
+        if (!StringUtils.hasText(searchRequest.getSortDirection())) {
+            return null; // 정렬별 기본 방향
+        }
+        return Sort.Direction.fromOptionalString(searchRequest.getSortDirection().trim())
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "지원하지 않는 정렬 방향입니다: " + searchRequest.getSortDirection() + " (허용: asc, desc)"));
+    }
+
+    /**
+     * 필드별 하이라이트 (일치 구간이 있는 필드만 포함)
+     */
+    private Map<String, String> highlights(MovieSearchResultDTO movie,
+                                           Set<String> titleGrams, Set<String> locationGrams, Set<String> addrGrams) {
+        Map<String, String> highlights = new LinkedHashMap<>();
+        putIfPresent(highlights, "title", NgramUtil.highlight(movie.getTitle(), titleGrams, HIGHLIGHT_OPEN, HIGHLIGHT_CLOSE));
+        putIfPresent(highlights, "location", NgramUtil.highlight(movie.getLocation(), locationGrams, HIGHLIGHT_OPEN, HIGHLIGHT_CLOSE));
+        putIfPresent(highlights, "addr", NgramUtil.highlight(movie.getAddr(), addrGrams, HIGHLIGHT_OPEN, HIGHLIGHT_CLOSE));
+        return highlights;
+    }
+
+    private void putIfPresent(Map<String, String> map, String key, String value) {
+        if (value != null) map.put(key, value);
     }
 }
\ No newline at end of file
@@ -2,17 +2,27 @@ package kopo.jeonnam.service.impl.papago;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.annotation.PostConstruct;
 import kopo.jeonnam.service.IPapagoTextTranslateService;
+import kopo.jeonnam.service.api.IHttpClientService;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.RestTemplate;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Papago 텍스트 번역 서비스
+ * 번역마다 RestTemplate / ObjectMapper를 새로 만들지 않고, 공용 HTTP 클라이언트(커넥션 재사용)와
+ * 스프링이 구성한 ObjectMapper에서 미리 만든 reader를 사용합니다. (PDF 생성 시 장소마다 여러 번 호출됨)
+ */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class PapagoTextTranslateService implements IPapagoTextTranslateService {
 
     @Value("${papago.client-id}")
@@ -24,49 +34,52 @@ public class PapagoTextTranslateService implements IPapagoTextTranslateService {
     // ✅ 공식 URL로 변경
     private static final String PAPAGO_TEXT_TRANSLATE_URL = "https://papago.apigw.ntruss.com/nmt/v1/translation";
 
+    private final IHttpClientService httpClientService;
+    private final ObjectMapper objectMapper;
+
+    // 응답 트리 reader (ObjectReader는 불변이라 여러 스레드가 함께 사용)
+    private ObjectReader responseReader;
+
+    @PostConstruct
+    public void init() {
+        responseReader = objectMapper.readerFor(JsonNode.class);
+    }
+
     @Override
     public String translateText(String sourceLang, String targetLang, String text) throws Exception {
         log.info("[PapagoTextTranslateService] 번역 요청 시작: {} → {}, 원문: {}", sourceLang, targetLang, text);
 
-        RestTemplate restTemplate = new RestTemplate();
-        ObjectMapper objectMapper = new ObjectMapper();
+        // ✅ 헤더 세팅 (Content-Type 생략 시 application/x-www-form-urlencoded)
+        Map<String, String> headers = Map.of(
+                "X-NCP-APIGW-API-KEY-ID", clientId,
+                "X-NCP-APIGW-API-KEY", clientSecret
+        );
 
-        // ✅ 헤더 세팅
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
-        headers.set("X-NCP-APIGW-API-KEY-ID", clientId);
-        headers.set("X-NCP-APIGW-API-KEY", clientSecret);
-
-        // ✅ 요청 파라미터 세팅
-        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
-        params.add("source", sourceLang); // 예: "ko"
-        params.add("target", targetLang); // 예: "en"
-        params.add("text", text); // 인코딩 필요 없음
-
-        HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(params, headers);
+        // ✅ 요청 파라미터 세팅 (form 인코딩)
+        String params = "source=" + encode(sourceLang)   // 예: "ko"
+                + "&target=" + encode(targetLang)        // 예: "en"
+                + "&text=" + encode(text);
 
         try {
-            ResponseEntity<String> response = restTemplate.exchange(
-                    PAPAGO_TEXT_TRANSLATE_URL,
-                    HttpMethod.POST,
-                    request,
-                    String.class
-            );
-
-            log.info("[PapagoTextTranslateService] 응답 상태: {}", response.getStatusCode());
-            log.info("[PapagoTextTranslateService] 응답 바디: {}", response.getBody());
+            String response = httpClientService.post(PAPAGO_TEXT_TRANSLATE_URL, headers, params);
+            log.info("[PapagoTextTranslateService] 응답 바디: {}", response);
 
-            if (response.getStatusCode().is2xxSuccessful()) {
-                JsonNode json = objectMapper.readTree(response.getBody());
-                String translatedText = json.path("message").path("result").path("translatedText").asText();
-                log.info("[PapagoTextTranslateService] 번역 결과: {}", translatedText);
-                return translatedText;
-            } else {
-                throw new Exception("Papago API 오류: " + response.getBody());
+            JsonNode json = responseReader.readValue(response);
+            JsonNode translated = json.path("message").path("result").path("translatedText");
+            if (translated.isMissingNode()) {
+                // 오류 응답(errorCode/errorMessage)은 200이 아니므로 번역 결과가 없음
+                throw new Exception("Papago API 오류: " + response);
             }
+            String translatedText = translated.asText();
+            log.info("[PapagoTextTranslateService] 번역 결과: {}", translatedText);
+            return translatedText;
         } catch (Exception e) {
             log.error("[PapagoTextTranslateService] 번역 중 예외 발생", e);
             throw e;
         }
     }
+
+    private String encode(String value) {
+        return URLEncoder.encode(value == null ? "" : value, StandardCharsets.UTF_8);
+    }
 }
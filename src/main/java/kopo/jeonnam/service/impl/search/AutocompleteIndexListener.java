@@ -0,0 +1,51 @@
+package kopo.jeonnam.service.impl.search;
+
+import kopo.jeonnam.model.MediaSpot;
+import kopo.jeonnam.repository.entity.movie.MovieEntity;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * 영화 / 촬영지 저장·삭제 이벤트를 자동완성 색인에 반영합니다.
+ * save/insert는 항목 단위로 갱신하고, _id 하나로 지정되지 않은 삭제(deleteAll 등)는 색인 재구성을 예약합니다.
+ */
+@Component
+@RequiredArgsConstructor
+class AutocompleteIndexListener extends AbstractMongoEventListener<Object> {
+
+    private final AutocompleteService autocompleteService;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        if (event.getSource() instanceof MovieEntity movie) {
+            autocompleteService.onMovieSaved(movie);
+        } else if (event.getSource() instanceof MediaSpot spot) {
+            autocompleteService.onMediaSpotSaved(spot);
+        }
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Object> event) {
+        if (MovieEntity.class.equals(event.getType())) {
+            autocompleteService.onMovieDeleted(singleId(event.getSource()));
+        } else if (MediaSpot.class.equals(event.getType())) {
+            autocompleteService.onMediaSpotDeleted(singleId(event.getSource()));
+        }
+    }
+
+    /**
+     * 삭제 조건이 { _id: 값 } 하나뿐이면 그 id, 아니면 null
+     */
+    private String singleId(Document query) {
+        if (query == null || query.size() != 1) return null;
+        Object id = query.get("_id");
+        if (id instanceof ObjectId objectId) return objectId.toHexString();
+        if (id instanceof String value) return value;
+        return null;
+    }
+}
@@ -0,0 +1,198 @@
+package kopo.jeonnam.service.impl.search;
+
+import kopo.jeonnam.dto.gpt.PlaceInfoDTO;
+import kopo.jeonnam.dto.search.AutocompleteDTO;
+import kopo.jeonnam.model.MediaSpot;
+import kopo.jeonnam.repository.entity.movie.MovieEntity;
+import kopo.jeonnam.repository.mongo.csv.MediaSpotRepository;
+import kopo.jeonnam.repository.mongo.movie.MovieRepository;
+import kopo.jeonnam.service.gpt.IPlaceCatalogService;
+import kopo.jeonnam.service.search.IAutocompleteService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * 🔎 자동완성 서비스
+ * - 영화 제목, 촬영지명, places.json 장소명을 각각 메모리 n-gram 색인으로 유지합니다.
+ * - 영화/촬영지는 MongoDB 저장/삭제 이벤트(AutocompleteIndexListener)로 항목 단위 갱신되고,
+ *   조건 삭제처럼 대상 id를 알 수 없는 변경은 다음 조회 때 해당 색인만 다시 만듭니다.
+ * - 장소 카탈로그는 버전이 바뀌면 다시 만듭니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AutocompleteService implements IAutocompleteService {
+
+    private final MovieRepository movieRepository;
+    private final MediaSpotRepository mediaSpotRepository;
+    private final IPlaceCatalogService placeCatalogService;
+
+    private final NgramIndex<AutocompleteDTO> movieIndex = new NgramIndex<>();
+    private final NgramIndex<AutocompleteDTO> mediaSpotIndex = new NgramIndex<>();
+    private final NgramIndex<AutocompleteDTO> placeIndex = new NgramIndex<>();
+
+    // 처음 조회 전이거나 항목 단위로 반영할 수 없는 변경이 있으면 true
+    private final AtomicBoolean movieDirty = new AtomicBoolean(true);
+    private final AtomicBoolean mediaSpotDirty = new AtomicBoolean(true);
+    private volatile long placeVersion = -1;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            rebuildAll();
+        } catch (Exception e) {
+            log.warn("⚠️ 자동완성 색인 초기 생성 실패 (첫 조회 시 다시 시도): {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public List<AutocompleteDTO> autocomplete(String query, String type, int limit) {
+        if (type != null && !List.of(TYPE_MOVIE, TYPE_MEDIA_SPOT, TYPE_PLACE).contains(type)) {
+            throw new IllegalArgumentException("알 수 없는 자동완성 종류입니다: " + type);
+        }
+        if (query == null || query.isBlank()) return List.of();
+
+        List<AutocompleteDTO> results = new ArrayList<>();
+        if (type == null || TYPE_MOVIE.equals(type)) {
+            refreshMoviesIfDirty();
+            results.addAll(movieIndex.search(query, limit));
+        }
+        if (type == null || TYPE_MEDIA_SPOT.equals(type)) {
+            refreshMediaSpotsIfDirty();
+            results.addAll(mediaSpotIndex.search(query, limit));
+        }
+        if (type == null || TYPE_PLACE.equals(type)) {
+            refreshPlacesIfChanged();
+            results.addAll(placeIndex.search(query, limit));
+        }
+        return results;
+    }
+
+    @Override
+    public void rebuildAll() {
+        movieDirty.set(true);
+        mediaSpotDirty.set(true);
+        placeVersion = -1;
+        refreshMoviesIfDirty();
+        refreshMediaSpotsIfDirty();
+        refreshPlacesIfChanged();
+    }
+
+    @Override
+    public void invalidate(String type) {
+        switch (type) {
+            case TYPE_MOVIE -> movieDirty.set(true);
+            case TYPE_MEDIA_SPOT -> mediaSpotDirty.set(true);
+            case TYPE_PLACE -> placeVersion = -1;
+            default -> throw new IllegalArgumentException("알 수 없는 자동완성 종류입니다: " + type);
+        }
+    }
+
+    @Override
+    public Map<String, Integer> getIndexSizes() {
+        Map<String, Integer> sizes = new LinkedHashMap<>();
+        sizes.put(TYPE_MOVIE, movieIndex.size());
+        sizes.put(TYPE_MEDIA_SPOT, mediaSpotIndex.size());
+        sizes.put(TYPE_PLACE, placeIndex.size());
+        return sizes;
+    }
+
+    // ───── 저장 이벤트 반영 (AutocompleteIndexListener) ─────
+
+    void onMovieSaved(MovieEntity movie) {
+        if (movie.getId() != null) movieIndex.put(movie.getId(), movie.getTitle(), toDTO(movie));
+    }
+
+    void onMediaSpotSaved(MediaSpot spot) {
+        if (spot.getId() != null) mediaSpotIndex.put(spot.getId().toHexString(), spot.getSpotNm(), toDTO(spot));
+    }
+
+    void onMovieDeleted(String id) {
+        if (id == null) movieDirty.set(true);
+        else movieIndex.remove(id);
+    }
+
+    void onMediaSpotDeleted(String id) {
+        if (id == null) mediaSpotDirty.set(true);
+        else mediaSpotIndex.remove(id);
+    }
+
+    // ───── 색인 재구성 ─────
+
+    /**
+     * 영화 색인 재구성 - 색인마다 한 스레드만 재구성하고, 원본 조회 중에 들어온 저장/삭제 이벤트는 교체 시 다시 적용됩니다.
+     */
+    private void refreshMoviesIfDirty() {
+        if (!movieDirty.get()) return;
+        synchronized (movieIndex) {
+            if (!movieDirty.compareAndSet(true, false)) return;
+            movieIndex.beginRebuild();
+            try {
+                long started = System.nanoTime();
+                List<AutocompleteDTO> movies = movieRepository.findAll().stream().map(this::toDTO).toList();
+                movieIndex.replaceAll(movies, AutocompleteDTO::id, AutocompleteDTO::label);
+                log.info("🔎 영화 자동완성 색인 생성 - {}건, {}ms", movies.size(), (System.nanoTime() - started) / 1_000_000);
+            } catch (RuntimeException e) {
+                movieIndex.cancelRebuild();
+                movieDirty.set(true);
+                throw e;
+            }
+        }
+    }
+
+    private void refreshMediaSpotsIfDirty() {
+        if (!mediaSpotDirty.get()) return;
+        synchronized (mediaSpotIndex) {
+            if (!mediaSpotDirty.compareAndSet(true, false)) return;
+            mediaSpotIndex.beginRebuild();
+            try {
+                long started = System.nanoTime();
+                List<AutocompleteDTO> spots;
+                try (Stream<MediaSpot> all = mediaSpotRepository.streamAll()) {
+                    spots = all.map(this::toDTO).toList();
+                }
+                mediaSpotIndex.replaceAll(spots, AutocompleteDTO::id, AutocompleteDTO::label);
+                log.info("🔎 촬영지 자동완성 색인 생성 - {}건, {}ms", spots.size(), (System.nanoTime() - started) / 1_000_000);
+            } catch (RuntimeException e) {
+                mediaSpotIndex.cancelRebuild();
+                mediaSpotDirty.set(true);
+                throw e;
+            }
+        }
+    }
+
+    private synchronized void refreshPlacesIfChanged() {
+        long version = placeCatalogService.getVersion();
+        if (version == placeVersion) return;
+
+        List<AutocompleteDTO> places = placeCatalogService.getAllPlaces().stream()
+                .map(this::toDTO)
+                .toList();
+        placeIndex.replaceAll(places, AutocompleteDTO::id, AutocompleteDTO::label);
+        placeVersion = version;
+        log.info("🔎 장소 자동완성 색인 생성 - {}건 (카탈로그 버전 {})", places.size(), version);
+    }
+
+    private AutocompleteDTO toDTO(MovieEntity movie) {
+        return new AutocompleteDTO(TYPE_MOVIE, movie.getId(), movie.getTitle(), movie.getLocation());
+    }
+
+    private AutocompleteDTO toDTO(MediaSpot spot) {
+        return new AutocompleteDTO(TYPE_MEDIA_SPOT, spot.getId().toHexString(), spot.getSpotNm(), spot.getSpotArea());
+    }
+
+    // 이름이 같은 장소가 여러 곳일 수 있으므로 이름 + 주소를 id로 사용
+    private AutocompleteDTO toDTO(PlaceInfoDTO place) {
+        return new AutocompleteDTO(TYPE_PLACE, place.name() + "|" + place.addr(), place.name(), place.addr());
+    }
+}
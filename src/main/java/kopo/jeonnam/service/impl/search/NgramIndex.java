@@ -0,0 +1,223 @@
+package kopo.jeonnam.service.impl.search;
+
+import kopo.jeonnam.util.NgramUtil;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * 메모리 역색인 (글자 1~3-gram + 초성 1~2-gram → 항목 id)
+ * - 항목 단위로 추가/교체/삭제할 수 있어 저장 이벤트마다 전체를 다시 만들 필요가 없습니다.
+ * - 후보는 색인으로 고르고, 자모 분해 문자열로 최종 확인하여 입력 중인 글자("장ㅎ")도 찾습니다.
+ * - 여러 스레드에서 동시에 조회할 수 있도록 읽기/쓰기 잠금을 사용합니다.
+ * - 전체 재구성(beginRebuild ~ replaceAll) 중에 들어온 put/remove는 기록해 두었다가 새 색인에 다시 적용하므로,
+ *   원본 조회 이후의 변경이 교체로 사라지지 않습니다.
+ */
+class NgramIndex<T> {
+
+    private static final String CHOSEONG_KEY = "^"; // 초성 gram과 일반 gram을 구분하는 접두사
+    private static final int MAX_GRAM = 3;
+
+    private record Entry<T>(String id, T value, String normalized, String jamo, String choseong, Set<String> keys) {
+    }
+
+    // 재구성 중 들어온 변경 (removed면 삭제)
+    private record Change<T>(String text, T value, boolean removed) {
+    }
+
+    private final Map<String, Entry<T>> entries = new HashMap<>();
+    private final Map<String, Set<String>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 재구성 중이 아니면 null (쓰기 잠금 안에서만 읽고 씀)
+    private Map<String, Change<T>> changesDuringRebuild;
+
+    /**
+     * 항목 추가 또는 교체 (같은 id가 있으면 기존 색인을 지우고 다시 등록)
+     */
+    void put(String id, String text, T value) {
+        lock.writeLock().lock();
+        try {
+            if (changesDuringRebuild != null) changesDuringRebuild.put(id, new Change<>(text, value, false));
+            removeInternal(id);
+            String normalized = NgramUtil.normalize(text);
+            if (normalized.isEmpty()) return;
+
+            String choseong = NgramUtil.choseong(normalized);
+            Set<String> keys = new HashSet<>();
+            for (int n = 1; n <= MAX_GRAM; n++) {
+                keys.addAll(NgramUtil.grams(normalized, n));
+            }
+            NgramUtil.grams(choseong, 1).forEach(g -> keys.add(CHOSEONG_KEY + g));
+            NgramUtil.grams(choseong, 2).forEach(g -> keys.add(CHOSEONG_KEY + g));
+
+            Entry<T> entry = new Entry<>(id, value, normalized, NgramUtil.decompose(normalized), choseong, keys);
+            entries.put(id, entry);
+            for (String key : keys) {
+                postings.computeIfAbsent(key, k -> new HashSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            if (changesDuringRebuild != null) changesDuringRebuild.put(id, new Change<>(null, null, true));
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 전체 재구성 시작 - 원본 데이터를 읽기 전에 호출하며, 이후의 put/remove를 replaceAll 때 다시 적용합니다.
+     */
+    void beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 재구성 취소 (원본 조회 실패 시) - 기록해 둔 변경은 이미 현재 색인에 반영되어 있으므로 버립니다.
+     */
+    void cancelRebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 전체 교체 (재구성 중에도 조회는 이전 내용 또는 새 내용 중 하나만 보게 됨)
+     * beginRebuild 이후 들어온 변경은 교체 직전에 새 색인에 다시 적용합니다.
+     */
+    void replaceAll(Collection<T> values, Function<T, String> idOf, Function<T, String> textOf) {
+        NgramIndex<T> rebuilt = new NgramIndex<>();
+        for (T value : values) {
+            rebuilt.put(idOf.apply(value), textOf.apply(value), value);
+        }
+        lock.writeLock().lock();
+        try {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.forEach((id, change) -> {
+                    if (change.removed()) rebuilt.remove(id);
+                    else rebuilt.put(id, change.text(), change.value());
+                });
+                changesDuringRebuild = null;
+            }
+            entries.clear();
+            entries.putAll(rebuilt.entries);
+            postings.clear();
+            postings.putAll(rebuilt.postings);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 검색어로 항목 조회 - 앞부분 일치 > 중간 일치, 같은 조건이면 짧은 이름 순
+     *
+     * @param query 검색어 (초성만 입력하면 초성 검색)
+     * @param limit 최대 개수
+     */
+    List<T> search(String query, int limit) {
+        String q = NgramUtil.normalize(query);
+        if (q.isEmpty() || limit <= 0) return List.of();
+
+        lock.readLock().lock();
+        try {
+            List<Entry<T>> matches = new ArrayList<>();
+            Comparator<Entry<T>> rank;
+
+            if (NgramUtil.isChoseongOnly(q)) {
+                for (Entry<T> entry : candidates(CHOSEONG_KEY, q)) {
+                    if (entry.choseong().contains(q)) matches.add(entry);
+                }
+                rank = Comparator.comparingInt((Entry<T> e) -> e.choseong().indexOf(q));
+            } else {
+                // 마지막 글자는 입력 중일 수 있으므로 후보 선택에서 빼고, 자모 단위로 최종 확인
+                String complete = q.substring(0, q.length() - 1);
+                String jamo = NgramUtil.decompose(q);
+                for (Entry<T> entry : candidates("", complete)) {
+                    if (entry.jamo().contains(jamo)) matches.add(entry);
+                }
+                rank = Comparator.comparingInt((Entry<T> e) -> e.jamo().indexOf(jamo));
+            }
+
+            return matches.stream()
+                    .sorted(rank.thenComparingInt(e -> e.normalized().length()).thenComparing(Entry::id))
+                    .limit(limit)
+                    .map(Entry::value)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 색인 후보 - 가장 긴 gram(최대 3)들의 게시 목록 교집합, 검색어가 비어 있으면 전체
+     */
+    private Collection<Entry<T>> candidates(String keyPrefix, String text) {
+        if (text.isEmpty()) return entries.values();
+
+        int n = Math.min(MAX_GRAM, text.length());
+        if (!keyPrefix.isEmpty()) n = Math.min(2, n); // 초성 색인은 2-gram까지
+
+        List<Set<String>> lists = new ArrayList<>();
+        for (String gram : NgramUtil.grams(text, n)) {
+            Set<String> ids = postings.get(keyPrefix + gram);
+            if (ids == null) return List.of();
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        List<Entry<T>> result = new ArrayList<>();
+        for (String id : lists.get(0)) {
+            boolean inAll = true;
+            for (int i = 1; i < lists.size() && inAll; i++) {
+                inAll = lists.get(i).contains(id);
+            }
+            if (inAll) result.add(entries.get(id));
+        }
+        return result;
+    }
+
+    private void removeInternal(String id) {
+        Entry<T> old = entries.remove(id);
+        if (old == null) return;
+        for (String key : old.keys()) {
+            Set<String> ids = postings.get(key);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) postings.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package kopo.jeonnam.service.impl.theme;
+
+import kopo.jeonnam.util.ETagUtil;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 공공 데이터(추천 코스 / 일정 / 이미지) 증분 동기화 도우미
+ * - 항목마다 API 원본 필드로 만든 내용 해시(content_hash)를 함께 저장하고, 다시 받은 항목 중 해시가 달라졌거나
+ *   삭제 표시된 항목만 _id 기준 replaceOne으로 다시 씁니다. (내용이 같으면 쓰기 없음)
+ * - 응답에서 사라진 항목은 바로 지우지 않고 deleted_at만 기록(soft delete)하며, 조회 쪽은 deleted_at이 없는 문서만 봅니다.
+ * 컬렉션을 비우고 다시 채우지 않고 문서 단위로 제자리에서 바꾸므로, 수집 중에도 조회는 이전 또는 새 내용만 보게 됩니다.
+ */
+final class ContentHashSync {
+
+    static final String HASH_FIELD = "content_hash";
+    static final String DELETED_FIELD = "deleted_at";
+
+    private static final char SEPARATOR = '\u001F'; // 필드 경계 (값 이어붙이기로 다른 필드 조합이 같은 해시가 되지 않도록)
+    private static final char NULL_MARK = '\u0000';
+
+    private ContentHashSync() {
+    }
+
+    /**
+     * 이번 반영 결과 (written = inserted + updated)
+     */
+    record Delta(int inserted, int updated, int unchanged) {
+        int written() {
+            return inserted + updated;
+        }
+    }
+
+    /**
+     * API 원본 필드 값들의 SHA-256 해시 (null과 빈 문자열은 구분)
+     */
+    static String hash(String... values) {
+        StringBuilder sb = new StringBuilder();
+        for (String value : values) {
+            sb.append(value == null ? String.valueOf(NULL_MARK) : value).append(SEPARATOR);
+        }
+        return ETagUtil.sha256Hex(sb.toString());
+    }
+
+    /**
+     * 저장된 해시와 비교해 새로 생겼거나 내용이 바뀐(또는 삭제 표시된) 항목만 한 번의 unordered bulkWrite로 upsert합니다.
+     * 다시 쓰는 문서는 엔티티 전체로 교체되므로 deleted_at 표시도 함께 지워집니다.
+     */
+    static <T> Delta upsertChanged(MongoTemplate mongoTemplate, Class<T> type, Collection<T> items,
+                                   Function<T, String> idOf, Function<T, String> hashOf) {
+        if (items.isEmpty()) return new Delta(0, 0, 0);
+
+        Map<String, T> byId = new LinkedHashMap<>();
+        items.forEach(item -> byId.put(idOf.apply(item), item));
+
+        Query existingQuery = Query.query(Criteria.where("_id").in(byId.keySet()));
+        existingQuery.fields().include(HASH_FIELD).include(DELETED_FIELD);
+        Map<String, Document> existing = new HashMap<>();
+        mongoTemplate.find(existingQuery, Document.class, mongoTemplate.getCollectionName(type))
+                .forEach(doc -> existing.put(String.valueOf(doc.get("_id")), doc));
+
+        BulkOperations bulk = null;
+        int inserted = 0;
+        int updated = 0;
+        int unchanged = 0;
+        for (Map.Entry<String, T> entry : byId.entrySet()) {
+            Document previous = existing.get(entry.getKey());
+            String hash = hashOf.apply(entry.getValue());
+            if (previous != null && previous.get(DELETED_FIELD) == null && hash != null
+                    && hash.equals(previous.getString(HASH_FIELD))) {
+                unchanged++;
+                continue;
+            }
+            if (bulk == null) {
+                bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type);
+            }
+            bulk.replaceOne(Query.query(Criteria.where("_id").is(entry.getKey())), entry.getValue(),
+                    FindAndReplaceOptions.options().upsert());
+            if (previous == null) inserted++;
+            else updated++;
+        }
+        if (bulk != null) bulk.execute();
+        return new Delta(inserted, updated, unchanged);
+    }
+
+    /**
+     * scope 범위에서 이번에 받지 못한(아직 삭제 표시되지 않은) 문서 조건
+     *
+     * @param scope null이면 컬렉션 전체
+     */
+    static Query missingQuery(Criteria scope, Collection<String> seenIds) {
+        Criteria missing = Criteria.where("_id").nin(seenIds).and(DELETED_FIELD).is(null);
+        return Query.query(scope == null ? missing : new Criteria().andOperator(scope, missing));
+    }
+
+    static Update markDeleted() {
+        return Update.update(DELETED_FIELD, new Date());
+    }
+
+    /**
+     * scope 범위에서 이번에 받지 못한 문서를 soft delete합니다.
+     *
+     * @return 새로 삭제 표시된 문서 수
+     */
+    static long softDeleteMissing(MongoTemplate mongoTemplate, Class<?> type, Criteria scope, Collection<String> seenIds) {
+        return mongoTemplate.updateMulti(missingQuery(scope, seenIds), markDeleted(), type).getModifiedCount();
+    }
+}
@@ -0,0 +1,24 @@
+package kopo.jeonnam.service.impl.theme;
+
+import kopo.jeonnam.util.TokenBucketRateLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 🪣 추천 코스 공공 API 호출 속도 제한기 (빈 하나를 코스 / 이미지 / 일정 수집이 함께 사용)
+ * 호출 한도는 API 키 단위로 적용되므로, 서비스마다 버킷을 따로 만들면 동시에 수집할 때 합계가 한도를 넘습니다.
+ */
+@Component
+public class RecommendCourseApiRateLimiter extends TokenBucketRateLimiter {
+
+    private final double ratePerSecond;
+
+    public RecommendCourseApiRateLimiter(@Value("${recommendcourse.api.rate-per-second:5}") double ratePerSecond) {
+        super(ratePerSecond, (int) Math.max(1, Math.ceil(ratePerSecond)));
+        this.ratePerSecond = ratePerSecond;
+    }
+
+    public double getRatePerSecond() {
+        return ratePerSecond;
+    }
+}
@@ -1,22 +1,40 @@
 package kopo.jeonnam.service.impl.theme;
 
+import kopo.jeonnam.dto.theme.RecommendCourseImageCrawlResultDTO;
+import kopo.jeonnam.repository.entity.theme.RecommendCourseImageCheckpointEntity;
 import kopo.jeonnam.repository.entity.theme.RecommendCourseImageEntity;
+import kopo.jeonnam.repository.mongo.theme.RecommendCourseImageCheckpointRepository;
 import kopo.jeonnam.repository.mongo.theme.RecommendCourseImageRepository;
+import kopo.jeonnam.repository.mongo.theme.RecommendCourseRepository;
+import kopo.jeonnam.service.api.IHttpClientService;
 import kopo.jeonnam.service.theme.IRecommendCourseImageService;
-import kopo.jeonnam.util.NetworkUtil;
 import kopo.jeonnam.util.XmlParserUtil; // XmlParserUtil 임포트
-import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
+import javax.xml.stream.XMLStreamException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Set; // 중복 방지를 위해 Set 임포트
-import java.util.HashSet; // 중복 방지를 위해 HashSet 임포트
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -25,6 +43,13 @@ import java.util.stream.Collectors;
 public class RecommendCourseImageService implements IRecommendCourseImageService {
 
     private final RecommendCourseImageRepository recommendCourseImageRepository;
+    private final RecommendCourseImageCheckpointRepository checkpointRepository;
+    private final RecommendCourseRepository recommendCourseRepository;
+    private final IHttpClientService httpClientService;
+    private final MongoTemplate mongoTemplate;
+
+    // 코스 / 이미지 / 일정 수집이 같은 API 키의 호출 한도를 하나의 버킷으로 공유
+    private final RecommendCourseApiRateLimiter rateLimiter;
 
     @Value("${recommendcourse.api.imglist.url}")
     private String apiUrl;
@@ -32,12 +57,16 @@ public class RecommendCourseImageService implements IRecommendCourseImageService
     @Value("${recommendcourse.api.key}")
     private String apiKey;
 
+    @Value("${recommendcourse.image.parallelism:4}")
+    private int crawlParallelism;
+
+    @Value("${recommendcourse.image.batch-size:200}")
+    private int upsertBatchSize;
 
     @Override
     public boolean existsAnyImages() {
-        // ⭐ 여기에 실제 이미지 데이터 존재 여부를 확인하는 로직을 넣어주세요.
-        // 예를 들어, 이미지 테이블에 데이터가 하나라도 있는지 세는 방식 등으로요.
-        return recommendCourseImageRepository.count() > 0; // 예시: 레포지토리에 count() 메서드가 있다고 가정
+        // soft delete된(deleted_at이 있는) 이미지만 남아 있으면 데이터가 없는 것으로 봄
+        return recommendCourseImageRepository.existsByDeletedAtIsNull();
     }
 
     /**
@@ -53,126 +82,288 @@ public class RecommendCourseImageService implements IRecommendCourseImageService
             return 0;
         }
 
-        int savedCount = 0;
-        Set<String> processedImageIds = new HashSet<>(); // 중복 이미지 방지를 위한 Set
-
+        Map<String, RecommendCourseImageEntity> images = new LinkedHashMap<>(); // 중복 이미지 방지 (_id 기준)
+        // 조회에 성공한 courseInfoId → 받은 이미지 _id (이미지가 없다고 응답한 courseInfoId는 빈 집합이라 기존 이미지가 모두 삭제 표시됨)
+        Map<String, Set<String>> seenByCourseInfoId = new LinkedHashMap<>();
         try {
-            String encodedKey = URLEncoder.encode(apiKey, StandardCharsets.UTF_8);
-
-            // 쉼표로 구분된 courseInfoIds를 개별 ID로 분리
-            List<String> individualCourseInfoIds = Arrays.asList(courseInfoIds.split(","))
-                    .stream()
-                    .map(String::trim)
-                    .filter(s -> !s.isEmpty())
-                    .collect(Collectors.toList());
-
-            // 각 개별 courseInfoId에 대해 API 호출
-            for (String singleCourseInfoId : individualCourseInfoIds) {
-                String url = String.format("%s?serviceKey=%s&numOfRows=10&pageNo=1&courseInfoId=%s",
-                        apiUrl, encodedKey, URLEncoder.encode(singleCourseInfoId, StandardCharsets.UTF_8));
-                log.info("  이미지 API 호출 URL: {}", url);
-
-                String response = NetworkUtil.get(url);
-
-                if (response == null || !response.trim().startsWith("<")) {
-                    log.error("  이미지 API 응답 오류(비XML 또는 null): {}", response);
-                    continue;
+            for (String singleCourseInfoId : splitCourseInfoIds(courseInfoIds)) {
+                List<RecommendCourseImageEntity> fetched = fetchImages(singleCourseInfoId);
+                if (fetched != null) {
+                    Set<String> seenIds = seenByCourseInfoId.computeIfAbsent(singleCourseInfoId, id -> new LinkedHashSet<>());
+                    fetched.forEach(image -> {
+                        images.putIfAbsent(image.get_id(), image);
+                        seenIds.add(image.get_id());
+                    });
                 }
+            }
+            upsertImages(images.values());
+            softDeleteMissingImages(seenByCourseInfoId);
+        } catch (Exception e) {
+            log.error("!! 이미지 데이터 처리 중 예상치 못한 예외 발생: {}", e.getMessage(), e);
+            return 0;
+        }
+        log.info(">> fetchAndSaveRecommendCourseImages 서비스 종료. 총 {}개 이미지 저장.", images.size());
+        return images.size();
+    }
 
-                // 응답 원문 로그 추가
-                log.info("  이미지 API 원문 응답: {}", response);
-                JsonNode rootNode = XmlParserUtil.parseXmlToJsonNode(response).orElse(null);
-                if (rootNode == null) {
-                    log.error("  XML 파싱 실패 또는 빈 응답 (courseInfoId: {})", singleCourseInfoId);
-                    continue;
-                }
+    /**
+     * 모든 추천 코스의 courseInfoId 이미지를 제한된 병렬도로 수집합니다.
+     * 호출은 하나의 속도 제한기를 공유하고, 이미지는 batchSize개씩 모아 내용 해시가 바뀐 것만 unordered bulk upsert로 저장합니다.
+     * 조회에 성공한 courseInfoId에서 사라진 이미지는 soft delete(deleted_at)합니다.
+     * 이미지 저장 후 courseInfoId별 체크포인트를 DONE으로 기록하므로, 중단된 수집은 남은 항목부터 이어서 진행합니다.
+     * 체크포인트는 중단된 수집을 잇기 위한 것이므로, 실패 없이 끝난 수집은 체크포인트를 지워 다음 실행이 처음부터 동기화합니다.
+     */
+    @Override
+    public RecommendCourseImageCrawlResultDTO crawlAllRecommendCourseImages(boolean restart) {
+        long startedAt = System.currentTimeMillis();
+        if (restart) {
+            checkpointRepository.deleteAll();
+            log.info("🖼 이미지 수집 체크포인트 초기화 - 처음부터 다시 수집합니다.");
+        }
 
-                // header/body가 없을 때 예외 처리
-                JsonNode header = rootNode.path("header");
-                JsonNode body = rootNode.path("body");
-                if (header.isMissingNode() || body.isMissingNode()) {
-                    // 혹시 cmmMsgHeader 구조일 경우도 체크
-                    JsonNode cmmHeader = rootNode.path("cmmMsgHeader");
-                    if (!cmmHeader.isMissingNode()) {
-                        String errMsg = cmmHeader.path("errMsg").asText();
-                        String returnAuthMsg = cmmHeader.path("returnAuthMsg").asText();
-                        String returnReasonCode = cmmHeader.path("returnReasonCode").asText();
-                        log.error("  이미지 API 인증 오류: {}, {}, {} (courseInfoId: {})", errMsg, returnAuthMsg, returnReasonCode, singleCourseInfoId);
-                    } else {
-                        log.warn("  이미지 API 응답에 header/body가 없음. 원문: {}", response);
-                    }
-                    continue;
-                }
+        Set<String> allIds = new LinkedHashSet<>();
+        recommendCourseRepository.findByDeletedAtIsNull().forEach(course -> allIds.addAll(splitCourseInfoIds(course.getCourseInfoIds())));
 
-                String resultCode = header.path("resultCode").asText();
-                String resultMsg = header.path("resultMsg").asText("알 수 없는 오류");
-                if (!"00".equals(resultCode)) {
-                    log.error("  이미지 API 응답 오류 - 코드: {}, 메시지: {} (courseInfoId: {})", resultCode, resultMsg, singleCourseInfoId);
-                    continue;
-                }
+        Set<String> doneIds = checkpointRepository.findByStatus(RecommendCourseImageCheckpointEntity.STATUS_DONE).stream()
+                .map(RecommendCourseImageCheckpointEntity::getCourseInfoId)
+                .collect(Collectors.toSet());
+        List<String> pendingIds = allIds.stream().filter(id -> !doneIds.contains(id)).toList();
+        int skipped = allIds.size() - pendingIds.size();
+        log.info("🖼 이미지 수집 시작 - courseInfoId {}개 중 완료 {}개 건너뜀, {}개 수집 (병렬도 {})",
+                allIds.size(), skipped, pendingIds.size(), crawlParallelism);
+
+        ImageUpsertBuffer buffer = new ImageUpsertBuffer(Math.max(1, upsertBatchSize));
+        AtomicInteger fetched = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        int logEvery = Math.max(1, pendingIds.size() / 10);
+        AtomicInteger done = new AtomicInteger();
 
-                JsonNode items = body.path("items").path("item");
-                if (items.isArray()) {
-                    for (JsonNode item : items) {
-                        RecommendCourseImageEntity entity = mapJsonNodeToImageEntity(item, singleCourseInfoId);
-                        if (entity != null && processedImageIds.add(entity.get_id())) {
-                            recommendCourseImageRepository.save(entity);
-                            savedCount++;
-                            log.debug("    이미지 저장 완료: _id={}", entity.get_id());
-                        } else if (entity != null) {
-                            log.debug("    이미지 _id: {} 는 이미 처리된 항목이므로 스킵합니다.", entity.get_id());
+        AtomicInteger threadSeq = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, crawlParallelism), r -> {
+            Thread t = new Thread(r, "recommend-course-image-crawl-" + threadSeq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        try {
+            CompletableFuture<?>[] futures = pendingIds.stream()
+                    .map(courseInfoId -> CompletableFuture.runAsync(() -> {
+                        List<RecommendCourseImageEntity> images = fetchImages(courseInfoId);
+                        if (images == null) {
+                            failed.incrementAndGet();
+                            buffer.add(courseInfoId, null);
+                        } else {
+                            fetched.incrementAndGet();
+                            buffer.add(courseInfoId, images);
                         }
-                    }
-                } else if (!items.isMissingNode()) {
-                    RecommendCourseImageEntity entity = mapJsonNodeToImageEntity(items, singleCourseInfoId);
-                    if (entity != null && processedImageIds.add(entity.get_id())) {
-                        recommendCourseImageRepository.save(entity);
-                        savedCount++;
-                        log.debug("    단일 이미지 저장 완료: _id={}", entity.get_id());
-                    } else if (entity != null) {
-                        log.debug("    이미지 _id: {} 는 이미 처리된 항목이므로 스킵합니다.", entity.get_id());
-                    }
-                } else {
-                    log.info("  courseInfoId '{}'에 대한 이미지 데이터가 없습니다.", singleCourseInfoId);
+                        int completed = done.incrementAndGet();
+                        if (completed % logEvery == 0 || completed == pendingIds.size()) {
+                            log.info("🖼 이미지 수집 진행 {}/{} (실패 {}, {}ms)", completed, pendingIds.size(), failed.get(),
+                                    System.currentTimeMillis() - startedAt);
+                        }
+                    }, executor))
+                    .toArray(CompletableFuture[]::new);
+
+            CompletableFuture.allOf(futures).join();
+            buffer.flush();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // 실패 없이 끝까지 받았으면 체크포인트를 지워 다음 수집이 전체를 다시 동기화하도록 함
+        // (DONE이 남아 있으면 이후 실행이 그 courseInfoId의 이미지 변경/삭제를 영영 반영하지 못함)
+        if (failed.get() == 0) {
+            checkpointRepository.deleteAll();
+            log.info("🖼 이미지 수집이 실패 없이 끝나 체크포인트를 정리했습니다.");
+        } else {
+            log.warn("🖼 실패한 courseInfoId {}개 - 체크포인트를 남겨 다음 실행에서 남은 항목부터 이어서 수집합니다.", failed.get());
+        }
+
+        RecommendCourseImageCrawlResultDTO result = new RecommendCourseImageCrawlResultDTO(allIds.size(), skipped,
+                fetched.get(), failed.get(), buffer.savedImages(), buffer.deletedImages(), System.currentTimeMillis() - startedAt);
+        log.info("🖼 이미지 수집 완료 - {}", result);
+        return result;
+    }
+
+    /**
+     * courseInfoId 하나의 이미지 목록을 조회합니다. (공유 속도 제한기에서 토큰을 얻은 뒤 호출)
+     * @return 이미지 목록 (이미지가 없으면 빈 목록), 호출/응답 오류면 null
+     */
+    private List<RecommendCourseImageEntity> fetchImages(String singleCourseInfoId) {
+        try {
+            String url = String.format("%s?serviceKey=%s&numOfRows=10&pageNo=1&courseInfoId=%s",
+                    apiUrl, URLEncoder.encode(apiKey, StandardCharsets.UTF_8),
+                    URLEncoder.encode(singleCourseInfoId, StandardCharsets.UTF_8));
+            log.debug("  이미지 API 호출 URL: {}", url);
+
+            rateLimiter.acquire();
+            // 응답 본문을 문자열/트리로 만들지 않고 스트림에서 item을 하나씩 읽어 바로 엔티티로 변환
+            List<RecommendCourseImageEntity> images = new ArrayList<>();
+            XmlParserUtil.PublicDataResponse response = httpClientService.get(url, null, (status, body) -> {
+                try {
+                    return XmlParserUtil.streamItems(body, item -> {
+                        RecommendCourseImageEntity entity = mapItemToImageEntity(item, singleCourseInfoId);
+                        if (entity != null) images.add(entity);
+                    });
+                } catch (XMLStreamException e) {
+                    log.error("  이미지 API 응답 오류(비XML 또는 파싱 실패, HTTP {}) (courseInfoId: {}): {}",
+                            status, singleCourseInfoId, e.getMessage());
+                    return null;
                 }
+            });
+            if (response == null) {
+                return null;
+            }
+
+            // cmmMsgHeader 구조(인증키 오류, 호출 한도 초과 등)
+            if (response.isServiceError()) {
+                log.error("  이미지 API 인증 오류: {}, {}, {} (courseInfoId: {})", response.errMsg(), response.returnAuthMsg(),
+                        response.returnReasonCode(), singleCourseInfoId);
+                return null;
             }
+
+            if (!response.isOk()) {
+                String resultMsg = response.resultMsg() != null ? response.resultMsg() : "알 수 없는 오류";
+                log.error("  이미지 API 응답 오류 - 코드: {}, 메시지: {} (courseInfoId: {})", response.resultCode(), resultMsg, singleCourseInfoId);
+                return null;
+            }
+
+            if (response.itemCount() == 0) {
+                log.debug("  courseInfoId '{}'에 대한 이미지 데이터가 없습니다.", singleCourseInfoId);
+            }
+            return images;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
         } catch (Exception e) {
-            log.error("!! 이미지 데이터 처리 중 예상치 못한 예외 발생: {}", e.getMessage(), e);
-            return 0;
+            log.error("  이미지 API 호출 실패 (courseInfoId: {}): {}", singleCourseInfoId, e.getMessage());
+            return null;
+        }
+    }
+
+    private List<String> splitCourseInfoIds(String courseInfoIds) {
+        if (courseInfoIds == null || courseInfoIds.isBlank()) return List.of();
+        return Arrays.stream(courseInfoIds.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toList();
+    }
+
+    // 저장된 해시와 다른 이미지만 _id(courseFileUrl) 기준 upsert로 한 번의 unordered bulkWrite에 저장
+    private ContentHashSync.Delta upsertImages(Collection<RecommendCourseImageEntity> images) {
+        return ContentHashSync.upsertChanged(mongoTemplate, RecommendCourseImageEntity.class, images,
+                RecommendCourseImageEntity::get_id, RecommendCourseImageEntity::getContentHash);
+    }
+
+    /**
+     * 조회에 성공한 courseInfoId마다, 이번 응답에 없는 기존 이미지를 soft delete합니다. (한 번의 bulkWrite)
+     * @param seenByCourseInfoId courseInfoId → 이번에 받은 이미지 _id (이미지가 없던 courseInfoId는 빈 집합)
+     * @return 새로 삭제 표시된 이미지 수
+     */
+    private long softDeleteMissingImages(Map<String, Set<String>> seenByCourseInfoId) {
+        if (seenByCourseInfoId.isEmpty()) return 0;
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RecommendCourseImageEntity.class);
+        seenByCourseInfoId.forEach((courseInfoId, seenIds) -> bulk.updateMulti(
+                ContentHashSync.missingQuery(Criteria.where("courseInfoId").is(courseInfoId), seenIds),
+                ContentHashSync.markDeleted()));
+        return bulk.execute().getModifiedCount();
+    }
+
+    /**
+     * 작업 스레드가 넣는 이미지를 모아 batchSize개마다 저장(변경분만)하고 사라진 이미지를 삭제 표시한 뒤,
+     * 그 다음에 해당 courseInfoId 체크포인트를 기록합니다.
+     * (이미지 저장이 끝나기 전에는 DONE이 기록되지 않음)
+     */
+    private final class ImageUpsertBuffer {
+        private final int batchSize;
+        private final Map<String, RecommendCourseImageEntity> pendingImages = new LinkedHashMap<>();
+        private final Map<String, RecommendCourseImageCheckpointEntity> pendingCheckpoints = new LinkedHashMap<>();
+        private final Map<String, Set<String>> pendingSeen = new LinkedHashMap<>(); // 조회 성공한 courseInfoId → 받은 이미지 _id
+        private int savedImages;
+        private long deletedImages;
+
+        private ImageUpsertBuffer(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        /**
+         * @param images null이면 조회 실패 (FAILED 체크포인트만 기록)
+         */
+        synchronized void add(String courseInfoId, List<RecommendCourseImageEntity> images) {
+            if (images != null) {
+                images.forEach(image -> pendingImages.put(image.get_id(), image));
+                pendingSeen.put(courseInfoId, images.stream().map(RecommendCourseImageEntity::get_id)
+                        .collect(Collectors.toCollection(LinkedHashSet::new)));
+            }
+            pendingCheckpoints.put(courseInfoId, RecommendCourseImageCheckpointEntity.builder()
+                    .courseInfoId(courseInfoId)
+                    .status(images != null ? RecommendCourseImageCheckpointEntity.STATUS_DONE
+                            : RecommendCourseImageCheckpointEntity.STATUS_FAILED)
+                    .imageCount(images != null ? images.size() : 0)
+                    .updatedAt(new Date())
+                    .build());
+            if (pendingImages.size() >= batchSize || pendingCheckpoints.size() >= batchSize) flush();
+        }
+
+        synchronized void flush() {
+            savedImages += upsertImages(pendingImages.values()).written();
+            pendingImages.clear();
+            deletedImages += softDeleteMissingImages(pendingSeen);
+            pendingSeen.clear();
+
+            if (pendingCheckpoints.isEmpty()) return;
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED,
+                    RecommendCourseImageCheckpointEntity.class);
+            for (RecommendCourseImageCheckpointEntity checkpoint : pendingCheckpoints.values()) {
+                bulk.replaceOne(Query.query(Criteria.where("_id").is(checkpoint.getCourseInfoId())), checkpoint,
+                        FindAndReplaceOptions.options().upsert());
+            }
+            bulk.execute();
+            pendingCheckpoints.clear();
+        }
+
+        synchronized int savedImages() {
+            return savedImages;
+        }
+
+        synchronized long deletedImages() {
+            return deletedImages;
         }
-        log.info(">> fetchAndSaveRecommendCourseImages 서비스 종료. 총 {}개 이미지 저장.", savedCount);
-        return savedCount;
     }
 
     /**
-     * 모든 이미지 엔티티를 조회합니다.
+     * 모든 이미지 엔티티를 조회합니다. (soft delete된 이미지 제외)
      * @return 모든 RecommendCourseImageEntity 리스트
      */
     @Override
     public List<RecommendCourseImageEntity> getAllRecommendCourseImages() {
         log.info(">> getAllRecommendCourseImages 서비스 호출");
-        return recommendCourseImageRepository.findAll();
+        return recommendCourseImageRepository.findByDeletedAtIsNull();
     }
 
     /**
-     * JsonNode에서 데이터를 추출하여 RecommendCourseImageEntity 객체로 매핑합니다.
-     * @param item JsonNode 형태의 단일 아이템 데이터
+     * item(자식 요소 이름 → 텍스트)에서 데이터를 추출하여 RecommendCourseImageEntity 객체로 매핑합니다.
+     * @param item 스트리밍으로 읽은 단일 아이템 데이터
      * @param courseInfoId 원본 코스의 courseInfoId (매핑을 위해 전달)
      * @return 매핑된 RecommendCourseImageEntity 객체
      */
-    private RecommendCourseImageEntity mapJsonNodeToImageEntity(JsonNode item, String courseInfoId) {
-        String courseFileUrl = item.path("courseFileUrl").asText(null);
+    private RecommendCourseImageEntity mapItemToImageEntity(Map<String, String> item, String courseInfoId) {
+        String courseFileUrl = item.get("courseFileUrl");
         if (courseFileUrl == null || courseFileUrl.isEmpty()) {
             log.warn("  API 응답에서 courseFileUrl이 없어 이미지 엔티티를 생성할 수 없습니다. item: {}", item);
             return null; // ID로 사용할 수 없는 경우 null 반환
         }
 
-        return RecommendCourseImageEntity.builder()
+        RecommendCourseImageEntity entity = RecommendCourseImageEntity.builder()
                 ._id(courseFileUrl) // courseFileUrl을 _id로 사용 (고유해야 함)
                 .courseInfoId(courseInfoId) // 상위 코스 정보 ID
                 .courseFileUrl(courseFileUrl)
-                .courseFileNm(item.path("courseFileNm").asText(null))
-                .courseFilePath(item.path("courseFilePath").asText(null))
+                .courseFileNm(item.get("courseFileNm"))
+                .courseFilePath(item.get("courseFilePath"))
                 .build();
+        entity.setContentHash(ContentHashSync.hash(courseInfoId, courseFileUrl, entity.getCourseFileNm(),
+                entity.getCourseFilePath()));
+        return entity;
     }
 }
\ No newline at end of file
@@ -0,0 +1,290 @@
+package kopo.jeonnam.service.impl.theme;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kopo.jeonnam.dto.theme.PlanIngestionJobDTO;
+import kopo.jeonnam.repository.entity.theme.RecommendCourseEntity;
+import kopo.jeonnam.repository.mongo.theme.RecommendCourseRepository;
+import kopo.jeonnam.service.theme.IRecommendCoursePlanIngestionService;
+import kopo.jeonnam.service.theme.IRecommendCoursePlanService;
+import kopo.jeonnam.service.theme.PlanApiFetchException;
+import kopo.jeonnam.service.theme.PlanApiQuotaExceededException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 🗺 추천 코스 일정(Plan) 일괄 수집 작업 서비스 구현체
+ * - 요청마다 Thread.sleep으로 간격을 두던 방식 대신, 공공 API 초당 호출 한도로 만든 토큰 버킷(코스 / 이미지 수집과 공유)이 호출 시점을 정합니다.
+ * - 한도 안에서 여러 courseKey를 동시에 처리하고, cmmMsgHeader 초당 한도 초과(23) 응답은 지수 백오프 후 재시도합니다.
+ * - 일일 한도 초과(22)는 재시도해도 성공하지 않으므로 남은 courseKey를 호출하지 않고 작업을 실패로 끝냅니다.
+ * - 그 밖의 호출/응답 실패는 재시도하지 않고 failedCourses로 집계하며, 모든 courseKey가 실패하면 작업도 실패입니다.
+ * - 한 번에 하나의 작업만 실행하며, 진행 상황은 작업 ID로 조회합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RecommendCoursePlanIngestionService implements IRecommendCoursePlanIngestionService {
+
+    private static final int MAX_KEPT_JOBS = 10;
+
+    private final IRecommendCoursePlanService recommendCoursePlanService;
+    private final RecommendCourseRepository recommendCourseRepository;
+
+    // 공공 API 초당 호출 한도 (코스 / 이미지 수집과 같은 API 키의 버킷을 공유)
+    private final RecommendCourseApiRateLimiter rateLimiter;
+
+    @Value("${recommendcourse.plan.max-workers:4}")
+    private int maxWorkers;
+
+    @Value("${recommendcourse.plan.max-retries:3}")
+    private int maxRetries;
+
+    @Value("${recommendcourse.plan.backoff-ms:1000}")
+    private long backoffMs;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final AtomicReference<Job> activeJob = new AtomicReference<>();
+
+    private int workers;
+    private ExecutorService coordinator;
+    private ExecutorService workerPool;
+
+    /**
+     * 수집 작업 한 건의 상태 (작업 스레드가 갱신하고 요청 스레드가 읽습니다)
+     */
+    private final class Job {
+        final String jobId = UUID.randomUUID().toString();
+        final long createdAt = System.currentTimeMillis();
+        final AtomicInteger completed = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        final AtomicInteger retries = new AtomicInteger();
+        final AtomicInteger saved = new AtomicInteger();
+
+        volatile PlanIngestionJobDTO.Status status = PlanIngestionJobDTO.Status.QUEUED;
+        volatile int total;
+        volatile String error;
+        volatile long finishedAt;
+
+        // 중단 사유 (설정되면 아직 시작하지 않은 courseKey는 호출하지 않음)
+        final AtomicReference<String> stopReason = new AtomicReference<>();
+
+        void stop(String reason) {
+            stopReason.compareAndSet(null, reason);
+        }
+
+        boolean stopped() {
+            return stopReason.get() != null;
+        }
+
+        PlanIngestionJobDTO toDTO() {
+            return PlanIngestionJobDTO.builder()
+                    .jobId(jobId)
+                    .status(status)
+                    .totalCourses(total)
+                    .completedCourses(completed.get())
+                    .failedCourses(failed.get())
+                    .retries(retries.get())
+                    .savedPlans(saved.get())
+                    .workers(workers)
+                    .ratePerSecond(rateLimiter.getRatePerSecond())
+                    .error(error)
+                    .createdAt(createdAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        // 한도보다 많은 스레드는 토큰을 기다리기만 하므로 작업 수는 초당 한도를 넘기지 않음
+        workers = Math.max(1, Math.min(maxWorkers, (int) Math.ceil(rateLimiter.getRatePerSecond())));
+
+        coordinator = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "plan-ingest-coordinator");
+            t.setDaemon(true);
+            return t;
+        });
+        AtomicInteger threadSeq = new AtomicInteger();
+        workerPool = Executors.newFixedThreadPool(workers, r -> {
+            Thread t = new Thread(r, "plan-ingest-" + threadSeq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        log.info("추천 코스 일정 수집 스케줄러 초기화 - ratePerSecond={}, workers={}, maxRetries={}, backoffMs={}",
+                rateLimiter.getRatePerSecond(), workers, maxRetries, backoffMs);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+        workerPool.shutdownNow();
+    }
+
+    @Override
+    public PlanIngestionJobDTO start() {
+        Job job = new Job();
+        if (!activeJob.compareAndSet(null, job)) {
+            throw new IllegalStateException("이미 진행 중인 일정 수집 작업이 있습니다. (jobId: " + activeJob.get().jobId + ")");
+        }
+        evictOldJobs();
+        jobs.put(job.jobId, job);
+        coordinator.execute(() -> run(job));
+
+        log.info("추천 코스 일정 수집 작업 등록 - jobId: {}", job.jobId);
+        return job.toDTO();
+    }
+
+    @Override
+    public Optional<PlanIngestionJobDTO> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(Job::toDTO);
+    }
+
+    @Override
+    public Optional<PlanIngestionJobDTO> getLatestJob() {
+        return jobs.values().stream()
+                .max((a, b) -> Long.compare(a.createdAt, b.createdAt))
+                .map(Job::toDTO);
+    }
+
+    private void run(Job job) {
+        job.status = PlanIngestionJobDTO.Status.RUNNING;
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        try {
+            List<String> courseKeys = distinctCourseKeys();
+            job.total = courseKeys.size();
+            log.info("추천 코스 일정 수집 시작 - jobId: {}, courseKey {}개", job.jobId, job.total);
+
+            for (String courseKey : courseKeys) {
+                futures.add(CompletableFuture.runAsync(() -> ingest(job, courseKey), workerPool));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+            if (job.stopped()) {
+                job.error = job.stopReason.get();
+                job.status = PlanIngestionJobDTO.Status.FAILED;
+            } else if (job.total > 0 && job.failed.get() >= job.total) {
+                job.error = "모든 courseKey(" + job.total + "개) 수집 실패";
+                job.status = PlanIngestionJobDTO.Status.FAILED;
+            } else {
+                // 일부 실패는 failedCourses로 알림
+                job.status = PlanIngestionJobDTO.Status.DONE;
+            }
+        } catch (Exception e) {
+            log.error("추천 코스 일정 수집 작업 실패 - jobId: {}", job.jobId, e);
+            job.error = e.getMessage();
+            job.status = PlanIngestionJobDTO.Status.FAILED;
+            // 남은 courseKey는 호출하지 않도록 멈추고, 실행 중인 작업이 끝난 뒤에 다음 작업을 받음
+            job.stop("작업 실패로 중단: " + e.getMessage());
+            awaitWorkers(futures);
+        } finally {
+            job.finishedAt = System.currentTimeMillis();
+            activeJob.compareAndSet(job, null);
+            log.info("추천 코스 일정 수집 종료 - jobId: {}, status: {}, 완료 {}/{}, 실패 {}, 재시도 {}, 저장 {}건, 소요: {}ms",
+                    job.jobId, job.status, job.completed.get(), job.total, job.failed.get(), job.retries.get(),
+                    job.saved.get(), job.finishedAt - job.createdAt);
+        }
+    }
+
+    /**
+     * courseKey 하나를 수집합니다. 호출 전에 토큰을 받고, 호출 한도 초과 응답이면 backoffMs * 2^n 만큼 쉬고 다시 호출합니다.
+     */
+    private void ingest(Job job, String courseKey) {
+        try {
+            for (int attempt = 0; ; attempt++) {
+                if (job.stopped()) {
+                    job.failed.incrementAndGet();
+                    break;
+                }
+                rateLimiter.acquire();
+                try {
+                    int saved = recommendCoursePlanService.fetchAndSaveRecommendCoursePlans(courseKey);
+                    job.saved.addAndGet(saved);
+                    log.debug("courseKey={} 저장: {}건", courseKey, saved);
+                    break;
+                } catch (PlanApiFetchException e) {
+                    // 한도 외 실패는 재시도하지 않고 실패로 집계 (다음 수집에서 다시 시도)
+                    log.warn("courseKey={} 수집 실패: {}", courseKey, e.getMessage());
+                    job.failed.incrementAndGet();
+                    break;
+                } catch (PlanApiQuotaExceededException e) {
+                    if (e.isDailyLimit()) {
+                        // 일일 한도는 재시도해도 같은 날에는 성공하지 않으므로 작업 전체를 중단
+                        log.warn("courseKey={} 일일 호출 한도 초과 (reasonCode: {}) - 남은 courseKey 수집을 중단합니다.",
+                                courseKey, e.getReasonCode());
+                        job.stop("공공 API 일일 호출 한도 초과 (reasonCode: " + e.getReasonCode() + ")");
+                        job.failed.incrementAndGet();
+                        break;
+                    }
+                    if (attempt >= maxRetries) {
+                        log.warn("courseKey={} 호출 한도 초과로 수집 실패 - reasonCode: {}, 재시도 {}회",
+                                courseKey, e.getReasonCode(), attempt);
+                        job.failed.incrementAndGet();
+                        break;
+                    }
+                    long delay = backoffMs << attempt;
+                    job.retries.incrementAndGet();
+                    log.info("courseKey={} 호출 한도 초과 (reasonCode: {}) - {}ms 후 재시도 ({}/{})",
+                            courseKey, e.getReasonCode(), delay, attempt + 1, maxRetries);
+                    Thread.sleep(delay);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.failed.incrementAndGet();
+        } finally {
+            job.completed.incrementAndGet();
+        }
+    }
+
+    // 등록된 courseKey 작업이 모두 끝날 때까지 대기 (실패/취소된 작업은 무시)
+    private void awaitWorkers(List<CompletableFuture<Void>> futures) {
+        for (CompletableFuture<Void> future : futures) {
+            try {
+                future.join();
+            } catch (CompletionException | CancellationException ignored) {
+                // 작업 실패는 이미 job에 반영됨
+            }
+        }
+    }
+
+    // 같은 courseKey를 가진 코스가 여러 건이어도 API는 한 번만 호출
+    private List<String> distinctCourseKeys() {
+        Set<String> keys = new LinkedHashSet<>();
+        for (RecommendCourseEntity course : recommendCourseRepository.findByDeletedAtIsNull()) {
+            String courseKey = course.getCourseKey();
+            if (courseKey != null && !courseKey.isBlank()) {
+                keys.add(courseKey);
+            } else {
+                log.warn("courseKey가 null 또는 빈 값입니다. course={}", course);
+            }
+        }
+        return new ArrayList<>(keys);
+    }
+
+    // 끝난 작업은 최근 MAX_KEPT_JOBS개만 보관
+    private void evictOldJobs() {
+        List<Job> finished = jobs.values().stream()
+                .filter(job -> job.finishedAt > 0)
+                .sorted((a, b) -> Long.compare(b.createdAt, a.createdAt))
+                .toList();
+        finished.stream().skip(MAX_KEPT_JOBS).forEach(job -> jobs.remove(job.jobId));
+    }
+}
@@ -1,24 +1,32 @@
 package kopo.jeonnam.service.impl.theme;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import kopo.jeonnam.dto.theme.RecommendCoursePlanDTO;
 import kopo.jeonnam.repository.entity.theme.RecommendCoursePlanEntity;
 import kopo.jeonnam.repository.mongo.theme.RecommendCourseImageRepository;
 import kopo.jeonnam.repository.mongo.theme.RecommendCoursePlanRepository;
+import kopo.jeonnam.service.api.IHttpClientService;
 import kopo.jeonnam.service.theme.IRecommendCoursePlanService;
-import kopo.jeonnam.util.NetworkUtil;
+import kopo.jeonnam.service.theme.PlanApiFetchException;
+import kopo.jeonnam.service.theme.PlanApiQuotaExceededException;
+import kopo.jeonnam.util.XmlParserUtil;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.xml.stream.XMLStreamException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * 특정 추천 코스(courseKey)에 대한 상세 계획(Plan) 정보를 외부 API에서 가져와 MongoDB에 저장하는 서비스 구현체
@@ -30,6 +38,8 @@ public class RecommendCoursePlanService implements IRecommendCoursePlanService {
 
     private final RecommendCoursePlanRepository recommendCoursePlanRepository;
     private final RecommendCourseImageRepository imageRepository;
+    private final IHttpClientService httpClientService;
+    private final MongoTemplate mongoTemplate;
 
 
     @Value("${recommendcourse.api.planlist.url}")
@@ -40,31 +50,48 @@ public class RecommendCoursePlanService implements IRecommendCoursePlanService {
 
     @Override
     public boolean existsAnyByCourseKey(String courseKey) {
-        return recommendCoursePlanRepository.countByPlanCourseId(courseKey) > 0;
+        return recommendCoursePlanRepository.existsByPlanCourseIdAndDeletedAtIsNull(courseKey);
     }
 
     @Override
     public boolean existsAny() {
-        return recommendCoursePlanRepository.count() > 0;
+        return recommendCoursePlanRepository.existsByDeletedAtIsNull();
     }
 
     @Override
     public List<RecommendCoursePlanDTO> findNearby(double latMin, double latMax, double lngMin, double lngMax) {
-        return recommendCoursePlanRepository.findNearbyPlansWithStringCoordinates(latMin, latMax, lngMin, lngMax);
+        return findNearby(latMin, latMax, lngMin, lngMax, 0);
+    }
+
+    @Override
+    public List<RecommendCoursePlanDTO> findNearby(double latMin, double latMax, double lngMin, double lngMax, int limit) {
+        return recommendCoursePlanRepository.findPlansInBox(latMin, latMax, lngMin, lngMax, limit);
+    }
+
+    @Override
+    public List<RecommendCoursePlanDTO> findWithinRadius(double lat, double lng, double radiusMeters, int limit) {
+        return recommendCoursePlanRepository.findPlansNear(lat, lng, radiusMeters, limit);
     }
 
 
     public RecommendCoursePlanService(RecommendCoursePlanRepository recommendCoursePlanRepository,
-                                      RecommendCourseImageRepository imageRepository) {
+                                      RecommendCourseImageRepository imageRepository,
+                                      IHttpClientService httpClientService,
+                                      MongoTemplate mongoTemplate) {
         this.recommendCoursePlanRepository = recommendCoursePlanRepository;
         this.imageRepository = imageRepository;
+        this.httpClientService = httpClientService;
+        this.mongoTemplate = mongoTemplate;
     }
 
     /**
      * 특정 courseKey에 해당하는 추천 코스 계획 데이터를 외부 API로부터 가져와 MongoDB에 저장합니다.
+     * 증분 동기화: 내용 해시(content_hash)가 바뀐 일정만 다시 쓰고, 이 코스의 기존 일정 중 응답에 없는 것은 soft delete합니다.
      *
      * @param courseKey Plan 정보를 가져올 추천 코스의 고유 키 (예: "0000000455")
-     * @return 성공적으로 저장되거나 업데이트된 추천 코스 계획 엔티티의 총 개수
+     * @return 새로 저장되거나 내용이 바뀌어 업데이트된 추천 코스 계획 엔티티의 개수 (변경 없는 일정 제외, 정상 응답에 일정이 없으면 0)
+     * @throws PlanApiQuotaExceededException 호출 한도 초과 응답
+     * @throws PlanApiFetchException         그 밖의 호출/응답/저장 실패
      */
     @Override
     public int fetchAndSaveRecommendCoursePlans(String courseKey) {
@@ -77,74 +104,74 @@ public class RecommendCoursePlanService implements IRecommendCoursePlanService {
             String url = String.format("%s?serviceKey=%s&startPage=1&pageSize=1000&planCourseId=%s", apiUrl, encodedKey, courseKey);
             logger.info("API 호출 URL: {}", url);
 
-            // API 호출 및 응답 수신
-            String response = NetworkUtil.get(url);
-            logger.info("[DEBUG] API 원본 응답: \n{}", response);
-
-            // 1. API 응답 유효성 검사 (null이거나 XML 형식이 아니면 오류)
-            if (response == null || response.trim().isEmpty() || !response.trim().startsWith("<")) {
-                logger.error("API 응답이 유효하지 않습니다 (null, 빈 문자열 또는 비XML 형식): {}", response);
-                return 0;
+            // API 호출 - 응답 본문을 문자열/트리로 만들지 않고 스트림에서 item을 하나씩 읽어 바로 엔티티로 변환
+            List<RecommendCoursePlanEntity> entitiesToSave = new ArrayList<>();
+            XmlParserUtil.PublicDataResponse response = httpClientService.get(url, null, (status, body) -> {
+                try {
+                    return XmlParserUtil.streamItems(body, item -> entitiesToSave.add(mapItemToEntity(item)));
+                } catch (XMLStreamException e) {
+                    // 1. XML이 아니거나 형식이 잘못된 응답
+                    logger.error("API 응답이 유효하지 않습니다 (비XML 또는 잘못된 형식, HTTP {}): {}", status, e.getMessage());
+                    return null;
+                }
+            });
+            if (response == null) {
+                throw new PlanApiFetchException("API 응답이 XML이 아닙니다. (courseKey: " + courseKey + ")");
             }
 
-            // XML 파싱 및 JsonNode 변환
-            XmlMapper xmlMapper = new XmlMapper();
-            JsonNode root = xmlMapper.readTree(response.getBytes(StandardCharsets.UTF_8));
-
             // ✅ 비표준 에러 구조 대응 (e.g. <OpenAPI_ServiceResponse><cmmMsgHeader>...)
-            if (root.has("cmmMsgHeader")) {
-                JsonNode errHeader = root.path("cmmMsgHeader");
-                String errMsg = errHeader.path("errMsg").asText("서비스 오류");
-                String returnAuthMsg = errHeader.path("returnAuthMsg").asText("");
-                String returnReasonCode = errHeader.path("returnReasonCode").asText("");
+            if (response.isServiceError()) {
+                String errMsg = response.errMsg() != null ? response.errMsg() : "서비스 오류";
+                String returnAuthMsg = response.returnAuthMsg() != null ? response.returnAuthMsg() : "";
+                String returnReasonCode = response.returnReasonCode() != null ? response.returnReasonCode() : "";
 
                 logger.error("API 응답 에러 (제한 초과 등) - errMsg: {}, returnAuthMsg: {}, reasonCode: {} (courseKey: {})",
                         errMsg, returnAuthMsg, returnReasonCode, courseKey);
-                return 0;
+                // 호출 한도 초과는 호출한 쪽(수집 작업)이 재시도(초당 한도) 또는 중단(일일 한도)을 정할 수 있도록 예외로 알림
+                if (PlanApiQuotaExceededException.isQuotaReason(returnReasonCode)) {
+                    throw new PlanApiQuotaExceededException(returnReasonCode, returnAuthMsg.isEmpty() ? errMsg : returnAuthMsg);
+                }
+                throw new PlanApiFetchException("API 서비스 오류 - " + errMsg + " " + returnAuthMsg
+                        + " (reasonCode: " + returnReasonCode + ", courseKey: " + courseKey + ")");
             }
 
             // ✅ 표준 응답 구조 처리
-            JsonNode headerNode = root.path("header");
-            String resultCode = headerNode.path("resultCode").asText("");
-            String resultMsg = headerNode.path("resultMsg").asText("알 수 없는 오류");
-
-            if (!"00".equals(resultCode)) {
-                logger.error("API 응답 오류 - 코드: {}, 메시지: {} (courseKey: {})", resultCode, resultMsg, courseKey);
-                return 0;
+            if (!response.isOk()) {
+                String resultMsg = response.resultMsg() != null ? response.resultMsg() : "알 수 없는 오류";
+                logger.error("API 응답 오류 - 코드: {}, 메시지: {} (courseKey: {})", response.resultCode(), resultMsg, courseKey);
+                throw new PlanApiFetchException("API 응답 오류 - 코드: " + response.resultCode() + ", 메시지: " + resultMsg
+                        + " (courseKey: " + courseKey + ")");
             }
 
-            // 3. 실제 아이템(데이터) 추출
-            JsonNode itemsNode = root.path("body").path("items").path("item");
-            List<RecommendCoursePlanEntity> entitiesToSave = new ArrayList<>();
-            int parsedItemCount = 0;
-
-            // 배열/단일 객체/없음 모두 처리
-            if (itemsNode.isArray()) {
-                logger.debug("courseKey {} 에 대한 아이템 (배열 형태): {}개", courseKey, itemsNode.size());
-                for (JsonNode item : itemsNode) {
-                    entitiesToSave.add(mapJsonNodeToEntity(item));
-                    parsedItemCount++;
-                }
-            } else if (!itemsNode.isMissingNode()) {
-                logger.debug("courseKey {} 에 대한 아이템 (단일 객체 형태)", courseKey);
-                entitiesToSave.add(mapJsonNodeToEntity(itemsNode));
-                parsedItemCount++;
-            } else {
+            // 3. 실제 아이템(데이터)은 읽는 동안 이미 변환됨
+            int parsedItemCount = response.itemCount();
+            if (parsedItemCount == 0) {
                 logger.info("courseKey {} 에 대한 아이템 데이터가 없습니다. (items 노드 부재 또는 비어있음)", courseKey);
-            }
-
-            // 4. 파싱된 데이터가 있을 경우 MongoDB에 저장
-            if (parsedItemCount > 0) {
-                logger.info("courseKey {} 에 대해 {}개의 RecommendCoursePlanEntity 저장/업데이트 시도...", courseKey, parsedItemCount);
-                recommendCoursePlanRepository.saveAll(entitiesToSave);
-                logger.info("courseKey {} 에 대해 {}개의 RecommendCoursePlanEntity 저장/업데이트 완료.", courseKey, parsedItemCount);
             } else {
-                logger.info("courseKey {} 에 대해 저장할 RecommendCoursePlanEntity가 없습니다.", courseKey);
+                logger.debug("courseKey {} 에 대한 아이템: {}개", courseKey, parsedItemCount);
             }
-            return parsedItemCount;
+
+            // planInfoId(_id)가 없으면 다음 수집 때 같은 일정으로 찾을 수 없으므로 제외
+            entitiesToSave.removeIf(entity -> entity.getPlanInfoId() == null || entity.getPlanInfoId().isEmpty());
+
+            // 4. 바뀐 일정만 MongoDB에 반영하고, 응답에서 사라진 일정은 삭제 표시
+            //    (정상 응답에 일정이 하나도 없으면 이 코스의 기존 일정이 모두 삭제 표시됨)
+            logger.info("courseKey {} 에 대해 {}개의 RecommendCoursePlanEntity 동기화 시도...", courseKey, entitiesToSave.size());
+            ContentHashSync.Delta delta = ContentHashSync.upsertChanged(mongoTemplate, RecommendCoursePlanEntity.class,
+                    entitiesToSave, RecommendCoursePlanEntity::getPlanInfoId, RecommendCoursePlanEntity::getContentHash);
+            Set<String> seenIds = entitiesToSave.stream()
+                    .map(RecommendCoursePlanEntity::getPlanInfoId)
+                    .collect(Collectors.toSet());
+            long removed = ContentHashSync.softDeleteMissing(mongoTemplate, RecommendCoursePlanEntity.class,
+                    Criteria.where("planCourseId").is(courseKey), seenIds);
+            logger.info("courseKey {} 동기화 완료 (파싱 {}건) - 추가 {}, 변경 {}, 동일 {}, 삭제 표시 {}",
+                    courseKey, parsedItemCount, delta.inserted(), delta.updated(), delta.unchanged(), removed);
+            return delta.written();
+        } catch (PlanApiQuotaExceededException | PlanApiFetchException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("courseKey {} 데이터 처리 중 예상치 못한 예외 발생: {}", courseKey, e.getMessage(), e);
-            return 0;
+            throw new PlanApiFetchException("courseKey " + courseKey + " 일정 수집 실패: " + e.getMessage(), e);
         } finally {
             logger.info(">> fetchAndSaveRecommendCoursePlans 서비스 종료 (courseKey: {})", courseKey);
         }
@@ -152,45 +179,24 @@ public class RecommendCoursePlanService implements IRecommendCoursePlanService {
 
     @Override
     public List<RecommendCoursePlanDTO> getAllPlansWithImages() {
-        List<RecommendCoursePlanEntity> plans = recommendCoursePlanRepository.findAll();
-        List<RecommendCoursePlanDTO> result = new ArrayList<>();
-
-        for (RecommendCoursePlanEntity plan : plans) {
-            RecommendCoursePlanDTO dto = new RecommendCoursePlanDTO();
-            dto.setPlanInfoId(plan.getPlanInfoId());
-            dto.setPlanName(plan.getPlanName());
-            dto.setPlanArea(plan.getPlanArea());
-            dto.setPlanAddr(plan.getPlanAddr());
-            dto.setPlanPhone(plan.getPlanPhone());
-            dto.setPlanHomepage(plan.getPlanHomepage());
-            dto.setPlanParking(plan.getPlanParking());
-            dto.setPlanContents(plan.getPlanContents());
-
-            try {
-                dto.setPlanLatitude(Double.parseDouble(plan.getPlanLatitude()));
-                dto.setPlanLongitude(Double.parseDouble(plan.getPlanLongitude()));
-            } catch (NumberFormatException e) {
-                logger.warn("잘못된 위경도: {}", plan.getPlanInfoId());
-                dto.setPlanLatitude(0);
-                dto.setPlanLongitude(0);
-            }
-
-            List<String> imageUrls = imageRepository.findByCourseInfoId(plan.getPlanInfoId())
-                    .stream()
-                    .map(image -> image.getCourseFileUrl())
-                    .toList();
-            dto.setImageUrls(imageUrls);
+        return getPlansWithImages(0, 0, true);
+    }
 
-            result.add(dto);
-        }
+    @Override
+    public List<RecommendCoursePlanDTO> getPlansWithImages(int page, int size, boolean includeContents) {
+        int skip = size > 0 ? Math.max(0, page) * size : 0;
+        return recommendCoursePlanRepository.findPlansWithImages(skip, size, includeContents);
+    }
 
-        return result;
+    @Override
+    public Stream<RecommendCoursePlanDTO> streamPlansWithImages(boolean includeContents) {
+        return recommendCoursePlanRepository.streamPlansWithImages(includeContents);
     }
 
 
     @Override
     public Optional<RecommendCoursePlanDTO> getPlanWithImagesById(String planInfoId) {
-        return recommendCoursePlanRepository.findById(planInfoId).map(plan -> {
+        return recommendCoursePlanRepository.findById(planInfoId).filter(plan -> plan.getDeletedAt() == null).map(plan -> {
             RecommendCoursePlanDTO dto = new RecommendCoursePlanDTO();
             dto.setPlanInfoId(plan.getPlanInfoId());
             dto.setPlanName(plan.getPlanName());
@@ -210,7 +216,7 @@ public class RecommendCoursePlanService implements IRecommendCoursePlanService {
                 dto.setPlanLongitude(0);
             }
 
-            List<String> imageUrls = imageRepository.findByCourseInfoId(plan.getPlanInfoId())
+            List<String> imageUrls = imageRepository.findByCourseInfoIdAndDeletedAtIsNull(plan.getPlanInfoId())
                     .stream()
                     .map(image -> image.getCourseFileUrl())
                     .toList();
@@ -222,29 +228,40 @@ public class RecommendCoursePlanService implements IRecommendCoursePlanService {
 
 
     /**
-     * JsonNode에서 데이터를 추출하여 RecommendCoursePlanEntity 객체로 매핑합니다.
+     * item(자식 요소 이름 → 텍스트)에서 데이터를 추출하여 RecommendCoursePlanEntity 객체로 매핑합니다.
      *
-     * @param item JsonNode의 item 노드
+     * @param item 스트리밍으로 읽은 item
      * @return RecommendCoursePlanEntity 객체
      */
-    private RecommendCoursePlanEntity mapJsonNodeToEntity(JsonNode item) {
+    private RecommendCoursePlanEntity mapItemToEntity(Map<String, String> item) {
         // 각 필드별로 null-safe하게 매핑
-        return new RecommendCoursePlanEntity(
-                item.path("planInfoId").asText(null),
-                item.path("planCourseId").asText(null),
-                item.path("planDay").asText(null),
-                item.path("planTime").asText(null),
-                item.path("planName").asText(null),
-                item.path("planArea").asText(null),
-                item.path("planAddr").asText(null),
-                item.path("planAddrDetail").asText(null),
-                item.path("planLatitude").asText(null),
-                item.path("planLongitude").asText(null),
-                item.path("planPhone").asText(null),
-                item.path("planFax").asText(null),
-                item.path("planHomepage").asText(null),
-                item.path("planParking").asText(null),
-                item.path("planContents").asText(null)
+        String planLatitude = item.get("planLatitude");
+        String planLongitude = item.get("planLongitude");
+
+        RecommendCoursePlanEntity entity = new RecommendCoursePlanEntity(
+                item.get("planInfoId"),
+                item.get("planCourseId"),
+                item.get("planDay"),
+                item.get("planTime"),
+                item.get("planName"),
+                item.get("planArea"),
+                item.get("planAddr"),
+                item.get("planAddrDetail"),
+                planLatitude,
+                planLongitude,
+                item.get("planPhone"),
+                item.get("planFax"),
+                item.get("planHomepage"),
+                item.get("planParking"),
+                item.get("planContents"),
+                RecommendCoursePlanEntity.toLocation(planLatitude, planLongitude), // 저장 시점에 숫자 좌표로 변환
+                null, // contentHash - 아래에서 API 원본 필드로 계산
+                null  // deletedAt - 다시 받은 일정은 삭제 표시 해제
         );
+        entity.setContentHash(ContentHashSync.hash(entity.getPlanInfoId(), entity.getPlanCourseId(), entity.getPlanDay(),
+                entity.getPlanTime(), entity.getPlanName(), entity.getPlanArea(), entity.getPlanAddr(),
+                entity.getPlanAddrDetail(), planLatitude, planLongitude, entity.getPlanPhone(), entity.getPlanFax(),
+                entity.getPlanHomepage(), entity.getPlanParking(), entity.getPlanContents()));
+        return entity;
     }
 }
\ No newline at end of file
@@ -1,33 +1,51 @@
 package kopo.jeonnam.service.impl.theme;
 
 // ... (기존 import 문)
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 
 import kopo.jeonnam.repository.entity.theme.RecommendCourseEntity;
 import kopo.jeonnam.repository.entity.theme.RecommendCourseImageEntity;
 import kopo.jeonnam.repository.mongo.theme.RecommendCourseRepository;
+import kopo.jeonnam.service.api.IHttpClientService;
 import kopo.jeonnam.service.theme.IRecommendCourseService;
-import kopo.jeonnam.util.NetworkUtil; // NetworkUtil import 되어있는지 확인
+import kopo.jeonnam.util.XmlParserUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.stereotype.Service;
 
+import javax.xml.stream.XMLStreamException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class RecommendCourseService implements IRecommendCourseService {
 
+    private static final int PAGE_SIZE = 100;
+    private static final List<String> SEASONS = List.of("봄", "여름", "가을", "겨울");
+
     private final RecommendCourseRepository recommendCourseRepository;
+    private final IHttpClientService httpClientService;
+    private final MongoTemplate mongoTemplate;
+
+    // 코스 / 이미지 / 일정 수집이 같은 API 키의 호출 한도를 하나의 버킷으로 공유
+    private final RecommendCourseApiRateLimiter rateLimiter;
 
     @Value("${recommendcourse.api.url}")
     private String apiUrl;
@@ -35,109 +53,251 @@ public class RecommendCourseService implements IRecommendCourseService {
     @Value("${recommendcourse.api.key}")
     private String apiKey;
 
+    @Value("${recommendcourse.crawl.parallelism:4}")
+    private int crawlParallelism;
+
+    @Value("${recommendcourse.crawl.batch-size:200}")
+    private int upsertBatchSize;
+
     /**
      * 이미 추천 코스 데이터가 존재하는지 여부를 확인합니다.
      * @return true: 하나라도 존재 / false: 없음
      */
     @Override
     public boolean existsAny() {
-        return recommendCourseRepository.count() > 0;
+        return recommendCourseRepository.existsByDeletedAtIsNull();
     }
 
 
     /**
      * 남도 추천 여행 코스 데이터를 외부 API에서 받아와 MongoDB에 저장합니다.
-     * 계절별로 반복 호출하며, 중복 코스는 Set으로 필터링합니다.
+     * 계절별 첫 페이지(전체 건수 확인 겸 데이터)를 동시에 받고, 나머지 페이지도 제한된 병렬도로 이어서 받습니다.
+     * 모든 호출은 하나의 속도 제한기를 공유하며, 받은 코스는 courseKey(_id) 기준으로 배치 반영되어 계절 간 중복이 제거됩니다.
+     * 증분 동기화: 내용 해시(content_hash)가 바뀐 코스만 다시 쓰고, 모든 페이지를 받았을 때만 이번 수집에 없는 기존 코스를
+     * soft delete(deleted_at)합니다. 컬렉션을 비우지 않으므로 수집 중에도 조회 결과가 비지 않습니다. (일부 실패 시 기존 데이터 유지)
      *
      * @return 저장된 고유 추천 코스 개수를 반환합니다
      */
     @Override
     public int fetchAndSaveRecommendCourses() {
         log.info(">> fetchAndSaveRecommendCourses 서비스 시작");
-        recommendCourseRepository.deleteAll();
-
-        int pageSize = 100;
-
-        Set<RecommendCourseEntity> uniqueCourses = new HashSet<>();
-        List<String> seasons = Arrays.asList("봄", "여름", "가을", "겨울");
-        XmlMapper xmlMapper = new XmlMapper();
-
-        for (String season : seasons) {
-            log.info("### 계절: {} 데이터 처리 시작 ###", season);
-            String encodedSeason = encodeUtf8(season);
-            String initialUrl = String.format("%s?serviceKey=%s&startPage=1&pageSize=%d&courseCategory=%s",
-                    apiUrl, encodeUtf8(apiKey), pageSize, encodedSeason);
-            log.info("초기 API 호출 URL (Total Count 확인용): {}", initialUrl);
-            String initialResponse = NetworkUtil.get(initialUrl);
-            log.info("API 원문 응답: {}", initialResponse);
-            JsonNode initialRoot = parseXml(xmlMapper, initialResponse);
-            if (initialRoot == null) {
-                log.warn("{} 계절의 XML 파싱 실패, 다음 계절로 진행", season);
-                continue;
+        long startedAt = System.currentTimeMillis();
+
+        CourseUpsertBuffer buffer = new CourseUpsertBuffer(Math.max(1, upsertBatchSize));
+        Queue<Long> pageLatencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger failedPages = new AtomicInteger();
+
+        AtomicInteger threadSeq = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, crawlParallelism), r -> {
+            Thread t = new Thread(r, "recommend-course-crawl-" + threadSeq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        log.info("계절 {}개 수집 시작 - 병렬도 {}, 초당 호출 {}회", SEASONS.size(), crawlParallelism, rateLimiter.getRatePerSecond());
+
+        try {
+            CompletableFuture<?>[] seasons = SEASONS.stream()
+                    .map(season -> CompletableFuture
+                            .supplyAsync(() -> fetchPage(season, 1), executor)
+                            .thenCompose(first -> {
+                                // 첫 페이지 응답을 그대로 사용 (전체 건수 확인용으로 같은 페이지를 다시 받지 않음)
+                                collect(first, buffer, pageLatencies, failedPages);
+                                if (!first.failed() && first.totalCount() == 0) {
+                                    log.warn("계절: {} - API에서 가져올 데이터가 없습니다.", season);
+                                }
+                                if (first.failed() || first.totalCount() <= PAGE_SIZE) {
+                                    return CompletableFuture.completedFuture(null);
+                                }
+                                int totalPages = (int) Math.ceil((double) first.totalCount() / PAGE_SIZE);
+                                log.info("계절: {} - 총 데이터 건수: {}, 총 페이지 수: {}", season, first.totalCount(), totalPages);
+                                return CompletableFuture.allOf(IntStream.rangeClosed(2, totalPages)
+                                        .mapToObj(pageNo -> CompletableFuture
+                                                .supplyAsync(() -> fetchPage(season, pageNo), executor)
+                                                .thenAccept(page -> collect(page, buffer, pageLatencies, failedPages)))
+                                        .toArray(CompletableFuture[]::new));
+                            }))
+                    .toArray(CompletableFuture[]::new);
+
+            CompletableFuture.allOf(seasons).join();
+            buffer.flush();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Set<String> savedKeys = buffer.savedKeys();
+        if (failedPages.get() == 0 && buffer.failedBatches() == 0 && !savedKeys.isEmpty()) {
+            long removed = ContentHashSync.softDeleteMissing(mongoTemplate, RecommendCourseEntity.class, null, savedKeys);
+            log.info("이번 수집에 없는 기존 추천 코스 {}건 삭제 표시 (soft delete)", removed);
+        } else if (failedPages.get() > 0 || buffer.failedBatches() > 0) {
+            log.warn("실패한 페이지 {}개, 반영 실패 배치 {}개 - 기존 추천 코스는 삭제 표시하지 않습니다.",
+                    failedPages.get(), buffer.failedBatches());
+        }
+
+        logLatencySummary(pageLatencies, failedPages.get(), System.currentTimeMillis() - startedAt);
+        log.info("총 {}개의 추천 코스 데이터 동기화 완료 - 추가 {}, 변경 {}, 동일 {} (배치 {}회)", savedKeys.size(),
+                buffer.inserted(), buffer.updated(), buffer.unchanged(), buffer.batches());
+        log.info(">> fetchAndSaveRecommendCourses 서비스 종료");
+        return savedKeys.size();
+    }
+
+    /**
+     * 계절 한 페이지를 호출하고 코스 목록으로 변환합니다. (공유 속도 제한기에서 토큰을 얻은 뒤 호출)
+     * 응답 본문은 문자열/트리로 만들지 않고 스트림에서 item을 하나씩 읽어 바로 엔티티로 변환합니다.
+     * 인증 오류(cmmMsgHeader), 결과 코드 오류, 파싱 실패는 failed 결과로 반환합니다.
+     */
+    private CoursePage fetchPage(String season, int pageNo) {
+        String pageUrl = String.format("%s?serviceKey=%s&pageSize=%d&pageNo=%d&courseCategory=%s",
+                apiUrl, encodeUtf8(apiKey), PAGE_SIZE, pageNo, encodeUtf8(season));
+        log.debug("데이터 호출 URL (계절: {}, 페이지: {}): {}", season, pageNo, pageUrl);
+
+        long started = System.nanoTime();
+        try {
+            rateLimiter.acquire();
+            started = System.nanoTime();
+            List<RecommendCourseEntity> courses = new ArrayList<>();
+            XmlParserUtil.PublicDataResponse response = httpClientService.get(pageUrl, null, (status, body) -> {
+                try {
+                    return XmlParserUtil.streamItems(body, item -> addCourse(courses, item));
+                } catch (XMLStreamException e) {
+                    log.warn("{} 계절 {}페이지 XML 파싱 실패 (HTTP {}): {}", season, pageNo, status, e.getMessage());
+                    return null;
+                }
+            });
+            long latencyMs = (System.nanoTime() - started) / 1_000_000;
+
+            if (response == null) {
+                return CoursePage.failed(season, pageNo, latencyMs);
             }
 
             // 인증키 오류 등 예외 응답 처리
-            if (initialRoot.has("cmmMsgHeader")) {
-                String errMsg = initialRoot.path("cmmMsgHeader").path("errMsg").asText();
-                String returnAuthMsg = initialRoot.path("cmmMsgHeader").path("returnAuthMsg").asText();
-                log.error("API 인증 오류: {}, {}", errMsg, returnAuthMsg);
-                continue;
+            if (response.isServiceError()) {
+                log.error("API 인증 오류: {}, {} (계절: {}, 페이지: {})", response.errMsg(), response.returnAuthMsg(), season, pageNo);
+                return CoursePage.failed(season, pageNo, latencyMs);
             }
 
-            JsonNode header = initialRoot.path("header");
-            JsonNode body = initialRoot.path("body");
-            String resultCode = header.path("resultCode").asText();
-            String resultMsg = header.path("resultMsg").asText("알 수 없는 오류");
-            if (!"00".equals(resultCode)) {
-                log.error("API 응답 오류 - 코드: {}, 메시지: {} (계절: {})", resultCode, resultMsg, season);
-                continue;
-            }
-            int totalCount = body.path("totalCount").asInt(0);
-            log.info("계절: {} - 총 데이터 건수: {}", season, totalCount);
-            if (totalCount == 0) {
-                log.warn("계절: {} - API에서 가져올 데이터가 없습니다.", season);
-                continue;
+            if (!response.isOk()) {
+                String resultMsg = response.resultMsg() != null ? response.resultMsg() : "알 수 없는 오류";
+                log.error("API 응답 오류 - 코드: {}, 메시지: {} (계절: {}, 페이지: {})", response.resultCode(), resultMsg, season, pageNo);
+                return CoursePage.failed(season, pageNo, latencyMs);
             }
-            int totalPages = (int) Math.ceil((double) totalCount / pageSize);
-            log.info("계절: {} - 총 페이지 수: {}", season, totalPages);
-            for (int pageNo = 1; pageNo <= totalPages; pageNo++) {
-                String pageUrl = String.format("%s?serviceKey=%s&pageSize=%d&pageNo=%d&courseCategory=%s",
-                        apiUrl, encodeUtf8(apiKey), pageSize, pageNo, encodedSeason);
-                log.info("데이터 호출 URL (계절: {}, 페이지: {}): {}", season, pageNo, pageUrl);
-                String pageResponse = NetworkUtil.get(pageUrl);
-                JsonNode pageRoot = parseXml(xmlMapper, pageResponse);
-                if (pageRoot == null) {
-                    log.warn("{} 계절 {}페이지 XML 파싱 실패, 다음 페이지로 진행", season, pageNo);
-                    continue;
-                }
-                JsonNode itemsNode = pageRoot.path("body").path("items");
-                // item이 배열 또는 단일 객체일 수 있으므로 모두 처리
-                if (itemsNode.has("item")) {
-                    JsonNode itemNode = itemsNode.path("item");
-                    if (itemNode.isArray()) {
-                        for (JsonNode item : itemNode) {
-                            RecommendCourseEntity entity = mapJsonNodeToEntity(item);
-                            if (entity != null) {
-                                uniqueCourses.add(entity);
-                                log.debug("코스 추가: {}", entity.getCourseKey());
-                            }
-                        }
-                    } else if (itemNode.isObject()) {
-                        RecommendCourseEntity entity = mapJsonNodeToEntity(itemNode);
-                        if (entity != null) {
-                            uniqueCourses.add(entity);
-                            log.debug("코스 추가(단일): {}", entity.getCourseKey());
-                        }
-                    }
-                }
+
+            return new CoursePage(season, pageNo, response.totalCount(), courses, latencyMs, false);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CoursePage.failed(season, pageNo, (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            log.error("{} 계절 {}페이지 호출 실패: {}", season, pageNo, e.getMessage());
+            return CoursePage.failed(season, pageNo, (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    private void addCourse(List<RecommendCourseEntity> courses, Map<String, String> item) {
+        RecommendCourseEntity entity = mapItemToEntity(item);
+        if (entity != null && entity.get_id() != null) {
+            courses.add(entity);
+        }
+    }
+
+    private void collect(CoursePage page, CourseUpsertBuffer buffer, Queue<Long> latencies, AtomicInteger failedPages) {
+        latencies.add(page.latencyMs());
+        if (page.failed()) {
+            failedPages.incrementAndGet();
+            return;
+        }
+        log.info("계절: {} {}페이지 - {}건, {}ms", page.season(), page.pageNo(), page.courses().size(), page.latencyMs());
+        buffer.addAll(page.courses());
+    }
+
+    private void logLatencySummary(Queue<Long> latencies, int failedPages, long elapsedMs) {
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        if (sorted.length == 0) {
+            log.info("페이지 호출 없음 ({}ms)", elapsedMs);
+            return;
+        }
+        long p95 = sorted[(int) Math.min(sorted.length - 1, Math.ceil(sorted.length * 0.95) - 1)];
+        log.info("페이지 {}개 (실패 {}) - 지연 평균 {}ms, p95 {}ms, 최대 {}ms / 전체 {}ms",
+                sorted.length, failedPages, Arrays.stream(sorted).sum() / sorted.length, p95,
+                sorted[sorted.length - 1], elapsedMs);
+    }
+
+    /**
+     * 계절 한 페이지 결과 (totalCount는 계절 전체 건수)
+     */
+    private record CoursePage(String season, int pageNo, int totalCount, List<RecommendCourseEntity> courses,
+                              long latencyMs, boolean failed) {
+        static CoursePage failed(String season, int pageNo, long latencyMs) {
+            return new CoursePage(season, pageNo, 0, List.of(), latencyMs, true);
+        }
+    }
+
+    /**
+     * 여러 작업 스레드가 넣는 코스를 모아 batchSize개마다 반영합니다. (저장된 해시와 다른 코스만 _id 기준 replaceOne)
+     */
+    private final class CourseUpsertBuffer {
+        private final int batchSize;
+        private final List<RecommendCourseEntity> pending = new ArrayList<>();
+        private final Set<String> savedKeys = ConcurrentHashMap.newKeySet();
+        private int batches;
+        private int failedBatches;
+        private int inserted;
+        private int updated;
+        private int unchanged;
+
+        private CourseUpsertBuffer(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        synchronized void addAll(List<RecommendCourseEntity> courses) {
+            pending.addAll(courses);
+            if (pending.size() >= batchSize) flush();
+        }
+
+        synchronized void flush() {
+            if (pending.isEmpty()) return;
+            ContentHashSync.Delta delta;
+            try {
+                delta = ContentHashSync.upsertChanged(mongoTemplate, RecommendCourseEntity.class,
+                        pending, RecommendCourseEntity::get_id, RecommendCourseEntity::getContentHash);
+            } catch (RuntimeException e) {
+                // 반영되지 않은 코스는 savedKeys에 넣지 않고, 실패한 배치가 있으면 soft delete도 하지 않음
+                log.error("추천 코스 {}건 배치 반영 실패", pending.size(), e);
+                failedBatches++;
+                pending.clear();
+                return;
             }
-            log.info("### 계절: {} 데이터 처리 완료. 현재까지 {}개의 고유 코스 수집 ###", season, uniqueCourses.size());
+            // bulk 반영이 끝난 코스만 저장된 것으로 기록
+            pending.forEach(course -> savedKeys.add(course.get_id()));
+            inserted += delta.inserted();
+            updated += delta.updated();
+            unchanged += delta.unchanged();
+            batches++;
+            pending.clear();
+        }
+
+        Set<String> savedKeys() {
+            return savedKeys;
+        }
+
+        synchronized int batches() {
+            return batches;
+        }
+
+        synchronized int failedBatches() {
+            return failedBatches;
+        }
+
+        synchronized int inserted() {
+            return inserted;
+        }
+
+        synchronized int updated() {
+            return updated;
+        }
+
+        synchronized int unchanged() {
+            return unchanged;
         }
-        log.info("총 {}개의 고유 추천 코스 데이터를 MongoDB에 저장 시도...", uniqueCourses.size());
-        recommendCourseRepository.saveAll(uniqueCourses);
-        log.info("총 {}개의 추천 코스 데이터 MongoDB 저장 완료.", uniqueCourses.size());
-        log.info(">> fetchAndSaveRecommendCourses 서비스 종료");
-        return uniqueCourses.size();
     }
 
     /**
@@ -155,51 +315,39 @@ public class RecommendCourseService implements IRecommendCourseService {
     }
 
     /**
-     * XML 문자열을 JsonNode로 파싱합니다.
-     * @param xmlMapper XmlMapper 인스턴스
-     * @param xml XML 문자열
-     * @return 파싱된 JsonNode, 실패 시 null
-     */
-    private JsonNode parseXml(XmlMapper xmlMapper, String xml) {
-        try {
-            JsonNode node = xmlMapper.readTree(xml.getBytes(StandardCharsets.UTF_8));
-            log.debug("파싱된 JSON 구조: {}", node.toPrettyString());
-            return node;
-        } catch (Exception e) {
-            log.error("XML 파싱 오류: {}", e.getMessage());
-            return null;
-        }
-    }
-
-    /**
-     * JsonNode에서 RecommendCourseEntity로 매핑합니다.
-     * @param item JsonNode의 item 노드
+     * item(자식 요소 이름 → 텍스트)에서 RecommendCourseEntity로 매핑합니다.
+     * @param item 스트리밍으로 읽은 item
      * @return RecommendCourseEntity 객체
      */
-    private RecommendCourseEntity mapJsonNodeToEntity(JsonNode item) {
+    private RecommendCourseEntity mapItemToEntity(Map<String, String> item) {
         if (item == null) return null;
-        return RecommendCourseEntity.builder()
-                ._id(item.path("courseKey").asText(null)) // _id를 courseKey로 설정
-                .courseKey(item.path("courseKey").asText(null))
-                .courseInfoIds(item.path("courseInfoIds").asText(null))
-                .courseCategory(item.path("courseCategory").asText(null))
-                .courseName(item.path("courseName").asText(null))
-                .coursePeriod(item.path("coursePeriod").asText(null))
-                .coursePersonType(item.path("coursePersonType").asText(null))
-                .coursePersonCount(item.path("coursePersonCount").asText(null))
-                .courseContents(item.path("courseContents").asText(null))
-                .courseArea(item.path("courseArea").asText(null))
+        RecommendCourseEntity entity = RecommendCourseEntity.builder()
+                ._id(item.get("courseKey")) // _id를 courseKey로 설정
+                .courseKey(item.get("courseKey"))
+                .courseInfoIds(item.get("courseInfoIds"))
+                .courseCategory(item.get("courseCategory"))
+                .courseName(item.get("courseName"))
+                .coursePeriod(item.get("coursePeriod"))
+                .coursePersonType(item.get("coursePersonType"))
+                .coursePersonCount(item.get("coursePersonCount"))
+                .courseContents(item.get("courseContents"))
+                .courseArea(item.get("courseArea"))
                 .build();
+        entity.setContentHash(ContentHashSync.hash(entity.getCourseKey(), entity.getCourseInfoIds(),
+                entity.getCourseCategory(), entity.getCourseName(), entity.getCoursePeriod(),
+                entity.getCoursePersonType(), entity.getCoursePersonCount(), entity.getCourseContents(),
+                entity.getCourseArea()));
+        return entity;
     }
 
     /**
-     * 모든 추천 코스 엔티티를 조회합니다.
+     * 모든 추천 코스 엔티티를 조회합니다. (soft delete된 코스 제외)
      * @return RecommendCourseEntity 리스트
      */
     @Override
     public List<RecommendCourseEntity> getAllRecommendCourses() {
         log.info("getAllRecommendCourses 호출");
-        return recommendCourseRepository.findAll();
+        return recommendCourseRepository.findByDeletedAtIsNull();
     }
 
     /**
@@ -222,6 +370,6 @@ public class RecommendCourseService implements IRecommendCourseService {
     @Override
     public Optional<RecommendCourseEntity> getRecommendCourseDetail(String courseId) {
         log.info("getRecommendCourseDetail 호출: {}", courseId);
-        return recommendCourseRepository.findById(courseId);
+        return recommendCourseRepository.findById(courseId).filter(course -> course.getDeletedAt() == null);
     }
 }
\ No newline at end of file
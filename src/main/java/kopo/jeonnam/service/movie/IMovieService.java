@@ -2,8 +2,10 @@ package kopo.jeonnam.service.movie;
 
 import kopo.jeonnam.dto.movie.MovieDTO;
 import kopo.jeonnam.dto.movie.MovieSearchRequest;
+import kopo.jeonnam.dto.movie.MovieSearchResultDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -24,10 +26,35 @@ public interface IMovieService {
     /**
      * 영화를 검색하고 페이징 처리하여 반환합니다.
      * 다양한 검색 조건(키워드, 제목, 장소, 주소) 및 정렬을 지원합니다.
+     * 검색어를 부분 문자열로 포함하는 영화만 반환하며(대소문자 무시), 정렬 조건이 없으면 최근 등록순입니다.
      *
      * @param searchRequest 검색 조건을 담은 {@link MovieSearchRequest} 객체
      * @param pageable      페이징 및 정렬 정보를 담은 {@link Pageable} 객체
      * @return 검색 조건에 맞는 영화들의 페이징 처리된 {@link MovieDTO} 목록
+     * @throws IllegalArgumentException sortBy/sortDirection이 허용된 정렬(title, location, newest)이 아닌 경우
      */
     Page<MovieDTO> searchMovies(MovieSearchRequest searchRequest, Pageable pageable);
+
+    /**
+     * {@link #searchMovies}와 같은 조건으로 검색하되, 관련도 점수와 필드별 하이라이트를 함께 반환합니다.
+     * 두 글자 이상의 검색어는 searchGrams(n-gram) 인덱스로 찾고, 정렬 조건이 없으면 관련도 순으로 정렬합니다.
+     * 통합 검색어는 한 필드에 bigram이 movie.search.min-match-ratio 이상 있으면 결과에 포함되므로(오타 허용) searchMovies보다 결과가 넓습니다.
+     *
+     * @param searchRequest 검색 조건을 담은 {@link MovieSearchRequest} 객체
+     * @param pageable      페이징 정보를 담은 {@link Pageable} 객체
+     * @return 관련도와 하이라이트가 포함된 {@link MovieSearchResultDTO} 페이지
+     * @throws IllegalArgumentException sortBy/sortDirection이 허용된 정렬이 아닌 경우
+     */
+    Page<MovieSearchResultDTO> searchMoviesWithHighlights(MovieSearchRequest searchRequest, Pageable pageable);
+
+    /**
+     * {@link #searchMoviesWithHighlights}와 같은 조건으로 검색하되, 전체 개수를 세지 않고 다음 페이지 여부만 반환합니다.
+     * 무한 스크롤처럼 총 페이지 수가 필요 없는 화면에서 사용하며, afterId가 있으면 skip 대신 _id keyset으로 이어서 조회합니다.
+     *
+     * @param searchRequest 검색 조건을 담은 {@link MovieSearchRequest} 객체 (afterId는 sortBy=newest(desc)로 받은 페이지에만 사용 가능)
+     * @param pageable      페이징 정보를 담은 {@link Pageable} 객체
+     * @return 관련도와 하이라이트가 포함된 {@link MovieSearchResultDTO} slice
+     * @throws IllegalArgumentException 허용되지 않은 정렬이거나, afterId를 sortBy=newest(desc) 없이 지정한 경우 (관련도 순 포함)
+     */
+    Slice<MovieSearchResultDTO> searchMoviesSlice(MovieSearchRequest searchRequest, Pageable pageable);
 }
@@ -0,0 +1,45 @@
+package kopo.jeonnam.service.search;
+
+import kopo.jeonnam.dto.search.AutocompleteDTO;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🔎 영화 / 촬영지 / 장소 카탈로그 자동완성 서비스 인터페이스
+ * MongoDB 정규식 조회 대신 메모리 n-gram 역색인으로 부분 일치, 초성("ㅈㅎ"), 입력 중인 글자("장ㅎ")를 찾습니다.
+ */
+public interface IAutocompleteService {
+
+    String TYPE_MOVIE = "movie";
+    String TYPE_MEDIA_SPOT = "mediaSpot";
+    String TYPE_PLACE = "place";
+
+    /**
+     * 자동완성 조회
+     *
+     * @param query 검색어
+     * @param type  movie / mediaSpot / place, null이면 전체 (종류별로 limit개씩)
+     * @param limit 종류별 최대 개수
+     * @throws IllegalArgumentException 알 수 없는 type인 경우
+     */
+    List<AutocompleteDTO> autocomplete(String query, String type, int limit);
+
+    /**
+     * 모든 색인을 원본(MongoDB, 장소 카탈로그)에서 다시 만듭니다.
+     */
+    void rebuildAll();
+
+    /**
+     * 저장 이벤트가 발생하지 않는 일괄 변경(bulkWrite 등) 후 호출 - 해당 종류 색인을 다음 조회 때 다시 만듭니다.
+     *
+     * @param type movie / mediaSpot / place
+     * @throws IllegalArgumentException 알 수 없는 type인 경우
+     */
+    void invalidate(String type);
+
+    /**
+     * 종류별 색인 항목 수
+     */
+    Map<String, Integer> getIndexSizes();
+}
@@ -1,5 +1,6 @@
 package kopo.jeonnam.service.theme;
 
+import kopo.jeonnam.dto.theme.RecommendCourseImageCrawlResultDTO;
 import kopo.jeonnam.repository.entity.theme.RecommendCourseImageEntity;
 import java.util.List;
 
@@ -13,6 +14,15 @@ public interface IRecommendCourseImageService {
      */
     int fetchAndSaveRecommendCourseImages(String courseInfoIds);
 
+    /**
+     * 저장된 모든 추천 코스의 courseInfoId 이미지를 병렬로 수집하여 저장합니다.
+     * courseInfoId별 체크포인트를 남기므로 중단된 수집은 완료되지 않은 항목부터 이어서 진행합니다.
+     *
+     * @param restart true면 체크포인트를 지우고 처음부터 다시 수집
+     * @return 전체 / 건너뜀 / 성공 / 실패 수와 저장한 이미지 수
+     */
+    RecommendCourseImageCrawlResultDTO crawlAllRecommendCourseImages(boolean restart);
+
     /**
      * 모든 이미지 엔티티를 조회합니다. (필요 시 추가)
      * @return 모든 RecommendCourseImageEntity 리스트
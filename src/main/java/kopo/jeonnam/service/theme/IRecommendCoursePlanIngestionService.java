@@ -0,0 +1,30 @@
+package kopo.jeonnam.service.theme;
+
+import kopo.jeonnam.dto.theme.PlanIngestionJobDTO;
+
+import java.util.Optional;
+
+/**
+ * 🗺 추천 코스 일정(Plan) 일괄 수집 작업 서비스
+ * 모든 courseKey의 일정 수집을 요청 스레드가 아닌 백그라운드 작업으로 실행하고, 진행 상황을 조회할 수 있게 합니다.
+ */
+public interface IRecommendCoursePlanIngestionService {
+
+    /**
+     * 일괄 수집 작업을 등록하고 즉시 작업 정보를 반환합니다.
+     *
+     * @return QUEUED 상태의 작업 정보
+     * @throws IllegalStateException 이미 진행 중인 수집 작업이 있는 경우
+     */
+    PlanIngestionJobDTO start();
+
+    /**
+     * 작업 상태 조회
+     */
+    Optional<PlanIngestionJobDTO> getJob(String jobId);
+
+    /**
+     * 가장 최근에 등록된 작업 상태 (진행 중이거나 마지막으로 끝난 작업)
+     */
+    Optional<PlanIngestionJobDTO> getLatestJob();
+}
@@ -5,13 +5,16 @@ import kopo.jeonnam.repository.entity.theme.RecommendCoursePlanEntity;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface IRecommendCoursePlanService {
     /**
      * 추천 코스별 상세 일정(Plan) 데이터를 외부 API에서 받아와 MongoDB에 저장합니다
      *
      * @param courseKey 추천 코스의 고유 키 값
-     * @return 저장된 데이터 개수
+     * @return 새로 저장되거나 내용이 바뀐 데이터 개수 (정상 응답에 일정이 없으면 0)
+     * @throws PlanApiQuotaExceededException 공공 API가 호출 한도 초과(reasonCode 22/23)를 응답한 경우
+     * @throws PlanApiFetchException         그 밖의 통신/응답/저장 실패
      */
     int fetchAndSaveRecommendCoursePlans(String courseKey);
 
@@ -21,6 +24,20 @@ public interface IRecommendCoursePlanService {
      */
     List<RecommendCoursePlanDTO> getAllPlansWithImages();
 
+    /**
+     * 장소별 추천 계획 데이터를 이미지 포함해서 페이지 단위로 조회 (이미지는 한 번의 $lookup으로 함께 조회)
+     *
+     * @param page            0부터 시작하는 페이지 번호
+     * @param size            페이지 크기 (0 이하이면 전체)
+     * @param includeContents planContents(상세 설명) 포함 여부
+     */
+    List<RecommendCoursePlanDTO> getPlansWithImages(int page, int size, boolean includeContents);
+
+    /**
+     * 전체 장소 + 이미지를 MongoDB 커서로 한 건씩 읽는 스트림 (스트리밍 응답용, 사용 후 반드시 close)
+     */
+    Stream<RecommendCoursePlanDTO> streamPlansWithImages(boolean includeContents);
+
     /**
      * 특정 코스 planInfoId에 해당하는 장소 하나만 조회
      */
@@ -31,4 +48,18 @@ public interface IRecommendCoursePlanService {
     boolean existsAny(); // 추천 코스 상세 정보 데이터가 하나라도 존재하는지 확인
 
     List<RecommendCoursePlanDTO> findNearby(double latMin, double latMax, double lngMin, double lngMax);
+
+    /**
+     * 위경도 범위 안의 장소 조회 (planLocation 2dsphere 인덱스 사용)
+     *
+     * @param limit 최대 개수 (0 이하이면 제한 없음)
+     */
+    List<RecommendCoursePlanDTO> findNearby(double latMin, double latMax, double lngMin, double lngMax, int limit);
+
+    /**
+     * 기준 좌표로부터 반경(m) 안의 장소를 가까운 순으로 조회 (planLocation 2dsphere 인덱스 사용)
+     *
+     * @param limit 최대 개수 (0 이하이면 제한 없음)
+     */
+    List<RecommendCoursePlanDTO> findWithinRadius(double lat, double lng, double radiusMeters, int limit);
 }
@@ -0,0 +1,17 @@
+package kopo.jeonnam.service.theme;
+
+/**
+ * 추천 코스 일정 수집이 호출 한도 초과 외의 이유로 실패한 경우
+ * (통신 실패, 비XML 응답, 한도 외 cmmMsgHeader 오류, resultCode가 00이 아닌 응답, 저장 실패)
+ * IRecommendCoursePlanService.fetchAndSaveRecommendCoursePlans가 던지며, 정상 응답에 일정이 없는 경우와 구분됩니다.
+ */
+public class PlanApiFetchException extends RuntimeException {
+
+    public PlanApiFetchException(String message) {
+        super(message);
+    }
+
+    public PlanApiFetchException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,37 @@
+package kopo.jeonnam.service.theme;
+
+/**
+ * 공공 API가 cmmMsgHeader로 호출 한도 초과(returnReasonCode 22: 일일 한도, 23: 초당 한도)를 응답한 경우
+ * IRecommendCoursePlanService.fetchAndSaveRecommendCoursePlans가 던지며, 호출한 쪽이 재시도 또는 중단을 결정합니다.
+ * 초당 한도(23)는 잠시 후 다시 호출하면 성공할 수 있지만, 일일 한도(22)는 다음 날까지 모든 호출이 실패합니다.
+ */
+public class PlanApiQuotaExceededException extends RuntimeException {
+
+    private static final String DAILY_LIMIT = "22";
+    private static final String RATE_LIMIT = "23";
+
+    private final String reasonCode;
+
+    public PlanApiQuotaExceededException(String reasonCode, String message) {
+        super(message);
+        this.reasonCode = reasonCode;
+    }
+
+    public String getReasonCode() {
+        return reasonCode;
+    }
+
+    /**
+     * 일일 호출 한도 초과 여부 (재시도해도 같은 날에는 성공하지 않음)
+     */
+    public boolean isDailyLimit() {
+        return DAILY_LIMIT.equals(reasonCode);
+    }
+
+    /**
+     * 호출 한도 초과를 뜻하는 reasonCode인지 여부
+     */
+    public static boolean isQuotaReason(String reasonCode) {
+        return DAILY_LIMIT.equals(reasonCode) || RATE_LIMIT.equals(reasonCode);
+    }
+}
@@ -0,0 +1,57 @@
+package kopo.jeonnam.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 🏷 응답 본문 기반 ETag 생성 유틸
+ * 응답으로 나갈 객체를 JSON으로 직렬화한 바이트의 SHA-256 앞부분을 강한 ETag("...")로 사용합니다.
+ * 캐시 키 / 내용 지문용 SHA-256 hex도 여기서 함께 만듭니다. (서비스마다 MessageDigest 코드를 두지 않도록)
+ */
+public class ETagUtil {
+
+    private ETagUtil() {
+    }
+
+    /**
+     * 응답 객체의 ETag 생성
+     *
+     * @param objectMapper 응답 직렬화에 쓰는 ObjectMapper (같은 설정이어야 같은 값이 나옴)
+     * @param body         응답 객체
+     * @return 따옴표를 포함한 ETag 값
+     */
+    public static String fromJson(ObjectMapper objectMapper, Object body) {
+        try {
+            return fromBytes(objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("ETag 생성을 위한 직렬화에 실패했습니다.", e);
+        }
+    }
+
+    /**
+     * 바이트 내용의 ETag 생성
+     */
+    public static String fromBytes(byte[] content) {
+        return "\"" + HexFormat.of().formatHex(sha256(content), 0, 16) + "\"";
+    }
+
+    /**
+     * 문자열(UTF-8)의 SHA-256 hex (64자)
+     */
+    public static String sha256Hex(String value) {
+        return HexFormat.of().formatHex(sha256(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static byte[] sha256(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+}
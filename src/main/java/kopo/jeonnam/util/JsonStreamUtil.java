@@ -0,0 +1,47 @@
+package kopo.jeonnam.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * 🌊 대용량 목록을 JSON 배열로 흘려보내는 스트리밍 응답 유틸
+ * MongoDB 커서 기반 Stream을 한 건씩 JsonGenerator로 쓰므로 목록 전체를 메모리에 올리지 않고,
+ * 조회가 끝나기 전에 앞부분부터 클라이언트로 전송됩니다.
+ */
+public class JsonStreamUtil {
+
+    private static final int FLUSH_EVERY = 200;
+
+    private JsonStreamUtil() {
+    }
+
+    /**
+     * 스트림을 JSON 배열 응답 본문으로 변환
+     *
+     * @param objectMapper 응답 직렬화에 쓰는 ObjectMapper
+     * @param source       응답을 쓰기 시작할 때 여는 스트림 (커서는 응답이 끝나면 닫힘)
+     */
+    public static <T> StreamingResponseBody toJsonArray(ObjectMapper objectMapper, Supplier<Stream<T>> source) {
+        return out -> {
+            try (Stream<T> stream = source.get();
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET); // 출력 스트림은 컨테이너가 닫음
+
+                generator.writeStartArray();
+                int written = 0;
+                for (Iterator<T> it = stream.iterator(); it.hasNext(); ) {
+                    generator.writeObject(it.next());
+                    if (++written % FLUSH_EVERY == 0) {
+                        generator.flush();
+                    }
+                }
+                generator.writeEndArray();
+            }
+        };
+    }
+}
@@ -0,0 +1,168 @@
+package kopo.jeonnam.util;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 🔤 한글 검색용 n-gram 유틸
+ * 한글은 띄어쓰기 단위 토큰화로는 부분 검색("교도소" → "장흥교도소")이 되지 않으므로,
+ * 공백과 기호를 지운 문자열을 글자 단위 n-gram으로 잘라 색인/검색에 사용합니다.
+ */
+public class NgramUtil {
+
+    private NgramUtil() {
+    }
+
+    /**
+     * 검색용 정규화 - 소문자로 바꾸고 글자/숫자가 아닌 문자(공백, 괄호, 기호 등)를 제거
+     * 예) "(구) 장흥 교도소" → "구장흥교도소"
+     */
+    public static String normalize(String text) {
+        if (text == null) return "";
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if (Character.isLetterOrDigit(c)) sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 정규화한 문자열의 n-gram 집합 (입력 순서 유지, 중복 제거)
+     * 정규화 결과가 n보다 짧으면 빈 집합을 반환합니다.
+     */
+    public static Set<String> grams(String text, int n) {
+        String normalized = normalize(text);
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + n <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + n));
+        }
+        return grams;
+    }
+
+    /**
+     * 원문에서 grams에 포함된 n-gram이 걸치는 글자들을 open/close 태그로 감쌉니다.
+     * 공백/기호는 무시하고 비교하므로 "장흥 교도소"도 "장흥교도소"로 찾은 구간이 표시됩니다.
+     * 원문은 HTML 이스케이프되며, 일치하는 구간이 없으면 null을 반환합니다.
+     *
+     * @param grams 같은 길이(n)의 정규화된 n-gram 집합
+     */
+    public static String highlight(String text, Set<String> grams, String open, String close) {
+        if (text == null || text.isEmpty() || grams == null || grams.isEmpty()) return null;
+        int n = grams.iterator().next().length();
+
+        // 정규화된 글자 → 원문 위치 매핑
+        int[] positions = new int[text.length()];
+        StringBuilder normalized = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if (Character.isLetterOrDigit(c)) {
+                positions[normalized.length()] = i;
+                normalized.append(c);
+            }
+        }
+
+        boolean[] marked = new boolean[text.length()];
+        boolean any = false;
+        for (int i = 0; i + n <= normalized.length(); i++) {
+            if (grams.contains(normalized.substring(i, i + n))) {
+                for (int j = i; j < i + n; j++) {
+                    marked[positions[j]] = true;
+                }
+                any = true;
+            }
+        }
+        if (!any) return null;
+
+        // 표시된 글자 사이의 공백/기호도 같은 구간으로 묶음
+        StringBuilder out = new StringBuilder(text.length() + 16);
+        int i = 0;
+        while (i < text.length()) {
+            if (!marked[i]) {
+                int start = i;
+                while (i < text.length() && !marked[i]) i++;
+                out.append(HtmlUtils.htmlEscape(text.substring(start, i)));
+                continue;
+            }
+            int start = i;
+            int end = i + 1;
+            for (int j = i + 1; j < text.length(); j++) {
+                if (marked[j]) end = j + 1;
+                else if (Character.isLetterOrDigit(text.charAt(j))) break;
+            }
+            out.append(open).append(HtmlUtils.htmlEscape(text.substring(start, end))).append(close);
+            i = end;
+        }
+        return out.toString();
+    }
+
+    // ───── 한글 자모 ─────
+
+    private static final char HANGUL_BASE = 0xAC00;
+    private static final char HANGUL_LAST = 0xD7A3;
+    private static final String CHOSEONG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+    private static final String[] JUNGSEONG = {
+            "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅛ", "ㅜ",
+            "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"};
+    private static final String[] JONGSEONG = {
+            "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ",
+            "ㄹㅍ", "ㄹㅎ", "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"};
+    // 겹자음/겹모음 호환 자모 → 낱자 (입력 중인 "ㄳ", "ㅘ" 등도 같은 기준으로 비교)
+    private static final String COMPOUND_JAMO = "ㄳㄵㄶㄺㄻㄼㄽㄾㄿㅀㅄㅘㅙㅚㅝㅞㅟㅢ";
+    private static final String[] COMPOUND_JAMO_SPLIT = {
+            "ㄱㅅ", "ㄴㅈ", "ㄴㅎ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ", "ㅂㅅ",
+            "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅡㅣ"};
+
+    /**
+     * 한글 음절의 초성만 추출 (한글이 아닌 글자는 그대로)
+     * 예) "장흥교도소" → "ㅈㅎㄱㄷㅅ"
+     */
+    public static String choseong(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            sb.append(isHangulSyllable(c) ? CHOSEONG.charAt((c - HANGUL_BASE) / 588) : c);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 한글 음절을 낱자 자모열로 분해 (겹받침/겹모음도 낱자로 분해)
+     * 입력 중인 글자("장ㅎ", "장흐")가 완성된 글자("장흥")의 앞부분과 일치하도록 비교할 때 사용합니다.
+     * 예) "닭" → "ㄷㅏㄹㄱ"
+     */
+    public static String decompose(String text) {
+        StringBuilder sb = new StringBuilder(text.length() * 3);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (isHangulSyllable(c)) {
+                int index = c - HANGUL_BASE;
+                sb.append(CHOSEONG.charAt(index / 588))
+                        .append(JUNGSEONG[(index % 588) / 28])
+                        .append(JONGSEONG[index % 28]);
+            } else {
+                int compound = COMPOUND_JAMO.indexOf(c);
+                if (compound >= 0) sb.append(COMPOUND_JAMO_SPLIT[compound]);
+                else sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 초성(ㄱ~ㅎ)으로만 이루어진 문자열인지 여부 (예: "ㅈㅎ")
+     */
+    public static boolean isChoseongOnly(String text) {
+        if (text == null || text.isEmpty()) return false;
+        for (int i = 0; i < text.length(); i++) {
+            if (CHOSEONG.indexOf(text.charAt(i)) < 0) return false;
+        }
+        return true;
+    }
+
+    private static boolean isHangulSyllable(char c) {
+        return c >= HANGUL_BASE && c <= HANGUL_LAST;
+    }
+}
@@ -5,13 +5,47 @@ import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public class XmlParserUtil {
 
     private static final Logger logger = LoggerFactory.getLogger(XmlParserUtil.class);
     private static final XmlMapper xmlMapper = new XmlMapper(); // 한 번만 생성
+    private static final XMLInputFactory inputFactory = createInputFactory(); // 설정 후에는 여러 스레드가 함께 사용
+
+    /**
+     * 공공데이터포털 표준 응답을 스트리밍으로 읽은 결과 (item 본문은 읽는 동안 처리기로 넘기고 보관하지 않음)
+     *
+     * @param resultCode       header/resultCode (없으면 null)
+     * @param resultMsg        header/resultMsg
+     * @param errMsg           cmmMsgHeader/errMsg (인증키 오류, 호출 한도 초과 등 비표준 에러 응답일 때만)
+     * @param returnAuthMsg    cmmMsgHeader/returnAuthMsg
+     * @param returnReasonCode cmmMsgHeader/returnReasonCode
+     * @param totalCount       body/totalCount (없으면 0)
+     * @param itemCount        처리기로 넘긴 item 수
+     */
+    public record PublicDataResponse(String resultCode, String resultMsg, String errMsg, String returnAuthMsg,
+                                     String returnReasonCode, int totalCount, int itemCount) {
+
+        /** cmmMsgHeader 형태의 에러 응답인지 여부 */
+        public boolean isServiceError() {
+            return errMsg != null || returnAuthMsg != null || returnReasonCode != null;
+        }
+
+        /** 정상 응답(resultCode 00)인지 여부 */
+        public boolean isOk() {
+            return !isServiceError() && "00".equals(resultCode);
+        }
+    }
 
     /**
      * XML 문자열을 JsonNode로 파싱합니다.
@@ -74,4 +108,97 @@ public class XmlParserUtil {
                 .map(JsonNode::asText) // Optional에 값이 있으면 텍스트로 변환
                 .orElse(defaultValue); // 없으면 기본값 반환
     }
-}
\ No newline at end of file
+
+    /**
+     * 공공데이터포털 XML 응답을 StAX로 한 번 훑으면서 {@code <item>}을 하나씩 처리기로 넘깁니다.
+     * 응답 전체를 문자열이나 JsonNode 트리로 만들지 않으므로 pageSize가 커도 메모리에는 item 하나만 올라갑니다.
+     * item은 자식 요소 이름 → 텍스트 맵으로 넘기며 (없는 요소는 null, 빈 요소는 "", 중첩 요소는 텍스트만 이어붙임),
+     * 문자 인코딩은 XML 선언/BOM을 따릅니다.
+     *
+     * @param body        응답 본문 스트림 (호출한 쪽에서 닫습니다)
+     * @param itemHandler item 처리기
+     * @return header/cmmMsgHeader/totalCount 정보
+     * @throws XMLStreamException XML이 아니거나 형식이 잘못된 경우
+     */
+    public static PublicDataResponse streamItems(InputStream body, Consumer<Map<String, String>> itemHandler)
+            throws XMLStreamException {
+        Map<String, String> fields = new HashMap<>();
+        int totalCount = 0;
+        int itemCount = 0;
+
+        XMLStreamReader reader = inputFactory.createXMLStreamReader(body);
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT) continue;
+
+                String name = reader.getLocalName();
+                switch (name) {
+                    case "item" -> {
+                        itemHandler.accept(readItem(reader));
+                        itemCount++;
+                    }
+                    case "totalCount" -> totalCount = parseInt(readText(reader).trim());
+                    case "resultCode", "resultMsg", "errMsg", "returnAuthMsg", "returnReasonCode" ->
+                            fields.put(name, readText(reader).trim());
+                    default -> {
+                        // header, body, items 등 감싸는 요소는 그대로 안으로 진입
+                    }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return new PublicDataResponse(fields.get("resultCode"), fields.get("resultMsg"), fields.get("errMsg"),
+                fields.get("returnAuthMsg"), fields.get("returnReasonCode"), totalCount, itemCount);
+    }
+
+    // <item>의 자식 요소를 이름 → 텍스트로 읽음 (reader는 </item> 위치에서 끝남)
+    private static Map<String, String> readItem(XMLStreamReader reader) throws XMLStreamException {
+        Map<String, String> item = new HashMap<>();
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String field = reader.getLocalName();
+                item.put(field, readText(reader));
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                break; // </item>
+            }
+        }
+        return item;
+    }
+
+    // 현재 요소의 텍스트를 읽음 (중첩 요소는 텍스트만 이어붙이고, reader는 현재 요소의 끝 태그에서 끝남)
+    private static String readText(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+            switch (event) {
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE ->
+                        text.append(reader.getText());
+                case XMLStreamConstants.START_ELEMENT -> depth++;
+                case XMLStreamConstants.END_ELEMENT -> depth--;
+                default -> {
+                }
+            }
+        }
+        return text.toString();
+    }
+
+    private static int parseInt(String text) {
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    // 외부 엔티티/DTD를 처리하지 않도록 설정 (XXE 방지)
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+}
@@ -0,0 +1,185 @@
+package kopo.jeonnam.repository.mongo.movie;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import kopo.jeonnam.repository.entity.movie.MovieEntity;
+import kopo.jeonnam.util.NgramUtil;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 허용된 정렬(MovieSortOption)마다 검색 파이프라인의 실행 계획을 explain으로 확인합니다.
+ * 조건 없음 / 정규식 조건 / searchGrams 통합 검색 / searchGrams 필드 검색 / keyset, 그리고 정렬 없는 일반 조건(최신순)에서
+ * 정렬 인덱스를 사용하고 메모리 정렬(SORT 단계, $sort 단계)이 없어야 합니다.
+ * MongoDB가 필요하며(-Dtest.mongo.uri, 기본 mongodb://localhost:27017) 연결할 수 없으면 건너뜁니다.
+ */
+class MovieCustomRepositoryImplExplainTest {
+
+    private static final String DATABASE = "jeonnam_explain_test";
+    private static final String[] LOCATIONS = {"장흥군", "순천시", "여수시", "목포시", "담양군"};
+
+    private static MongoClient client;
+    private static MongoTemplate mongoTemplate;
+    private static MovieCustomRepositoryImpl repository;
+
+    @BeforeAll
+    static void setUp() {
+        String uri = System.getProperty("test.mongo.uri", "mongodb://localhost:27017");
+        client = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(uri))
+                .applyToClusterSettings(b -> b.serverSelectionTimeout(2, TimeUnit.SECONDS))
+                .build());
+        try {
+            client.getDatabase("admin").runCommand(new Document("ping", 1));
+        } catch (Exception e) {
+            client.close();
+            client = null;
+            Assumptions.abort("MongoDB에 연결할 수 없어 건너뜁니다: " + uri);
+        }
+
+        mongoTemplate = new MongoTemplate(client, DATABASE);
+        mongoTemplate.dropCollection(MovieEntity.class);
+
+        List<MovieEntity> movies = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            MovieEntity movie = new MovieEntity();
+            movie.setTitle((i % 3 == 0 ? "장흥 해변 이야기 " : "바다의 노래 ") + i);
+            movie.setLocation(LOCATIONS[i % LOCATIONS.length]);
+            movie.setAddr("전라남도 " + LOCATIONS[i % LOCATIONS.length] + " " + i + "번길");
+            movie.setSearchGrams(MovieEntity.toSearchGrams(movie.getTitle(), movie.getLocation(), movie.getAddr()));
+            movies.add(movie);
+        }
+        mongoTemplate.insertAll(movies);
+
+        // 운영과 같은 인덱스 구성 (searchGrams 인덱스는 MovieSearchGramMigration, 정렬 인덱스는 저장소가 생성)
+        mongoTemplate.indexOps(MovieEntity.class)
+                .ensureIndex(new Index().on("searchGrams", Sort.Direction.ASC).named("searchGrams_1"));
+        repository = new MovieCustomRepositoryImpl(mongoTemplate);
+        repository.ensureSortIndexes();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (client != null) {
+            client.getDatabase(DATABASE).drop();
+            client.close();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(MovieSortOption.class)
+    void pageWithoutFilterUsesSortIndex(MovieSortOption option) {
+        assertIndexedSort(option, repository.criteriaPageAggregation(new Criteria(), option.toSort(null), 0, 20));
+    }
+
+    @Test
+    void criteriaWithoutSortUsesIdIndex() {
+        // 정렬을 지정하지 않은 목록 조회(/api/movies/list 기본)는 최신순으로 _id 인덱스를 사용
+        Criteria regex = Criteria.where("title").regex(Pattern.compile(Pattern.quote("장흥")));
+        assertIndexedSort("_id_", repository.criteriaPageAggregation(new Criteria(), null, 0, 20));
+        assertIndexedSort("_id_", repository.criteriaPageAggregation(regex, null, 0, 20));
+        assertIndexedSort("_id_", repository.criteriaSliceAggregation(regex, null, 20, 20, null));
+    }
+
+    @ParameterizedTest
+    @EnumSource(MovieSortOption.class)
+    void pageWithRegexUsesSortIndex(MovieSortOption option) {
+        Criteria criteria = Criteria.where("title").regex(Pattern.compile(Pattern.quote("장흥")));
+        assertIndexedSort(option, repository.criteriaPageAggregation(criteria, option.toSort(null), 0, 20));
+    }
+
+    @ParameterizedTest
+    @EnumSource(MovieSortOption.class)
+    void keywordGramsUseSortIndex(MovieSortOption option) {
+        MovieCustomRepository.GramQuery query = new MovieCustomRepository.GramQuery(
+                NgramUtil.grams("장흥 해변", MovieEntity.GRAM_SIZE), Set.of(), Set.of(), Set.of(), 0.75);
+        assertIndexedSort(option, repository.gramPageAggregation(query, option.toSort(null), 0, 20));
+        assertIndexedSort(option, repository.gramSliceAggregation(query, option.toSort(null), 20, 20, null));
+    }
+
+    @ParameterizedTest
+    @EnumSource(MovieSortOption.class)
+    void fieldGramsUseSortIndex(MovieSortOption option) {
+        MovieCustomRepository.GramQuery query = new MovieCustomRepository.GramQuery(
+                Set.of(), NgramUtil.grams("장흥", MovieEntity.GRAM_SIZE),
+                NgramUtil.grams("장흥군", MovieEntity.GRAM_SIZE), Set.of(), 1.0);
+        assertIndexedSort(option, repository.gramPageAggregation(query, option.toSort(null), 0, 20));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = MovieSortOption.class, names = "NEWEST")
+    void keysetUsesIdIndex(MovieSortOption option) {
+        String afterId = new ObjectId().toHexString();
+        MovieCustomRepository.GramQuery query = new MovieCustomRepository.GramQuery(
+                NgramUtil.grams("장흥", MovieEntity.GRAM_SIZE), Set.of(), Set.of(), Set.of(), 0.75);
+        assertIndexedSort(option, repository.gramSliceAggregation(query, option.toSort(null), 0, 20, afterId));
+        assertIndexedSort(option, repository.criteriaSliceAggregation(new Criteria(), option.toSort(null), 0, 20, afterId));
+    }
+
+    private void assertIndexedSort(MovieSortOption option, Aggregation aggregation) {
+        assertIndexedSort(option.toIndex() != null ? option.toIndex().getIndexOptions().getString("name") : "_id_", aggregation);
+    }
+
+    private void assertIndexedSort(String expectedIndex, Aggregation aggregation) {
+        List<Document> pipeline = aggregation.toPipeline(Aggregation.DEFAULT_CONTEXT);
+        Document command = new Document("aggregate", mongoTemplate.getCollectionName(MovieEntity.class))
+                .append("pipeline", pipeline)
+                .append("cursor", new Document());
+        aggregation.getOptions().getHint().ifPresent(hint -> command.append("hint", hint));
+        Document explain = mongoTemplate.getDb().runCommand(
+                new Document("explain", command).append("verbosity", "queryPlanner"));
+
+        List<Object> winningPlans = new ArrayList<>();
+        collect(explain, "winningPlan", winningPlans);
+        assertFalse(winningPlans.isEmpty(), "실행 계획이 없습니다: " + explain.toJson());
+
+        List<Object> stages = new ArrayList<>();
+        List<Object> indexNames = new ArrayList<>();
+        winningPlans.forEach(plan -> {
+            collect(plan, "stage", stages);
+            collect(plan, "indexName", indexNames);
+        });
+
+        assertFalse(stages.contains("SORT"), expectedIndex + " 메모리 정렬 발생: " + explain.toJson());
+        assertTrue(indexNames.contains(expectedIndex), expectedIndex + " 정렬 인덱스 미사용: " + explain.toJson());
+
+        List<Object> pipelineSorts = new ArrayList<>();
+        collect(explain.get("stages"), "$sort", pipelineSorts);
+        assertTrue(pipelineSorts.isEmpty(), expectedIndex + " 파이프라인 $sort 단계 발생: " + explain.toJson());
+    }
+
+    // explain 결과(중첩 문서/배열)에서 key의 값을 모두 모음
+    private static void collect(Object node, String key, List<Object> found) {
+        if (node instanceof Map<?, ?> map) {
+            map.forEach((k, v) -> {
+                if (key.equals(k)) found.add(v);
+                collect(v, key, found);
+            });
+        } else if (node instanceof List<?> list) {
+            list.forEach(item -> collect(item, key, found));
+        }
+    }
+}
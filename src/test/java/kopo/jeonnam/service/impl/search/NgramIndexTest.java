@@ -0,0 +1,93 @@
+package kopo.jeonnam.service.impl.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NgramIndexTest {
+
+    private static NgramIndex<String> indexOf(String... names) {
+        NgramIndex<String> index = new NgramIndex<>();
+        index.replaceAll(List.of(names), Function.identity(), Function.identity());
+        return index;
+    }
+
+    @Test
+    void findsPartialWordsPrefixFirst() {
+        NgramIndex<String> index = indexOf("장흥교도소", "구 장흥교도소", "순천만국가정원");
+
+        assertEquals(List.of("장흥교도소", "구 장흥교도소"), index.search("장흥", 10));
+        assertEquals(List.of("장흥교도소", "구 장흥교도소"), index.search("교도소", 10));
+        assertEquals(List.of("순천만국가정원"), index.search("국가 정원", 10));
+    }
+
+    @Test
+    void matchesSyllableBeingTyped() {
+        NgramIndex<String> index = indexOf("장흥교도소", "장성호", "순천만국가정원");
+
+        // 마지막 글자가 자음만 입력된 상태
+        assertEquals(List.of("장흥교도소"), index.search("장ㅎ", 10));
+        // 받침까지 입력되기 전의 글자 ("흐" → "흥")
+        assertEquals(List.of("장흥교도소"), index.search("장흐", 10));
+        assertEquals(List.of("장성호"), index.search("장서", 10));
+    }
+
+    @Test
+    void matchesChoseongOnlyQuery() {
+        NgramIndex<String> index = indexOf("장흥교도소", "장성호", "순천만국가정원");
+
+        assertEquals(List.of("장흥교도소"), index.search("ㅈㅎ", 10));
+        assertEquals(List.of("장성호"), index.search("ㅈㅅㅎ", 10));
+        assertEquals(List.of("순천만국가정원"), index.search("ㄱㄱㅈㅇ", 10));
+        assertTrue(index.search("ㅎㅈ", 10).isEmpty());
+    }
+
+    @Test
+    void putReplacesAndRemoveDeletes() {
+        NgramIndex<String> index = indexOf("장흥교도소");
+
+        index.put("장흥교도소", "정남진 장흥교도소", "정남진 장흥교도소");
+        assertEquals(List.of("정남진 장흥교도소"), index.search("정남진", 10));
+        assertEquals(1, index.size());
+
+        index.remove("장흥교도소");
+        assertTrue(index.search("장흥", 10).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void replaysChangesMadeDuringRebuild() {
+        NgramIndex<String> index = indexOf("장흥교도소", "장성호");
+
+        // 원본을 읽기 시작한 뒤(beginRebuild) 저장/삭제 이벤트가 들어온 경우
+        index.beginRebuild();
+        index.put("순천만국가정원", "순천만국가정원", "순천만국가정원");
+        index.remove("장성호");
+        index.put("장흥교도소", "정남진 장흥교도소", "정남진 장흥교도소");
+
+        // 이벤트 이전에 읽은 원본으로 교체해도 이벤트가 다시 적용됨
+        index.replaceAll(List.of("장흥교도소", "장성호"), Function.identity(), Function.identity());
+
+        assertEquals(2, index.size());
+        assertEquals(List.of("순천만국가정원"), index.search("순천", 10));
+        assertTrue(index.search("장성", 10).isEmpty());
+        assertEquals(List.of("정남진 장흥교도소"), index.search("장흥", 10));
+    }
+
+    @Test
+    void changesAfterCancelledRebuildAreNotReplayed() {
+        NgramIndex<String> index = indexOf("장흥교도소");
+
+        index.beginRebuild();
+        index.put("장성호", "장성호", "장성호");
+        index.cancelRebuild();
+        index.replaceAll(List.of("순천만국가정원"), Function.identity(), Function.identity());
+
+        assertEquals(List.of("순천만국가정원"), index.search("순천", 10));
+        assertTrue(index.search("장성", 10).isEmpty());
+    }
+}
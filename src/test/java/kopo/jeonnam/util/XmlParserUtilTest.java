@@ -0,0 +1,131 @@
+package kopo.jeonnam.util;
+
+import org.junit.jupiter.api.Test;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class XmlParserUtilTest {
+
+    private static final String NORMAL = "<?xml version=\"1.0\" encoding=\"UTF-8\"?><response>"
+            + "<header><resultCode>00</resultCode><resultMsg>NORMAL SERVICE.</resultMsg></header>"
+            + "<body><items>"
+            + "<item><planInfoId>P1</planInfoId><planName>순천만국가정원</planName></item>"
+            + "<item><planInfoId>P2</planInfoId><planName/></item>"
+            + "</items><numOfRows>10</numOfRows><pageNo>1</pageNo><totalCount>2</totalCount></body></response>";
+
+    @Test
+    void readsHeaderItemsAndTotalCount() throws XMLStreamException {
+        List<Map<String, String>> items = new ArrayList<>();
+        XmlParserUtil.PublicDataResponse response = XmlParserUtil.streamItems(stream(NORMAL), items::add);
+
+        assertTrue(response.isOk());
+        assertFalse(response.isServiceError());
+        assertEquals("NORMAL SERVICE.", response.resultMsg());
+        assertEquals(2, response.totalCount());
+        assertEquals(2, response.itemCount());
+        assertEquals("순천만국가정원", items.get(0).get("planName"));
+        assertEquals("", items.get(1).get("planName")); // 빈 요소는 ""
+        assertNull(items.get(1).get("planAddr"));       // 없는 요소는 null
+    }
+
+    @Test
+    void readsCmmMsgHeaderError() throws XMLStreamException {
+        String xml = "<OpenAPI_ServiceResponse><cmmMsgHeader><errMsg>SERVICE ERROR</errMsg>"
+                + "<returnAuthMsg>LIMITED_NUMBER_OF_SERVICE_REQUESTS_EXCEEDS_ERROR</returnAuthMsg>"
+                + "<returnReasonCode>22</returnReasonCode></cmmMsgHeader></OpenAPI_ServiceResponse>";
+        List<Map<String, String>> items = new ArrayList<>();
+        XmlParserUtil.PublicDataResponse response = XmlParserUtil.streamItems(stream(xml), items::add);
+
+        assertTrue(response.isServiceError());
+        assertFalse(response.isOk());
+        assertEquals("SERVICE ERROR", response.errMsg());
+        assertEquals("22", response.returnReasonCode());
+        assertEquals(0, response.itemCount());
+        assertTrue(items.isEmpty());
+    }
+
+    @Test
+    void skipsUtf8Bom() throws XMLStreamException {
+        byte[] xml = NORMAL.getBytes(StandardCharsets.UTF_8);
+        byte[] withBom = new byte[xml.length + 3];
+        withBom[0] = (byte) 0xEF;
+        withBom[1] = (byte) 0xBB;
+        withBom[2] = (byte) 0xBF;
+        System.arraycopy(xml, 0, withBom, 3, xml.length);
+
+        List<Map<String, String>> items = new ArrayList<>();
+        XmlParserUtil.PublicDataResponse response = XmlParserUtil.streamItems(new ByteArrayInputStream(withBom), items::add);
+
+        assertTrue(response.isOk());
+        assertEquals("순천만국가정원", items.get(0).get("planName"));
+    }
+
+    @Test
+    void readsCdataAndNestedText() throws XMLStreamException {
+        String xml = "<response><header><resultCode>00</resultCode></header><body><items>"
+                + "<item><planContents><![CDATA[<b>정원</b> & 습지]]></planContents>"
+                + "<planAddr>전라남도 <span>순천시</span></planAddr></item>"
+                + "</items><totalCount>1</totalCount></body></response>";
+        List<Map<String, String>> items = new ArrayList<>();
+        XmlParserUtil.streamItems(stream(xml), items::add);
+
+        assertEquals("<b>정원</b> & 습지", items.get(0).get("planContents"));
+        assertEquals("전라남도 순천시", items.get(0).get("planAddr")); // 중첩 요소는 텍스트만 이어붙임
+    }
+
+    @Test
+    void rejectsNonXml() {
+        assertThrows(XMLStreamException.class, () -> XmlParserUtil.streamItems(stream("{\"error\":\"not xml\"}"), item -> { }));
+        assertThrows(XMLStreamException.class, () -> XmlParserUtil.streamItems(stream(""), item -> { }));
+    }
+
+    @Test
+    void handsItemsOverBeforeTheBodyEnds() {
+        // 첫 item 뒤에서 연결이 끊기는 본문 - 끝까지 받기 전에 이미 읽은 item은 처리기로 넘어가야 함
+        String head = "<response><header><resultCode>00</resultCode></header><body><items>"
+                + "<item><planInfoId>P1</planInfoId></item>";
+        InputStream broken = new SequenceInputStream(stream(head), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("connection reset");
+            }
+        });
+        List<Map<String, String>> items = new ArrayList<>();
+
+        assertThrows(XMLStreamException.class, () -> XmlParserUtil.streamItems(broken, items::add));
+        assertEquals(1, items.size());
+        assertEquals("P1", items.get(0).get("planInfoId"));
+    }
+
+    @Test
+    void ignoresExternalEntities() throws XMLStreamException {
+        String xml = "<?xml version=\"1.0\"?><!DOCTYPE r [<!ENTITY xxe SYSTEM \"file:///etc/passwd\">]>"
+                + "<response><header><resultCode>00</resultCode></header><body><items>"
+                + "<item><planName>&xxe;</planName></item></items></body></response>";
+        List<Map<String, String>> items = new ArrayList<>();
+        try {
+            XmlParserUtil.streamItems(stream(xml), items::add);
+        } catch (XMLStreamException e) {
+            return; // DTD를 거부해도 안전
+        }
+        assertFalse(items.get(0).getOrDefault("planName", "").contains("root:"));
+    }
+
+    private static InputStream stream(String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+}